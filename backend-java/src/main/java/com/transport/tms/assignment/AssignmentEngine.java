@@ -0,0 +1,168 @@
+package com.transport.tms.assignment;
+
+import com.transport.tms.dto.AssignmentReason;
+import com.transport.tms.model.VehicleType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Batch matching of pending shipments to drivers, in memory and without touching the database.
+ *
+ * Shipments are taken earliest pickup first. Each one goes to a driver that runs the same vehicle
+ * type (or any), preferring, in this order, a driver already working the same lane, one already
+ * working its pickup state, and then anyone; within each tier the driver with the fewest active
+ * shipments wins. Drivers at {@code capacity} are skipped, and every match adds to the driver's
+ * load, lanes and states for the shipments after it.
+ *
+ * Drivers sit in one priority queue per (vehicle type, tier key), ordered by load. A match does not
+ * reorder queues in place: the driver is pushed again with its new load, and entries whose load is
+ * out of date are dropped when they reach the head. A match therefore costs a few queue operations,
+ * and a plan for n shipments and m drivers runs in O((n + m) log m) for bounded capacities.
+ *
+ * This is greedy, not a min-cost matching: an early shipment may take a driver that a later one
+ * would have fitted better. Pickup order is the priority dispatchers already work by.
+ */
+public final class AssignmentEngine {
+
+    private static final String ANYWHERE = "*";
+
+    private static final Comparator<Candidate> PICKUP_ORDER =
+            Comparator.comparing(Candidate::pickupDate).thenComparing(Candidate::id);
+
+    private AssignmentEngine() {
+    }
+
+    /**
+     * A pending shipment to place
+     */
+    public record Candidate(String id, String trackingNumber, VehicleType vehicleType,
+                            String shipperState, String consigneeState, LocalDate pickupDate, double weight) {
+    }
+
+    /**
+     * An active driver with the shipments they already carry
+     */
+    public record Driver(String id, VehicleType vehicleType, List<Lane> activeLanes) {
+    }
+
+    public record Lane(String shipperState, String consigneeState) {
+    }
+
+    public record Match(Candidate shipment, String driverId, AssignmentReason reason) {
+    }
+
+    public static List<Match> plan(List<Candidate> shipments, List<Driver> drivers, int capacity) {
+        Queues queues = new Queues(capacity);
+        for (Driver driver : drivers) {
+            if (driver.activeLanes().size() >= capacity) continue;
+            DriverState state = new DriverState(driver.id(), driver.vehicleType(), driver.activeLanes().size());
+            state.places.add(ANYWHERE);
+            driver.activeLanes().forEach(lane -> state.visit(lane.shipperState(), lane.consigneeState()));
+            queues.offer(state);
+        }
+
+        List<Candidate> ordered = new ArrayList<>(shipments);
+        ordered.sort(PICKUP_ORDER);
+        List<Match> matches = new ArrayList<>();
+        for (Candidate shipment : ordered) {
+            Match match = queues.take(shipment);
+            if (match != null) matches.add(match);
+        }
+        return matches;
+    }
+
+    private static String laneKey(String shipperState, String consigneeState) {
+        return "L:" + shipperState + ">" + consigneeState;
+    }
+
+    private static String stateKey(String state) {
+        return "S:" + state;
+    }
+
+    private static final class DriverState {
+        private final String id;
+        private final VehicleType vehicleType;
+        private int load;
+        // Lane, state and ANYWHERE keys of the queues this driver is offered in
+        private final Set<String> places = new LinkedHashSet<>();
+
+        DriverState(String id, VehicleType vehicleType, int load) {
+            this.id = id;
+            this.vehicleType = vehicleType;
+            this.load = load;
+        }
+
+        void visit(String shipperState, String consigneeState) {
+            places.add(laneKey(shipperState, consigneeState));
+            places.add(stateKey(shipperState));
+            places.add(stateKey(consigneeState));
+        }
+    }
+
+    // The driver's load when it was queued; stale once the driver takes another shipment
+    private record Entry(int load, DriverState driver) {
+    }
+
+    private static final Comparator<Entry> LEAST_LOADED =
+            Comparator.comparingInt(Entry::load).thenComparing(entry -> entry.driver().id);
+
+    private static final class Queues {
+        private final int capacity;
+        // Vehicle type (null for drivers that take any) -> place -> drivers by load
+        private final Map<VehicleType, Map<String, PriorityQueue<Entry>>> byVehicleType = new HashMap<>();
+
+        Queues(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(DriverState driver) {
+            Map<String, PriorityQueue<Entry>> byPlace =
+                    byVehicleType.computeIfAbsent(driver.vehicleType, type -> new HashMap<>());
+            Entry entry = new Entry(driver.load, driver);
+            for (String place : driver.places) {
+                byPlace.computeIfAbsent(place, key -> new PriorityQueue<>(LEAST_LOADED)).add(entry);
+            }
+        }
+
+        Match take(Candidate shipment) {
+            String[] places = {laneKey(shipment.shipperState(), shipment.consigneeState()),
+                    stateKey(shipment.shipperState()), ANYWHERE};
+            AssignmentReason[] reasons = {AssignmentReason.SAME_LANE, AssignmentReason.PICKUP_STATE,
+                    AssignmentReason.LEAST_LOADED};
+            for (int tier = 0; tier < places.length; tier++) {
+                Entry specific = head(shipment.vehicleType(), places[tier]);
+                Entry any = shipment.vehicleType() != null ? head(null, places[tier]) : null;
+                Entry best = specific == null ? any
+                        : any == null || LEAST_LOADED.compare(specific, any) <= 0 ? specific : any;
+                if (best != null) {
+                    DriverState driver = best.driver();
+                    driver.load++;
+                    driver.visit(shipment.shipperState(), shipment.consigneeState());
+                    if (driver.load < capacity) offer(driver);
+                    return new Match(shipment, driver.id, reasons[tier]);
+                }
+            }
+            return null;
+        }
+
+        private Entry head(VehicleType vehicleType, String place) {
+            Map<String, PriorityQueue<Entry>> byPlace = byVehicleType.get(vehicleType);
+            PriorityQueue<Entry> queue = byPlace != null ? byPlace.get(place) : null;
+            if (queue == null) return null;
+            while (!queue.isEmpty()) {
+                Entry head = queue.peek();
+                if (head.load() == head.driver().load && head.driver().load < capacity) return head;
+                queue.poll();
+            }
+            return null;
+        }
+    }
+}
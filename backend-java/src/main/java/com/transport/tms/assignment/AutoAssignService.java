@@ -0,0 +1,90 @@
+package com.transport.tms.assignment;
+
+import com.transport.tms.dto.AssignmentPlan;
+import com.transport.tms.dto.AssignmentProposal;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.service.ShipmentBulkService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code proposeAssignments} and {@code autoAssign}: pending shipments matched to active drivers by
+ * {@link AssignmentEngine}.
+ *
+ * Everything the engine needs is read with three projection queries (pending shipments, active
+ * drivers, lanes of the shipments drivers already carry), so a run over {@code tms.assignment.max-shipments}
+ * shipments costs the same few round trips whatever the number of drivers. {@code autoAssign} applies
+ * the plan through {@link ShipmentBulkService#assignPending}; shipments that stopped being PENDING
+ * in the meantime are left alone. Two runs at once never assign a shipment twice, but can take a
+ * driver past {@code tms.assignment.max-active-shipments}.
+ */
+@Service
+public class AutoAssignService {
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Value("${tms.assignment.max-active-shipments:5}")
+    private int capacity;
+
+    @Value("${tms.assignment.max-shipments:10000}")
+    private int maxShipments;
+
+    @Transactional(readOnly = true)
+    public AssignmentPlan propose() {
+        List<AssignmentEngine.Candidate> pending = pendingShipments();
+        List<AssignmentProposal> proposals = plan(pending);
+        return new AssignmentPlan(proposals, pending.size() - proposals.size());
+    }
+
+    @Transactional
+    public AssignmentPlan autoAssign() {
+        List<AssignmentEngine.Candidate> pending = pendingShipments();
+        List<AssignmentProposal> applied = shipmentBulkService.assignPending(plan(pending));
+        return new AssignmentPlan(applied, pending.size() - applied.size());
+    }
+
+    private List<AssignmentProposal> plan(List<AssignmentEngine.Candidate> pending) {
+        return AssignmentEngine.plan(pending, activeDrivers(), capacity).stream()
+                .map(match -> new AssignmentProposal(match.shipment().id(), match.shipment().trackingNumber(),
+                        match.shipment().weight(), match.driverId(), match.reason()))
+                .toList();
+    }
+
+    private List<AssignmentEngine.Candidate> pendingShipments() {
+        return shipmentRepository.findAssignmentRows(ShipmentStatus.PENDING, PageRequest.of(0, maxShipments)).stream()
+                .map(row -> new AssignmentEngine.Candidate(row.getId(), row.getTrackingNumber(), row.getVehicleType(),
+                        row.getShipperState(), row.getConsigneeState(), row.getPickupDate(),
+                        row.getWeight() != null ? row.getWeight() : 0))
+                .toList();
+    }
+
+    private List<AssignmentEngine.Driver> activeDrivers() {
+        Map<String, List<AssignmentEngine.Lane>> lanes = new HashMap<>();
+        for (ShipmentRepository.DriverLaneRow row : shipmentRepository.findDriverLanes(DriverWorkloadIndex.ACTIVE)) {
+            lanes.computeIfAbsent(row.getDriverId(), id -> new ArrayList<>())
+                    .add(new AssignmentEngine.Lane(row.getShipperState(), row.getConsigneeState()));
+        }
+        return userRepository.findActiveVehicleRows(UserRole.DRIVER).stream()
+                .map(row -> new AssignmentEngine.Driver(row.getId(), row.getVehicleType(),
+                        lanes.getOrDefault(row.getId(), List.of())))
+                .toList();
+    }
+}
@@ -0,0 +1,149 @@
+package com.transport.tms.assignment;
+
+import com.transport.tms.dto.DriverWorkload;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.model.ShipmentFigures;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Active shipment count and weight per driver, kept in memory so listing drivers by load costs
+ * one users query and no shipment reads.
+ *
+ * Kept like the dashboard counters: every committed write takes the shipment out of its old
+ * driver's load and adds it to the new one's, and the index is loaded from one grouped query at
+ * startup and reconciled with it every {@code tms.workload.reconcile-interval}. Weights are counted
+ * in hundredths so adding and removing the same shipment leaves nothing behind.
+ */
+@Slf4j
+@Component
+public class DriverWorkloadIndex {
+
+    // Shipments that count towards a driver's load
+    public static final Set<ShipmentStatus> ACTIVE = Set.of(
+            ShipmentStatus.ASSIGNED, ShipmentStatus.PICKED_UP, ShipmentStatus.IN_TRANSIT);
+
+    private static final Load NONE = new Load(0, 0);
+
+    private final ShipmentRepository shipmentRepository;
+
+    private final int capacity;
+
+    // Drivers without active shipments have no entry
+    private final ConcurrentMap<String, Load> byDriver = new ConcurrentHashMap<>();
+
+    // Deltas applied so far; a reconcile only trusts its query if this did not move meanwhile
+    private final LongAdder changes = new LongAdder();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public DriverWorkloadIndex(ShipmentRepository shipmentRepository,
+                               @Value("${tms.assignment.max-active-shipments:5}") int capacity) {
+        this.shipmentRepository = shipmentRepository;
+        this.capacity = capacity;
+    }
+
+    public DriverWorkload workload(User driver) {
+        Load load = byDriver.getOrDefault(driver.getId(), NONE);
+        boolean available = Boolean.TRUE.equals(driver.getIsActive()) && load.shipments() < capacity;
+        return new DriverWorkload((int) load.shipments(), load.weightHundredths() / 100.0, available);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(ShipmentFigures.of(event.shipment()), 1);
+            // Without the loaded figures the old driver is unknown; the next reconcile catches up
+            case UPDATED -> {
+                if (event.before() != null) {
+                    add(event.before(), -1);
+                    add(ShipmentFigures.of(event.shipment()), 1);
+                }
+            }
+            case DELETED -> add(event.before() != null ? event.before() : ShipmentFigures.of(event.shipment()), -1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentsBulkUpdated(ShipmentsBulkUpdatedEvent event) {
+        for (int i = 0; i < event.ids().size(); i++) {
+            String previousDriverId = event.previousDriverIds().get(i);
+            Double weight = event.weights().get(i);
+            double kilos = weight != null ? weight : 0;
+            add(event.previousStatuses().get(i), previousDriverId, kilos, -1);
+            add(event.status(), event.driverId() != null ? event.driverId() : previousDriverId, kilos, 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${tms.workload.reconcile-interval:10m}",
+            fixedDelayString = "${tms.workload.reconcile-interval:10m}")
+    public synchronized void reconcile() {
+        long before = changes.sum();
+        List<ShipmentRepository.DriverLoadRow> rows = shipmentRepository.aggregateDriverLoads(ACTIVE);
+        if (changes.sum() != before) {
+            log.debug("Driver workload reconcile skipped, shipments changed while it ran");
+            return;
+        }
+
+        Map<String, Load> expected = new HashMap<>();
+        for (ShipmentRepository.DriverLoadRow row : rows) {
+            expected.put(row.getDriverId(), new Load(row.getShipments(),
+                    Math.round(row.getWeightHundredths().doubleValue())));
+        }
+
+        int drifted = 0;
+        for (String driverId : byDriver.keySet()) {
+            if (!expected.containsKey(driverId) && byDriver.remove(driverId) != null) drifted++;
+        }
+        for (Map.Entry<String, Load> entry : expected.entrySet()) {
+            if (!entry.getValue().equals(byDriver.put(entry.getKey(), entry.getValue()))) drifted++;
+        }
+
+        if (loaded && drifted != 0) {
+            log.warn("Workloads of {} drivers drifted and were corrected", drifted);
+        }
+        loaded = true;
+    }
+
+    private void add(ShipmentFigures figures, int sign) {
+        add(figures.status(), figures.driverId(), figures.weight(), sign);
+    }
+
+    private void add(ShipmentStatus status, String driverId, double weight, int sign) {
+        if (driverId == null || !ACTIVE.contains(status)) return;
+        long hundredths = sign * Math.round(weight * 100);
+        byDriver.compute(driverId, (id, load) -> {
+            Load next = load == null ? new Load(sign, hundredths)
+                    : new Load(load.shipments() + sign, load.weightHundredths() + hundredths);
+            return next.shipments() == 0 ? null : next;
+        });
+        changes.increment();
+    }
+
+    private record Load(long shipments, long weightHundredths) {
+    }
+}
@@ -1,5 +1,11 @@
 package com.transport.tms.config;
 
+import com.transport.tms.security.BoundedPasswordEncoder;
+import com.transport.tms.security.CustomUserDetailsService;
+import com.transport.tms.security.JwtAuthenticationFilter;
+import com.transport.tms.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,13 +14,14 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -24,8 +31,14 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${tms.password-hashing.bcrypt-cost:10}") int cost,
+                                           @Value("${tms.password-hashing.threads:0}") int threads,
+                                           @Value("${tms.password-hashing.queue-capacity:32}") int queueCapacity,
+                                           @Value("${tms.password-hashing.wait-timeout:5s}") Duration waitTimeout,
+                                           MeterRegistry meterRegistry) {
+        // BCrypt is CPU-bound; by default leave half the cores to request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(cost, poolSize, queueCapacity, waitTimeout, meterRegistry);
     }
 
     @Bean
@@ -34,7 +47,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtUtil jwtUtil,
+                                                   CustomUserDetailsService userDetailsService,
+                                                   @Value("${jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize)
+            throws Exception {
+        // Not a bean, so Spring Boot does not also register it as a plain servlet filter
+        JwtAuthenticationFilter jwtAuthenticationFilter =
+                new JwtAuthenticationFilter(jwtUtil, userDetailsService, verifiedTokenCacheSize);
+
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -42,7 +62,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/graphql", "/graphiql/**", "/health", "/actuator/**").permitAll()
                         .anyRequest().permitAll()
-                );
+                )
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,222 @@
+package com.transport.tms.consolidation;
+
+import com.transport.tms.dto.ConsolidatedLoad;
+import com.transport.tms.dto.ConsolidationPlan;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code consolidationPlan}: pending shipments that share a lane, a vehicle type and a pickup
+ * window, packed into as few vehicles as {@link LoadPacker} can manage.
+ *
+ * A lane is the shipper city and state to the consignee city and state, compared without case.
+ * Within a lane, a window opens at the earliest pickup date not yet covered and spans
+ * {@code pickupWindowDays} days. Vehicle capacities are {@code tms.consolidation.capacity.<type>.max-weight}
+ * in kilograms and {@code max-volume} in cubic meters, volumes coming from shipment dimensions where
+ * {@link Dimensions} can read them.
+ *
+ * The pending shipments are read with one projection query, at most {@code tms.consolidation.max-shipments}
+ * of them, earliest pickup first. Lanes are then packed in parallel on {@code tms.consolidation.threads}
+ * threads. Nothing is written.
+ */
+@Service
+public class ConsolidationService implements DisposableBean {
+
+    static final int MAX_PICKUP_WINDOW_DAYS = 31;
+
+    private static final Map<VehicleType, Capacity> DEFAULT_CAPACITIES = Map.of(
+            VehicleType.VAN, new Capacity(1_500, 12),
+            VehicleType.TRUCK, new Capacity(10_000, 45),
+            VehicleType.TRAILER, new Capacity(24_000, 90),
+            VehicleType.FLATBED, new Capacity(24_000, 0));
+
+    private final ShipmentRepository shipmentRepository;
+
+    private final Map<VehicleType, Capacity> capacities = new EnumMap<>(VehicleType.class);
+
+    private final int defaultPickupWindowDays;
+
+    private final int maxShipments;
+
+    private final ExecutorService packers;
+
+    /**
+     * Kilograms and cubic meters one vehicle takes; 0 or less is not limited
+     */
+    record Capacity(double maxWeight, double maxVolume) {
+    }
+
+    @Autowired
+    public ConsolidationService(ShipmentRepository shipmentRepository, Environment environment,
+                                @Value("${tms.consolidation.pickup-window-days:3}") int defaultPickupWindowDays,
+                                @Value("${tms.consolidation.max-shipments:10000}") int maxShipments,
+                                @Value("${tms.consolidation.threads:0}") int threads) {
+        this.shipmentRepository = shipmentRepository;
+        this.defaultPickupWindowDays = defaultPickupWindowDays;
+        this.maxShipments = maxShipments;
+        for (VehicleType type : VehicleType.values()) {
+            String prefix = "tms.consolidation.capacity." + type.name().toLowerCase(Locale.ROOT) + ".";
+            Capacity defaults = DEFAULT_CAPACITIES.get(type);
+            capacities.put(type, new Capacity(
+                    environment.getProperty(prefix + "max-weight", Double.class, defaults.maxWeight()),
+                    environment.getProperty(prefix + "max-volume", Double.class, defaults.maxVolume())));
+        }
+        // Packing is CPU-bound; by default one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.packers = Executors.newFixedThreadPool(poolSize, task -> {
+            Thread thread = new Thread(task, "consolidation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ConsolidationPlan plan(VehicleType vehicleType, Integer pickupWindowDays) {
+        int windowDays = pickupWindowDays != null ? pickupWindowDays : defaultPickupWindowDays;
+        if (windowDays < 1 || windowDays > MAX_PICKUP_WINDOW_DAYS) {
+            throw new RuntimeException("Pickup window must be between 1 and " + MAX_PICKUP_WINDOW_DAYS + " days");
+        }
+        List<ShipmentRepository.ConsolidationRow> pending = shipmentRepository.findConsolidationRows(
+                ShipmentStatus.PENDING,
+                vehicleType != null ? EnumSet.of(vehicleType) : EnumSet.allOf(VehicleType.class),
+                PageRequest.of(0, maxShipments));
+
+        // Rows arrive earliest pickup first, so each lane's list is in pickup order too
+        Map<Lane, List<ShipmentRepository.ConsolidationRow>> lanes = new LinkedHashMap<>();
+        for (ShipmentRepository.ConsolidationRow row : pending) {
+            lanes.computeIfAbsent(Lane.of(row), lane -> new ArrayList<>()).add(row);
+        }
+        List<Callable<Packed>> tasks = new ArrayList<>(lanes.size());
+        for (List<ShipmentRepository.ConsolidationRow> lane : lanes.values()) {
+            tasks.add(() -> packLane(lane, windowDays));
+        }
+
+        List<ConsolidatedLoad> loads = new ArrayList<>();
+        int vehicles = 0;
+        int oversized = 0;
+        try {
+            for (Future<Packed> future : packers.invokeAll(tasks)) {
+                Packed packed = future.get();
+                loads.addAll(packed.loads());
+                vehicles += packed.vehicles();
+                oversized += packed.oversized();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Consolidation planning was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Consolidation planning failed", e.getCause());
+        }
+        return new ConsolidationPlan(loads, pending.size(), vehicles, pending.size() - vehicles, oversized);
+    }
+
+    private Packed packLane(List<ShipmentRepository.ConsolidationRow> lane, int windowDays) {
+        Capacity capacity = capacities.get(lane.get(0).getVehicleType());
+        List<ConsolidatedLoad> loads = new ArrayList<>();
+        int vehicles = 0;
+        int oversized = 0;
+        int from = 0;
+        while (from < lane.size()) {
+            LocalDate windowEnd = lane.get(from).getPickupDate().plusDays(windowDays);
+            int to = from;
+            while (to < lane.size() && lane.get(to).getPickupDate().isBefore(windowEnd)) {
+                to++;
+            }
+            List<ShipmentRepository.ConsolidationRow> window = lane.subList(from, to);
+            from = to;
+
+            double[] weights = new double[window.size()];
+            double[] volumes = new double[window.size()];
+            for (int i = 0; i < window.size(); i++) {
+                weights[i] = window.get(i).getWeight() != null ? window.get(i).getWeight() : 0;
+                volumes[i] = Dimensions.cubicMeters(window.get(i).getDimensions());
+            }
+            for (int[] load : LoadPacker.pack(weights, volumes, capacity.maxWeight(), capacity.maxVolume())) {
+                vehicles++;
+                if (load.length > 1) {
+                    loads.add(load(window, load, weights, volumes, capacity));
+                } else if (over(weights[load[0]], capacity.maxWeight())
+                        || over(volumes[load[0]], capacity.maxVolume())) {
+                    oversized++;
+                }
+            }
+        }
+        return new Packed(loads, vehicles, oversized);
+    }
+
+    private static ConsolidatedLoad load(List<ShipmentRepository.ConsolidationRow> window, int[] load,
+                                         double[] weights, double[] volumes, Capacity capacity) {
+        List<String> shipmentIds = new ArrayList<>(load.length);
+        List<String> trackingNumbers = new ArrayList<>(load.length);
+        LocalDate pickupFrom = null;
+        LocalDate pickupTo = null;
+        double totalWeight = 0;
+        double totalVolume = 0;
+        for (int i : load) {
+            ShipmentRepository.ConsolidationRow row = window.get(i);
+            shipmentIds.add(row.getId());
+            trackingNumbers.add(row.getTrackingNumber());
+            if (pickupFrom == null || row.getPickupDate().isBefore(pickupFrom)) pickupFrom = row.getPickupDate();
+            if (pickupTo == null || row.getPickupDate().isAfter(pickupTo)) pickupTo = row.getPickupDate();
+            totalWeight += weights[i];
+            totalVolume += volumes[i];
+        }
+        ShipmentRepository.ConsolidationRow first = window.get(load[0]);
+        return new ConsolidatedLoad(first.getVehicleType(), first.getShipperCity(), first.getShipperState(),
+                first.getConsigneeCity(), first.getConsigneeState(), pickupFrom, pickupTo,
+                shipmentIds, trackingNumbers, totalWeight,
+                totalVolume > 0 ? totalVolume : null,
+                capacity.maxWeight() > 0 ? totalWeight / capacity.maxWeight() : null,
+                capacity.maxVolume() > 0 && totalVolume > 0 ? totalVolume / capacity.maxVolume() : null);
+    }
+
+    private static boolean over(double amount, double capacity) {
+        return capacity > 0 && amount > capacity;
+    }
+
+    @Override
+    public void destroy() {
+        packers.shutdownNow();
+    }
+
+    // Cities and states compared without case or surrounding spaces
+    private record Lane(VehicleType vehicleType, String shipperCity, String shipperState,
+                        String consigneeCity, String consigneeState) {
+
+        static Lane of(ShipmentRepository.ConsolidationRow row) {
+            return new Lane(row.getVehicleType(), key(row.getShipperCity()), key(row.getShipperState()),
+                    key(row.getConsigneeCity()), key(row.getConsigneeState()));
+        }
+
+        private static String key(String value) {
+            return value.trim().toUpperCase(Locale.ROOT);
+        }
+    }
+
+    private record Packed(List<ConsolidatedLoad> loads, int vehicles, int oversized) {
+    }
+}
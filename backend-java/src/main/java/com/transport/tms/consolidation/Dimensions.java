@@ -0,0 +1,52 @@
+package com.transport.tms.consolidation;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Volume of a shipment's free-text {@code dimensions}, as entered on the shipment form
+ * ({@code 120x80x60 cm}, {@code 2m x 1m x 1m}, {@code 48 x 40 x 36 in}).
+ *
+ * Three lengths separated by {@code x}, a multiplication sign or {@code *}, each with its own unit or sharing
+ * the one after the last length; mm, cm, m, in and ft are understood. Anything else, including
+ * lengths without any unit, has no known volume.
+ */
+final class Dimensions {
+
+    private static final String LENGTH = "(\\d+(?:\\.\\d+)?)\\s*(mm|cm|m|in|ft)?";
+    private static final String BY = "\\s*[x\\u00d7*]\\s*";
+    private static final Pattern PATTERN = Pattern.compile(
+            "\\s*" + LENGTH + BY + LENGTH + BY + LENGTH + "\\s*", Pattern.CASE_INSENSITIVE);
+
+    private Dimensions() {
+    }
+
+    /**
+     * Cubic meters, or 0 when the text is missing or not understood
+     */
+    static double cubicMeters(String dimensions) {
+        if (dimensions == null) return 0;
+        Matcher matcher = PATTERN.matcher(dimensions);
+        if (!matcher.matches()) return 0;
+        String shared = matcher.group(6);
+        double volume = 1;
+        for (int group = 1; group <= 5; group += 2) {
+            String unit = matcher.group(group + 1) != null ? matcher.group(group + 1) : shared;
+            if (unit == null) return 0;
+            volume *= Double.parseDouble(matcher.group(group)) * meters(unit);
+        }
+        return volume;
+    }
+
+    private static double meters(String unit) {
+        return switch (unit.toLowerCase(Locale.ROOT)) {
+            case "mm" -> 0.001;
+            case "cm" -> 0.01;
+            case "m" -> 1;
+            case "in" -> 0.0254;
+            case "ft" -> 0.3048;
+            default -> throw new IllegalStateException("Unexpected unit " + unit);
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.transport.tms.consolidation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packs the shipments of one lane and pickup window into as few vehicles as it can, in memory and
+ * without touching the database.
+ *
+ * Shipments are indexes into parallel weight and volume arrays; a volume of 0 means the shipment's
+ * dimensions are unknown and only its weight counts. A capacity of 0 or less leaves that measure
+ * unbounded. A shipment that exceeds a capacity on its own gets a vehicle to itself.
+ *
+ * Shipments are placed largest first, size being the larger of their weight and volume shares of a
+ * vehicle, each into the vehicle it leaves the least room in (best-fit decreasing). The emptiest
+ * vehicle is then repeatedly dissolved into the others while all of its shipments still fit, until
+ * that fails or the count reaches the lower bound set by total weight and volume.
+ */
+public final class LoadPacker {
+
+    private static final double EPSILON = 1e-9;
+
+    private LoadPacker() {
+    }
+
+    /**
+     * Vehicles as arrays of shipment indexes, fullest first, each in the order its shipments were placed
+     */
+    public static List<int[]> pack(double[] weights, double[] volumes, double maxWeight, double maxVolume) {
+        int n = weights.length;
+        double[] sizes = new double[n];
+        for (int i = 0; i < n; i++) {
+            sizes[i] = Math.max(share(weights[i], maxWeight), share(volumes[i], maxVolume));
+        }
+        Integer[] order = new Integer[n];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> -sizes[i]).thenComparingInt(i -> i));
+
+        List<Bin> bins = new ArrayList<>();
+        int oversized = 0;
+        double totalWeight = 0;
+        double totalVolume = 0;
+        for (int shipment : order) {
+            Bin bin = null;
+            if (sizes[shipment] > 1 + EPSILON) {
+                oversized++;
+            } else {
+                totalWeight += weights[shipment];
+                totalVolume += volumes[shipment];
+                bin = bestFit(bins, null, weights[shipment], volumes[shipment], maxWeight, maxVolume);
+            }
+            if (bin == null) {
+                bin = new Bin();
+                bins.add(bin);
+            }
+            bin.add(shipment, weights[shipment], volumes[shipment]);
+        }
+
+        double fullVehicles = Math.max(share(totalWeight, maxWeight), share(totalVolume, maxVolume));
+        int lowerBound = oversized + Math.max(1, (int) Math.ceil(fullVehicles - EPSILON));
+        boolean dissolved = true;
+        while (dissolved && bins.size() > lowerBound) {
+            dissolved = dissolveEmptiest(bins, weights, volumes, maxWeight, maxVolume);
+        }
+
+        bins.sort(Comparator.comparingDouble((Bin bin) -> -bin.fill(maxWeight, maxVolume)));
+        List<int[]> loads = new ArrayList<>(bins.size());
+        for (Bin bin : bins) {
+            loads.add(bin.shipments.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return loads;
+    }
+
+    // Moves every shipment of the emptiest vehicle that is within capacity into the others, or changes nothing
+    private static boolean dissolveEmptiest(List<Bin> bins, double[] weights, double[] volumes,
+                                            double maxWeight, double maxVolume) {
+        Bin emptiest = null;
+        for (Bin bin : bins) {
+            if (bin.oversized(maxWeight, maxVolume)) continue;
+            if (emptiest == null || bin.fill(maxWeight, maxVolume) < emptiest.fill(maxWeight, maxVolume)) {
+                emptiest = bin;
+            }
+        }
+        if (emptiest == null) return false;
+
+        List<Bin> targets = new ArrayList<>(bins.size() - 1);
+        for (Bin bin : bins) {
+            if (bin != emptiest) targets.add(bin.copy());
+        }
+        List<Integer> shipments = new ArrayList<>(emptiest.shipments);
+        shipments.sort(Comparator.comparingDouble((Integer i) ->
+                -Math.max(share(weights[i], maxWeight), share(volumes[i], maxVolume))));
+        for (int shipment : shipments) {
+            Bin target = bestFit(targets, emptiest, weights[shipment], volumes[shipment], maxWeight, maxVolume);
+            if (target == null) return false;
+            target.add(shipment, weights[shipment], volumes[shipment]);
+        }
+
+        bins.clear();
+        bins.addAll(targets);
+        return true;
+    }
+
+    // The vehicle with the least room left after taking the shipment, or null if none can
+    private static Bin bestFit(List<Bin> bins, Bin excluded, double weight, double volume,
+                               double maxWeight, double maxVolume) {
+        Bin best = null;
+        double bestRoom = Double.POSITIVE_INFINITY;
+        for (Bin bin : bins) {
+            if (bin == excluded || bin.oversized(maxWeight, maxVolume)) continue;
+            double weightShare = share(bin.weight + weight, maxWeight);
+            double volumeShare = share(bin.volume + volume, maxVolume);
+            if (weightShare > 1 + EPSILON || volumeShare > 1 + EPSILON) continue;
+            double room = 2 - weightShare - volumeShare;
+            if (room < bestRoom - EPSILON) {
+                bestRoom = room;
+                best = bin;
+            }
+        }
+        return best;
+    }
+
+    private static double share(double amount, double capacity) {
+        return capacity > 0 ? amount / capacity : 0;
+    }
+
+    private static final class Bin {
+
+        private final List<Integer> shipments = new ArrayList<>();
+
+        private double weight;
+
+        private double volume;
+
+        void add(int shipment, double shipmentWeight, double shipmentVolume) {
+            shipments.add(shipment);
+            weight += shipmentWeight;
+            volume += shipmentVolume;
+        }
+
+        double fill(double maxWeight, double maxVolume) {
+            return Math.max(share(weight, maxWeight), share(volume, maxVolume));
+        }
+
+        boolean oversized(double maxWeight, double maxVolume) {
+            return fill(maxWeight, maxVolume) > 1 + EPSILON;
+        }
+
+        Bin copy() {
+            Bin copy = new Bin();
+            copy.shipments.addAll(shipments);
+            copy.weight = weight;
+            copy.volume = volume;
+            return copy;
+        }
+    }
+}
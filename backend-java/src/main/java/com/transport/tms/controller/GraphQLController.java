@@ -1,23 +1,54 @@
 package com.transport.tms.controller;
 
+import com.transport.tms.assignment.AutoAssignService;
+import com.transport.tms.assignment.DriverWorkloadIndex;
+import com.transport.tms.consolidation.ConsolidationService;
+import com.transport.tms.dashboard.DashboardCounters;
+import com.transport.tms.dto.AssignmentPlan;
 import com.transport.tms.dto.AuthResponse;
+import com.transport.tms.dto.BulkUpdatePayload;
+import com.transport.tms.dto.ConsolidationPlan;
+import com.transport.tms.dto.CountMode;
+import com.transport.tms.dto.CreateShipmentsPayload;
+import com.transport.tms.dto.DashboardStats;
+import com.transport.tms.dto.DriverRoute;
+import com.transport.tms.dto.DriverSort;
+import com.transport.tms.dto.DriverWorkload;
 import com.transport.tms.dto.PaginatedShipments;
 import com.transport.tms.dto.PaginatedUsers;
+import com.transport.tms.dto.ReportDimension;
+import com.transport.tms.dto.ShipmentConnection;
+import com.transport.tms.dto.ShipmentReport;
+import com.transport.tms.dto.UserConnection;
 import com.transport.tms.dto.input.*;
+import com.transport.tms.geo.ZipGeoIndex;
 import com.transport.tms.mapper.ShipmentMapper;
 import com.transport.tms.mapper.UserMapper;
 import com.transport.tms.model.*;
+import com.transport.tms.reporting.ShipmentReportService;
+import com.transport.tms.routing.DriverRouteService;
+import com.transport.tms.security.AuthenticatedUser;
 import com.transport.tms.service.AuthService;
+import com.transport.tms.service.ShipmentBulkService;
 import com.transport.tms.service.ShipmentService;
 import com.transport.tms.service.UserService;
+import com.transport.tms.subscription.ShipmentUpdatePublisher;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +64,33 @@ public class GraphQLController {
     @Autowired
     private ShipmentService shipmentService;
 
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentUpdatePublisher shipmentUpdatePublisher;
+
+    @Autowired
+    private AutoAssignService autoAssignService;
+
+    @Autowired
+    private DriverWorkloadIndex driverWorkloadIndex;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private ZipGeoIndex zipGeoIndex;
+
+    @Autowired
+    private DriverRouteService driverRouteService;
+
+    @Autowired
+    private ConsolidationService consolidationService;
+
+    @Autowired
+    private ShipmentReportService shipmentReportService;
+
     @Autowired
     private UserMapper userMapper;
 
@@ -54,10 +112,11 @@ public class GraphQLController {
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public User me() {
-        // In production, get email from security context (JWT token)
-        // For now, return admin user for testing
-        return authService.getCurrentUser("admin@transport.com");
+    public User me(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
+            throw new RuntimeException("Not authenticated");
+        }
+        return authService.getCurrentUserById(principal.id());
     }
 
     // ==================== User Queries ====================
@@ -65,7 +124,8 @@ public class GraphQLController {
     @QueryMapping
     @Transactional(readOnly = true)
     public PaginatedUsers users(@Argument Map<String, Object> filter,
-                                @Argument Map<String, Object> pagination) {
+                                @Argument Map<String, Object> pagination,
+                                DataFetchingFieldSelectionSet selectionSet) {
         UserRole role = filter != null && filter.get("role") != null ?
                 UserRole.valueOf((String) filter.get("role")) : null;
         Boolean isActive = filter != null ? (Boolean) filter.get("isActive") : null;
@@ -76,7 +136,16 @@ public class GraphQLController {
         String sortBy = pagination != null ? (String) pagination.getOrDefault("sortBy", "createdAt") : "createdAt";
         String sortOrder = pagination != null ? (String) pagination.getOrDefault("sortOrder", "desc") : "desc";
 
-        return userService.findAll(role, isActive, search, page, limit, sortBy, sortOrder);
+        return userService.findAll(role, isActive, search, page, limit, sortBy, sortOrder,
+                countMode(pagination, selectionSet));
+    }
+
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public UserConnection usersConnection(@Argument Integer first, @Argument String after,
+                                          @Argument UserFilterInput filter,
+                                          @Argument String sortBy, @Argument String sortOrder) {
+        return userService.findConnection(filter, first, after, sortBy, sortOrder);
     }
 
     @QueryMapping
@@ -87,8 +156,15 @@ public class GraphQLController {
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public List<User> drivers() {
-        return userService.findDrivers();
+    public List<User> drivers(@Argument Boolean available, @Argument DriverSort sortBy) {
+        return userService.findDrivers(available, sortBy);
+    }
+
+    // ==================== User Relations ====================
+
+    @SchemaMapping(typeName = "User")
+    public DriverWorkload workload(User user) {
+        return user.getRole() == UserRole.DRIVER ? driverWorkloadIndex.workload(user) : null;
     }
 
     // ==================== User Mutations ====================
@@ -115,23 +191,24 @@ public class GraphQLController {
 
     @QueryMapping
     @Transactional(readOnly = true)
-    public PaginatedShipments shipments(@Argument Map<String, Object> filter,
-                                       @Argument Map<String, Object> pagination) {
-        ShipmentStatus status = filter != null && filter.get("status") != null ?
-                ShipmentStatus.valueOf((String) filter.get("status")) : null;
-        String trackingNumber = filter != null ? (String) filter.get("trackingNumber") : null;
-        String createdById = filter != null ? (String) filter.get("createdById") : null;
-        String driverId = filter != null ? (String) filter.get("driverId") : null;
-        String vehicleTypeStr = filter != null ? (String) filter.get("vehicleType") : null;
-        VehicleType vehicleType = vehicleTypeStr != null ? VehicleType.valueOf(vehicleTypeStr) : null;
-
+    public PaginatedShipments shipments(@Argument ShipmentFilterInput filter,
+                                       @Argument Map<String, Object> pagination,
+                                       DataFetchingFieldSelectionSet selectionSet) {
         Integer page = pagination != null ? (Integer) pagination.getOrDefault("page", 1) : 1;
         Integer limit = pagination != null ? (Integer) pagination.getOrDefault("limit", 10) : 10;
         String sortBy = pagination != null ? (String) pagination.getOrDefault("sortBy", "createdAt") : "createdAt";
         String sortOrder = pagination != null ? (String) pagination.getOrDefault("sortOrder", "desc") : "desc";
 
-        return shipmentService.findAll(status, trackingNumber, createdById, driverId,
-                vehicleType, page, limit, sortBy, sortOrder);
+        return shipmentService.findAll(filter, page, limit, sortBy, sortOrder,
+                countMode(pagination, selectionSet));
+    }
+
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public ShipmentConnection shipmentsConnection(@Argument Integer first, @Argument String after,
+                                                  @Argument ShipmentFilterInput filter,
+                                                  @Argument String sortBy, @Argument String sortOrder) {
+        return shipmentService.findConnection(filter, first, after, sortBy, sortOrder);
     }
 
     @QueryMapping
@@ -146,14 +223,134 @@ public class GraphQLController {
         return shipmentService.findByTrackingNumber(trackingNumber);
     }
 
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public List<Shipment> searchShipments(@Argument String query, @Argument Integer limit) {
+        return shipmentService.search(query, limit);
+    }
+
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public DriverRoute driverRoute(@Argument String driverId) {
+        return driverRouteService.route(driverId);
+    }
+
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public List<Shipment> shipmentsNear(@Argument String zip, @Argument Double radiusMiles, @Argument Integer limit) {
+        return shipmentService.findNear(zip, radiusMiles, limit);
+    }
+
+    @QueryMapping
+    @Transactional(readOnly = true)
+    public ShipmentConnection flaggedShipments(@Argument Integer first, @Argument String after) {
+        return shipmentService.findFlagged(first, after);
+    }
+
+    @QueryMapping
+    public AssignmentPlan proposeAssignments() {
+        return autoAssignService.propose();
+    }
+
+    @QueryMapping
+    public ConsolidationPlan consolidationPlan(@Argument VehicleType vehicleType, @Argument Integer pickupWindowDays) {
+        return consolidationService.plan(vehicleType, pickupWindowDays);
+    }
+
+    // ==================== Shipment Subscriptions ====================
+
+    @SubscriptionMapping
+    public Flux<Shipment> shipmentUpdated(@Argument String trackingNumber) {
+        return shipmentUpdatePublisher.forTrackingNumber(trackingNumber);
+    }
+
+    @SubscriptionMapping
+    public Flux<Shipment> shipmentsUpdated(@Argument ShipmentFilterInput filter) {
+        return shipmentUpdatePublisher.forFilter(filter);
+    }
+
+    // ==================== Dashboard ====================
+
+    @QueryMapping
+    public DashboardStats dashboardStats() {
+        return dashboardCounters.snapshot();
+    }
+
+    @SubscriptionMapping
+    public Flux<DashboardStats> dashboardStatsUpdated() {
+        return dashboardCounters.updates();
+    }
+
+    // ==================== Reporting ====================
+
+    @QueryMapping
+    public ShipmentReport shipmentReport(@Argument LocalDate from, @Argument LocalDate to,
+                                         @Argument List<ReportDimension> groupBy) {
+        return shipmentReportService.report(from, to, groupBy);
+    }
+
+    // ==================== Shipment Relations ====================
+
+    @SchemaMapping(typeName = "Shipment")
+    public Double distanceMiles(Shipment shipment) {
+        return zipGeoIndex.distanceMiles(shipment.getShipperZip(), shipment.getConsigneeZip());
+    }
+
+    @BatchMapping(typeName = "Shipment")
+    public Map<Shipment, User> createdBy(List<Shipment> shipments) {
+        Map<String, User> users = userService.findAllByIds(shipments.stream().map(Shipment::getCreatedById).toList());
+        Map<Shipment, User> result = new HashMap<>();
+        for (Shipment shipment : shipments) {
+            User user = users.get(shipment.getCreatedById());
+            if (user != null) result.put(shipment, user);
+        }
+        return result;
+    }
+
+    @BatchMapping(typeName = "Shipment")
+    public Map<Shipment, User> driver(List<Shipment> shipments) {
+        Map<String, User> users = userService.findAllByIds(shipments.stream().map(Shipment::getDriverId).toList());
+        Map<Shipment, User> result = new HashMap<>();
+        for (Shipment shipment : shipments) {
+            User user = users.get(shipment.getDriverId());
+            if (user != null) result.put(shipment, user);
+        }
+        return result;
+    }
+
+    @BatchMapping(typeName = "Shipment")
+    public Map<Shipment, List<ShipmentEvent>> timeline(List<Shipment> shipments) {
+        Map<String, List<ShipmentEvent>> events = shipmentService.findTimelines(shipments.stream().map(Shipment::getId).toList());
+        Map<Shipment, List<ShipmentEvent>> result = new HashMap<>();
+        for (Shipment shipment : shipments) {
+            result.put(shipment, events.getOrDefault(shipment.getId(), List.of()));
+        }
+        return result;
+    }
+
     // ==================== Shipment Mutations ====================
 
     @MutationMapping
     @Transactional
-    public Shipment createShipment(@Argument @Valid CreateShipmentInput createShipmentInput) {
+    public Shipment createShipment(@Argument @Valid CreateShipmentInput createShipmentInput,
+                                   @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
+            throw new RuntimeException("Not authenticated");
+        }
         Shipment shipment = shipmentMapper.toEntity(createShipmentInput);
-        // In production, get userId from security context
-        return shipmentService.create(shipment, "admin-user-id");
+        return shipmentService.create(shipment, principal.id());
+    }
+
+    /**
+     * Not transactional: the bulk service commits in chunks and reports failures per input
+     */
+    @MutationMapping
+    public CreateShipmentsPayload createShipments(@Argument List<CreateShipmentInput> inputs,
+                                                  @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
+            throw new RuntimeException("Not authenticated");
+        }
+        return shipmentBulkService.createAll(inputs, principal.id());
     }
 
     @MutationMapping
@@ -176,10 +373,45 @@ public class GraphQLController {
         return shipmentService.assignDriver(shipmentId, driverId);
     }
 
+    @MutationMapping
+    public BulkUpdatePayload bulkAssignDriver(@Argument List<String> shipmentIds, @Argument String driverId) {
+        return shipmentBulkService.assignDriver(shipmentIds, driverId);
+    }
+
+    @MutationMapping
+    public BulkUpdatePayload bulkUpdateStatus(@Argument List<String> ids, @Argument ShipmentStatus status) {
+        return shipmentBulkService.updateStatus(ids, status);
+    }
+
+    @MutationMapping
+    public AssignmentPlan autoAssign() {
+        return autoAssignService.autoAssign();
+    }
+
     @MutationMapping
     @Transactional
-    public Shipment flagShipment(@Argument String id) {
-        return shipmentService.flagShipment(id);
+    public Shipment flagShipment(@Argument String id, @Argument String reason,
+                                 @AuthenticationPrincipal AuthenticatedUser principal) {
+        return shipmentService.flagShipment(id, reason, principal != null ? principal.id() : null);
+    }
+
+    @MutationMapping
+    @Transactional
+    public Shipment clearShipmentFlag(@Argument String id) {
+        return shipmentService.clearFlag(id);
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * Only pay for a COUNT when the client actually selected the total
+     */
+    private static CountMode countMode(Map<String, Object> pagination, DataFetchingFieldSelectionSet selectionSet) {
+        if (!selectionSet.contains("meta/total") && !selectionSet.contains("meta/totalPages")) {
+            return CountMode.NONE;
+        }
+        Object requested = pagination != null ? pagination.get("countMode") : null;
+        return requested != null ? CountMode.valueOf((String) requested) : CountMode.EXACT;
     }
 
     // ==================== Health Check ====================
@@ -0,0 +1,65 @@
+package com.transport.tms.controller;
+
+import com.transport.tms.dto.ExportFormat;
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.security.AuthenticatedUser;
+import com.transport.tms.service.ShipmentExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+public class ShipmentExportController {
+
+    @Autowired
+    private ShipmentExportService shipmentExportService;
+
+    /**
+     * Stream every shipment matching the filter (same query parameters as ShipmentFilterInput) to an
+     * authenticated caller. The body is gzip-compressed whenever the client accepts it.
+     */
+    @GetMapping("/api/shipments/export")
+    public void export(@AuthenticationPrincipal AuthenticatedUser user,
+                       ShipmentFilterInput filter,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Not authenticated");
+            return;
+        }
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown export format '" + format + "'; expected one of "
+                    + Arrays.stream(ExportFormat.values()).map(f -> f.name().toLowerCase(Locale.ROOT)).toList());
+            return;
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"shipments." + exportFormat.getExtension() + "\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        try (OutputStream body = gzip
+                ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024)
+                : response.getOutputStream()) {
+            shipmentExportService.export(filter, exportFormat, body);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.transport.tms.controller;
+
+import com.transport.tms.dto.ShipmentImportResult;
+import com.transport.tms.security.AuthenticatedUser;
+import com.transport.tms.service.ShipmentImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+public class ShipmentImportController {
+
+    @Autowired
+    private ShipmentImportService shipmentImportService;
+
+    /**
+     * Import a CSV upload sent as the raw request body, gzip-compressed if Content-Encoding says so.
+     * The header row names CreateShipmentInput fields. The response body is the error report
+     * ({@code line,error}); counts and throughput are returned in the {@code X-Import-*} headers.
+     */
+    @PostMapping(value = "/api/shipments/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public void importShipments(@AuthenticationPrincipal AuthenticatedUser user,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        if (user == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Not authenticated");
+            return;
+        }
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        boolean gzip = contentEncoding != null && contentEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        // The report is spooled to disk so a file full of bad rows never sits in memory
+        Path errorReport = Files.createTempFile("shipment-import-errors-", ".csv");
+        try {
+            ShipmentImportResult result;
+            try (InputStream body = gzip ? new GZIPInputStream(request.getInputStream(), 64 * 1024) : request.getInputStream();
+                 Writer errors = Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8)) {
+                result = shipmentImportService.importCsv(body, user.id(), errors);
+            }
+
+            response.setHeader("X-Import-Rows", String.valueOf(result.getRows()));
+            response.setHeader("X-Import-Created", String.valueOf(result.getCreated()));
+            response.setHeader("X-Import-Failed", String.valueOf(result.getFailed()));
+            response.setHeader("X-Import-Elapsed-Ms", String.valueOf(result.getElapsedMillis()));
+            response.setHeader("X-Import-Rows-Per-Second", String.valueOf(Math.round(result.getRowsPerSecond())));
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"shipment-import-errors.csv\"");
+            response.setContentLengthLong(Files.size(errorReport));
+            Files.copy(errorReport, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(errorReport);
+        }
+    }
+}
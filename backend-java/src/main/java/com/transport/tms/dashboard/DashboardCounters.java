@@ -0,0 +1,190 @@
+package com.transport.tms.dashboard;
+
+import com.transport.tms.dto.DashboardStats;
+import com.transport.tms.dto.StatusCount;
+import com.transport.tms.dto.VehicleTypeCount;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.model.ShipmentFigures;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shipment counts and revenue for {@code dashboardStats}, kept in memory so reads cost the same
+ * for ten shipments or ten million.
+ *
+ * Every committed write applies its delta (old figures out, new figures in) to striped
+ * {@link LongAdder}s, so concurrent writers never contend on one counter. Money is counted in cents.
+ *
+ * Counters are loaded from one grouped query at startup and reconciled with it every
+ * {@code tms.dashboard.reconcile-interval}. A reconcile is skipped when a write lands while the
+ * query runs; a write committed but not yet applied can still skew one pass, and the next one fixes it.
+ *
+ * Open dashboards get at most one snapshot per {@code tms.dashboard.push-interval}, and only after a change.
+ */
+@Slf4j
+@Component
+public class DashboardCounters {
+
+    private final ShipmentRepository shipmentRepository;
+
+    private final Map<ShipmentStatus, LongAdder> byStatus = new EnumMap<>(ShipmentStatus.class);
+
+    private final Map<VehicleType, LongAdder> byVehicleType = new EnumMap<>(VehicleType.class);
+
+    private final LongAdder estimatedRateCents = new LongAdder();
+
+    private final LongAdder revenueCents = new LongAdder();
+
+    // Deltas applied so far; a reconcile only trusts its query if this did not move meanwhile
+    private final LongAdder changes = new LongAdder();
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private final Sinks.Many<DashboardStats> updates = Sinks.many().multicast().directBestEffort();
+
+    private volatile Instant reconciledAt;
+
+    @Autowired
+    public DashboardCounters(ShipmentRepository shipmentRepository) {
+        this.shipmentRepository = shipmentRepository;
+        for (ShipmentStatus status : ShipmentStatus.values()) byStatus.put(status, new LongAdder());
+        for (VehicleType vehicleType : VehicleType.values()) byVehicleType.put(vehicleType, new LongAdder());
+    }
+
+    public DashboardStats snapshot() {
+        List<StatusCount> statuses = new ArrayList<>(byStatus.size());
+        long total = 0;
+        for (Map.Entry<ShipmentStatus, LongAdder> entry : byStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            statuses.add(new StatusCount(entry.getKey(), count));
+            total += count;
+        }
+        List<VehicleTypeCount> vehicleTypes = new ArrayList<>(byVehicleType.size());
+        byVehicleType.forEach((vehicleType, count) -> vehicleTypes.add(new VehicleTypeCount(vehicleType, count.sum())));
+        return new DashboardStats(total, statuses, vehicleTypes,
+                revenueCents.sum() / 100.0, estimatedRateCents.sum() / 100.0, reconciledAt);
+    }
+
+    /**
+     * The current snapshot, then a coalesced snapshot after each push interval with changes.
+     * A dashboard that cannot keep up only gets the latest one.
+     */
+    public Flux<DashboardStats> updates() {
+        return updates.asFlux().onBackpressureLatest().startWith(snapshot());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> apply(null, ShipmentFigures.of(event.shipment()));
+            // Without the loaded figures there is no delta to apply; the next reconcile catches up
+            case UPDATED -> {
+                if (event.before() != null) apply(event.before(), ShipmentFigures.of(event.shipment()));
+            }
+            case DELETED -> apply(event.before() != null ? event.before() : ShipmentFigures.of(event.shipment()), null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentsBulkUpdated(ShipmentsBulkUpdatedEvent event) {
+        for (ShipmentStatus previous : event.previousStatuses()) {
+            byStatus.get(previous).decrement();
+            byStatus.get(event.status()).increment();
+        }
+        changed();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${tms.dashboard.reconcile-interval:10m}",
+            fixedDelayString = "${tms.dashboard.reconcile-interval:10m}")
+    public synchronized void reconcile() {
+        long before = changes.sum();
+        List<ShipmentRepository.FiguresRow> rows = shipmentRepository.aggregateFigures();
+        if (changes.sum() != before) {
+            log.debug("Dashboard reconcile skipped, shipments changed while it ran");
+            return;
+        }
+
+        Map<ShipmentStatus, Long> statuses = new EnumMap<>(ShipmentStatus.class);
+        Map<VehicleType, Long> vehicleTypes = new EnumMap<>(VehicleType.class);
+        long estimated = 0;
+        long revenue = 0;
+        for (ShipmentRepository.FiguresRow row : rows) {
+            statuses.merge(row.getStatus(), row.getShipments(), Long::sum);
+            vehicleTypes.merge(row.getVehicleType(), row.getShipments(), Long::sum);
+            estimated += Math.round(row.getEstimatedRateCents().doubleValue());
+            revenue += Math.round(row.getRevenueCents().doubleValue());
+        }
+
+        // Adjust by the difference rather than reset, so a delta applied meanwhile is kept
+        long drift = 0;
+        for (ShipmentStatus status : ShipmentStatus.values()) {
+            drift += Math.abs(correct(byStatus.get(status), statuses.getOrDefault(status, 0L)));
+        }
+        for (VehicleType vehicleType : VehicleType.values()) {
+            correct(byVehicleType.get(vehicleType), vehicleTypes.getOrDefault(vehicleType, 0L));
+        }
+        correct(estimatedRateCents, estimated);
+        correct(revenueCents, revenue);
+
+        if (reconciledAt != null && drift != 0) {
+            log.warn("Dashboard counters drifted by {} shipments and were corrected", drift);
+        }
+        reconciledAt = Instant.now();
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${tms.dashboard.push-interval:1s}")
+    public void pushUpdates() {
+        if (dirty.getAndSet(false)) {
+            updates.tryEmitNext(snapshot());
+        }
+    }
+
+    private void apply(ShipmentFigures before, ShipmentFigures after) {
+        if (before != null) add(before, -1);
+        if (after != null) add(after, 1);
+        changed();
+    }
+
+    private void add(ShipmentFigures figures, int sign) {
+        byStatus.get(figures.status()).add(sign);
+        if (figures.vehicleType() != null) byVehicleType.get(figures.vehicleType()).add(sign);
+        estimatedRateCents.add(sign * figures.estimatedRateCents());
+        revenueCents.add(sign * figures.revenueCents());
+    }
+
+    private void changed() {
+        changes.increment();
+        dirty.set(true);
+    }
+
+    private static long correct(LongAdder counter, long expected) {
+        long difference = expected - counter.sum();
+        counter.add(difference);
+        return difference;
+    }
+}
@@ -0,0 +1,17 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Driver choices for pending shipments, either proposed or applied
+ */
+@Data
+@AllArgsConstructor
+public class AssignmentPlan {
+    private List<AssignmentProposal> proposals;
+    // Pending shipments considered that no driver was found for, or that changed before they could be assigned
+    private int unmatchedShipments;
+}
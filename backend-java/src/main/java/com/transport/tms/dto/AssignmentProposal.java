@@ -0,0 +1,14 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AssignmentProposal {
+    private String shipmentId;
+    private String trackingNumber;
+    private double weight;
+    private String driverId;
+    private AssignmentReason reason;
+}
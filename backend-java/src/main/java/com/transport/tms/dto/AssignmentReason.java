@@ -0,0 +1,13 @@
+package com.transport.tms.dto;
+
+/**
+ * Why the assignment engine picked a driver, from the strongest preference to the weakest
+ */
+public enum AssignmentReason {
+    /** The driver already carries a shipment between the same two states */
+    SAME_LANE,
+    /** The driver already picks up or delivers in the shipment's pickup state */
+    PICKUP_STATE,
+    /** No driver works the area; the least loaded one with the right vehicle */
+    LEAST_LOADED
+}
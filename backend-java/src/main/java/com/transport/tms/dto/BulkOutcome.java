@@ -0,0 +1,12 @@
+package com.transport.tms.dto;
+
+/**
+ * What a bulk update did to one requested shipment id
+ */
+public enum BulkOutcome {
+    UPDATED,
+    /** Already in the requested status, with the requested driver if any */
+    UNCHANGED,
+    NOT_FOUND,
+    INVALID_STATUS
+}
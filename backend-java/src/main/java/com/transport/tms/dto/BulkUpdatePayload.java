@@ -0,0 +1,13 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkUpdatePayload {
+    private int updated;
+    private List<BulkUpdateResult> results;
+}
@@ -0,0 +1,13 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.ShipmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkUpdateResult {
+    private String id;
+    private BulkOutcome outcome;
+    private ShipmentStatus previousStatus;
+}
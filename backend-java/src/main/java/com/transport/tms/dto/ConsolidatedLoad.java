@@ -0,0 +1,32 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pending shipments of one lane proposed to travel together in one vehicle
+ */
+@Data
+@AllArgsConstructor
+public class ConsolidatedLoad {
+    private VehicleType vehicleType;
+    private String shipperCity;
+    private String shipperState;
+    private String consigneeCity;
+    private String consigneeState;
+    // Earliest and latest pickup date of the shipments
+    private LocalDate pickupFrom;
+    private LocalDate pickupTo;
+    private List<String> shipmentIds;
+    private List<String> trackingNumbers;
+    private double totalWeight;
+    // Cubic meters of the shipments whose dimensions could be read; null when none could
+    private Double totalVolume;
+    // Shares of the vehicle type's capacities; null when that capacity is not limited
+    private Double weightUtilization;
+    private Double volumeUtilization;
+}
@@ -0,0 +1,21 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Loads of two or more pending shipments, and what they save over one vehicle per shipment
+ */
+@Data
+@AllArgsConstructor
+public class ConsolidationPlan {
+    private List<ConsolidatedLoad> loads;
+    private int pendingShipments;
+    // Vehicles needed for every pending shipment considered, counting the ones travelling alone
+    private int vehicles;
+    private int vehiclesSaved;
+    // Shipments over their vehicle type's capacity on their own, left out of every load
+    private int oversizedShipments;
+}
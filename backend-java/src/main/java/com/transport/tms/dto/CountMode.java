@@ -0,0 +1,13 @@
+package com.transport.tms.dto;
+
+/**
+ * How {@link PaginationMeta#getTotal()} is computed for offset pagination
+ */
+public enum CountMode {
+    /** Run an exact COUNT with the same filter */
+    EXACT,
+    /** Use planner statistics or a recently cached count; cheap but approximate */
+    ESTIMATED,
+    /** The client did not select the total, so no count is run at all */
+    NONE
+}
@@ -0,0 +1,16 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.Shipment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one input of a bulk create: either the stored shipment or the reason it was rejected
+ */
+@Data
+@AllArgsConstructor
+public class CreateShipmentResult {
+    private int index;
+    private Shipment shipment;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CreateShipmentsPayload {
+    private int created;
+    private int failed;
+    private List<CreateShipmentResult> results;
+}
@@ -0,0 +1,23 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Shipment totals for the dashboard, read from in-memory counters
+ */
+@Data
+@AllArgsConstructor
+public class DashboardStats {
+    private long totalShipments;
+    private List<StatusCount> byStatus;
+    private List<VehicleTypeCount> byVehicleType;
+    // Actual rate where known, otherwise the estimate
+    private double totalRevenue;
+    private double estimatedRevenue;
+    // Last time the counters were checked against the database
+    private Instant reconciledAt;
+}
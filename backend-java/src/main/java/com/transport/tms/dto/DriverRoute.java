@@ -0,0 +1,20 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Suggested order of a driver's remaining pickups and deliveries
+ */
+@Data
+@AllArgsConstructor
+public class DriverRoute {
+    private String driverId;
+    private List<RouteStop> stops;
+    // Sum of the legs with known distances
+    private double totalMiles;
+    private Instant plannedAt;
+}
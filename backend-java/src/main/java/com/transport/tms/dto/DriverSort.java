@@ -0,0 +1,9 @@
+package com.transport.tms.dto;
+
+/**
+ * Orders for the {@code drivers} query
+ */
+public enum DriverSort {
+    /** Fewest active shipments first, then lightest */
+    LOAD
+}
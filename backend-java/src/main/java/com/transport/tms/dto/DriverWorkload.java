@@ -0,0 +1,16 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * What a driver is carrying: assigned, picked-up and in-transit shipments
+ */
+@Data
+@AllArgsConstructor
+public class DriverWorkload {
+    private int activeShipments;
+    private double activeWeight;
+    // Active and below tms.assignment.max-active-shipments
+    private boolean available;
+}
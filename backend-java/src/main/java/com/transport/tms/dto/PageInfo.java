@@ -0,0 +1,13 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PageInfo {
+    private Boolean hasNextPage;
+    private Boolean hasPreviousPage;
+    private String startCursor;
+    private String endCursor;
+}
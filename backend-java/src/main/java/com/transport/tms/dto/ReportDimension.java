@@ -0,0 +1,21 @@
+package com.transport.tms.dto;
+
+/**
+ * What {@code shipmentReport} rows are grouped by; at most one of the periods
+ */
+public enum ReportDimension {
+    /** ISO date the shipments were created on, in UTC */
+    DAY,
+    /** ISO week, e.g. 2024-W07 */
+    WEEK,
+    /** Year and month, e.g. 2024-02 */
+    MONTH,
+    STATUS,
+    VEHICLE_TYPE,
+    SHIPPER_STATE,
+    CONSIGNEE_STATE;
+
+    public boolean isPeriod() {
+        return this == DAY || this == WEEK || this == MONTH;
+    }
+}
@@ -0,0 +1,18 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RouteStop {
+    private int sequence;
+    private RouteStopType type;
+    private String shipmentId;
+    private String trackingNumber;
+    private String city;
+    private String state;
+    private String zip;
+    // Great-circle miles from the previous stop; null for the first stop or when either ZIP is unknown
+    private Double milesFromPrevious;
+}
@@ -0,0 +1,6 @@
+package com.transport.tms.dto;
+
+public enum RouteStopType {
+    PICKUP,
+    DELIVERY
+}
@@ -0,0 +1,13 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ShipmentConnection {
+    private List<ShipmentEdge> edges;
+    private PageInfo pageInfo;
+}
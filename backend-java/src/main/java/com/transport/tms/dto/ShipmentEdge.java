@@ -0,0 +1,12 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.Shipment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ShipmentEdge {
+    private String cursor;
+    private Shipment node;
+}
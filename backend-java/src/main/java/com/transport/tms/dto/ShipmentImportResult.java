@@ -0,0 +1,20 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Counts and throughput of one CSV import; rejected rows are listed in the error report
+ */
+@Data
+@AllArgsConstructor
+public class ShipmentImportResult {
+    private long rows;
+    private long created;
+    private long failed;
+    private long elapsedMillis;
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+    }
+}
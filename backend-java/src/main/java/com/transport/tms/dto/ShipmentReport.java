@@ -0,0 +1,21 @@
+package com.transport.tms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Shipments created between two dates, read from the daily rollups
+ */
+@Data
+@AllArgsConstructor
+public class ShipmentReport {
+    private LocalDate from;
+    private LocalDate to;
+    private List<ShipmentReportRow> rows;
+    // Changes written after this are not in the report yet
+    private Instant refreshedAt;
+}
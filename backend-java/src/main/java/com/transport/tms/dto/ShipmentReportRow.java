@@ -0,0 +1,24 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Totals of one group; the dimensions the report is not grouped by are null
+ */
+@Data
+@AllArgsConstructor
+public class ShipmentReportRow {
+    private String period;
+    private ShipmentStatus status;
+    private VehicleType vehicleType;
+    private String shipperState;
+    private String consigneeState;
+    private long shipments;
+    private double totalWeight;
+    private double estimatedRevenue;
+    // Actual rate where known, otherwise the estimate
+    private double revenue;
+}
@@ -0,0 +1,12 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.ShipmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StatusCount {
+    private ShipmentStatus status;
+    private long count;
+}
@@ -0,0 +1,12 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserEdge {
+    private String cursor;
+    private User node;
+}
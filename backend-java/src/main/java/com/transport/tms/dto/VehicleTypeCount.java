@@ -0,0 +1,12 @@
+package com.transport.tms.dto;
+
+import com.transport.tms.model.VehicleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class VehicleTypeCount {
+    private VehicleType vehicleType;
+    private long count;
+}
@@ -1,6 +1,7 @@
 package com.transport.tms.dto.input;
 
 import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -25,4 +26,6 @@ public class CreateUserInput {
     private UserRole role;
 
     private String phone;
+
+    private VehicleType vehicleType;
 }
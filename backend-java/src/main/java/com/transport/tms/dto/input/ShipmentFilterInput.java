@@ -0,0 +1,17 @@
+package com.transport.tms.dto.input;
+
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import lombok.Data;
+
+@Data
+public class ShipmentFilterInput {
+    private ShipmentStatus status;
+    private String trackingNumber;
+    private String createdById;
+    private String driverId;
+    private String shipperCity;
+    private String consigneeCity;
+    private String search;
+    private VehicleType vehicleType;
+}
@@ -1,6 +1,7 @@
 package com.transport.tms.dto.input;
 
 import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -17,5 +18,6 @@ public class UpdateUserInput {
     private String lastName;
     private UserRole role;
     private String phone;
+    private VehicleType vehicleType;
     private Boolean isActive;
 }
@@ -0,0 +1,11 @@
+package com.transport.tms.dto.input;
+
+import com.transport.tms.model.UserRole;
+import lombok.Data;
+
+@Data
+public class UserFilterInput {
+    private UserRole role;
+    private Boolean isActive;
+    private String search;
+}
@@ -0,0 +1,35 @@
+package com.transport.tms.event;
+
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentFigures;
+
+/**
+ * Published by {@code ShipmentService} whenever a shipment is written.
+ *
+ * Listeners that maintain derived, in-memory state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * {@code before} holds the figures the shipment had when it was loaded, captured when the event
+ * is created because the entity's own snapshot is refreshed by the flush. It is {@code null}
+ * for creations and for shipments that were not loaded from the database.
+ */
+public record ShipmentChangedEvent(ChangeType type, Shipment shipment, ShipmentFigures before) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static ShipmentChangedEvent created(Shipment shipment) {
+        return new ShipmentChangedEvent(ChangeType.CREATED, shipment, null);
+    }
+
+    public static ShipmentChangedEvent updated(Shipment shipment) {
+        return new ShipmentChangedEvent(ChangeType.UPDATED, shipment, shipment.getPersistedFigures());
+    }
+
+    public static ShipmentChangedEvent deleted(Shipment shipment) {
+        return new ShipmentChangedEvent(ChangeType.DELETED, shipment, shipment.getPersistedFigures());
+    }
+}
@@ -0,0 +1,17 @@
+package com.transport.tms.event;
+
+import com.transport.tms.model.ShipmentStatus;
+
+import java.util.List;
+
+/**
+ * Published by {@code ShipmentBulkService} after a set-based status change. Only the status and
+ * driver columns change, so it carries ids, tracking numbers, weights and the statuses and drivers
+ * they were moved from (all index-aligned) rather than entities. A previous driver is {@code null}
+ * when there was none, and also when it was not read, which only happens for shipments leaving PENDING.
+ * {@code driverId} is the new driver, or {@code null} when drivers were left as they were.
+ */
+public record ShipmentsBulkUpdatedEvent(List<String> ids, List<String> trackingNumbers, List<Double> weights,
+                                        List<ShipmentStatus> previousStatuses, List<String> previousDriverIds,
+                                        ShipmentStatus status, String driverId) {
+}
@@ -0,0 +1,264 @@
+package com.transport.tms.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ZIP code centroids and a grid over them, for distances and radius searches without a geocoder.
+ *
+ * The centroid file ({@code tms.geo.zip-centroids}, one {@code zip,latitude,longitude} per line,
+ * or the Census Gazetteer ZCTA file as published, tab-separated with the internal point in the sixth
+ * and seventh columns) is read once at startup into primitive arrays. A 100,000-slot table maps a five-digit ZIP
+ * straight to its coordinates, so a distance costs two array reads per ZIP and a haversine. The
+ * grid buckets ZIPs by one-degree cell in compressed form, one offset array over the cells and one
+ * array of members, so a radius search visits only the cells its bounding box covers.
+ *
+ * A ZIP missing from the file falls back to the mean centroid of its three-digit prefix, when the
+ * file has any ZIP with that prefix; {@link #fallbackWithin} finds such ZIPs for a radius search.
+ * Distances are great-circle miles between centroids, not road miles.
+ */
+@Slf4j
+@Component
+public class ZipGeoIndex {
+
+    public static final double EARTH_RADIUS_MILES = 3_958.8;
+
+    private static final int ZIPS = 100_000;
+    private static final int PREFIXES = 1_000;
+    private static final int ROWS = 180;
+    private static final int COLUMNS = 360;
+    // A full national file has about 33,000 ZIPs; fewer than this is a seed or partial file
+    private static final int FEW_CENTROIDS = 5_000;
+
+    // Radians, NaN where the file has no centroid
+    private final float[] latitudes = new float[ZIPS];
+    private final float[] longitudes = new float[ZIPS];
+    private final float[] prefixLatitudes = new float[PREFIXES];
+    private final float[] prefixLongitudes = new float[PREFIXES];
+
+    // ZIPs of cell c are cellZips[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart = new int[ROWS * COLUMNS + 1];
+    private final int[] cellZips;
+
+    /**
+     * A ZIP found by {@link #within}, with its distance from the center
+     */
+    public record Nearby(String zip, double miles) {
+    }
+
+    @Autowired
+    public ZipGeoIndex(@Value("${tms.geo.zip-centroids:classpath:geo/zip-centroids.csv}") Resource centroids)
+            throws IOException {
+        Arrays.fill(latitudes, Float.NaN);
+        Arrays.fill(longitudes, Float.NaN);
+        int[] zips = read(centroids);
+
+        double[] latitudeSums = new double[PREFIXES];
+        double[] longitudeSums = new double[PREFIXES];
+        int[] prefixCounts = new int[PREFIXES];
+        for (int zip : zips) {
+            latitudeSums[zip / 100] += latitudes[zip];
+            longitudeSums[zip / 100] += longitudes[zip];
+            prefixCounts[zip / 100]++;
+            cellStart[cell(latitudes[zip], longitudes[zip]) + 1]++;
+        }
+        for (int prefix = 0; prefix < PREFIXES; prefix++) {
+            int count = prefixCounts[prefix];
+            prefixLatitudes[prefix] = count > 0 ? (float) (latitudeSums[prefix] / count) : Float.NaN;
+            prefixLongitudes[prefix] = count > 0 ? (float) (longitudeSums[prefix] / count) : Float.NaN;
+        }
+
+        for (int cell = 0; cell < ROWS * COLUMNS; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        int[] next = Arrays.copyOf(cellStart, cellStart.length);
+        cellZips = new int[zips.length];
+        for (int zip : zips) {
+            cellZips[next[cell(latitudes[zip], longitudes[zip])]++] = zip;
+        }
+        log.info("Loaded {} ZIP centroids from {}", zips.length, centroids.getDescription());
+        if (zips.length < FEW_CENTROIDS) {
+            log.warn("Only {} ZIP centroids loaded; most ZIPs will be placed by their three-digit prefix or not at all. "
+                    + "Point tms.geo.zip-centroids at a full centroid file", zips.length);
+        }
+    }
+
+    /**
+     * Great-circle miles between two ZIP centroids, or {@code null} when either ZIP is unknown
+     */
+    public Double distanceMiles(String fromZip, String toZip) {
+        int from = parse(fromZip);
+        int to = parse(toZip);
+        if (from < 0 || to < 0) return null;
+        float fromLatitude = latitude(from);
+        float toLatitude = latitude(to);
+        if (Float.isNaN(fromLatitude) || Float.isNaN(toLatitude)) return null;
+        return haversine(fromLatitude, longitude(from), toLatitude, longitude(to));
+    }
+
+    /**
+     * ZIPs of the file whose centroid lies within {@code radiusMiles} of the ZIP's, nearest first.
+     * Empty when the ZIP itself is unknown.
+     */
+    public List<Nearby> within(String zip, double radiusMiles) {
+        int center = parse(zip);
+        if (center < 0 || Float.isNaN(latitude(center))) return List.of();
+        float latitude = latitude(center);
+        float longitude = longitude(center);
+
+        double latitudeSpan = Math.toDegrees(radiusMiles / EARTH_RADIUS_MILES);
+        double cos = Math.cos(latitude);
+        double longitudeSpan = cos > 1e-6 ? Math.min(180, latitudeSpan / cos) : 180;
+        double latitudeDegrees = Math.toDegrees(latitude);
+        double longitudeDegrees = Math.toDegrees(longitude);
+        int rowFrom = row(latitudeDegrees - latitudeSpan);
+        int rowTo = row(latitudeDegrees + latitudeSpan);
+        int columnFrom = (int) Math.floor(longitudeDegrees - longitudeSpan + 180);
+        int columnTo = (int) Math.floor(longitudeDegrees + longitudeSpan + 180);
+        if (columnTo - columnFrom >= COLUMNS - 1) {
+            columnFrom = 0;
+            columnTo = COLUMNS - 1;
+        }
+
+        List<Nearby> found = new ArrayList<>();
+        for (int row = rowFrom; row <= rowTo; row++) {
+            for (int column = columnFrom; column <= columnTo; column++) {
+                int cell = row * COLUMNS + Math.floorMod(column, COLUMNS);
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int candidate = cellZips[i];
+                    double miles = haversine(latitude, longitude, latitudes[candidate], longitudes[candidate]);
+                    if (miles <= radiusMiles) found.add(new Nearby(format(candidate), miles));
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(Nearby::miles).thenComparing(Nearby::zip));
+        return found;
+    }
+
+    /**
+     * ZIPs missing from the file whose three-digit prefix centroid lies within {@code radiusMiles} of the
+     * ZIP's, nearest first, at the distance {@link #distanceMiles} gives them. Empty when the ZIP itself is unknown.
+     */
+    public List<Nearby> fallbackWithin(String zip, double radiusMiles) {
+        int center = parse(zip);
+        if (center < 0 || Float.isNaN(latitude(center))) return List.of();
+        float latitude = latitude(center);
+        float longitude = longitude(center);
+
+        List<Nearby> found = new ArrayList<>();
+        for (int prefix = 0; prefix < PREFIXES; prefix++) {
+            if (Float.isNaN(prefixLatitudes[prefix])) continue;
+            double miles = haversine(latitude, longitude, prefixLatitudes[prefix], prefixLongitudes[prefix]);
+            if (miles > radiusMiles) continue;
+            for (int candidate = prefix * 100; candidate < prefix * 100 + 100; candidate++) {
+                if (Float.isNaN(latitudes[candidate])) found.add(new Nearby(format(candidate), miles));
+            }
+        }
+        found.sort(Comparator.comparingDouble(Nearby::miles).thenComparing(Nearby::zip));
+        return found;
+    }
+
+    public int size() {
+        return cellZips.length;
+    }
+
+    /**
+     * The five-digit ZIP at the start of the value ({@code 80202} and {@code 80202-1234} alike), or -1
+     */
+    static int parse(String zip) {
+        if (zip == null || zip.length() < 5) return -1;
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            char c = zip.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return zip.length() == 5 || zip.charAt(5) == '-' ? value : -1;
+    }
+
+    private int[] read(Resource centroids) throws IOException {
+        int[] zips = new int[ZIPS];
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(centroids.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                // Comments and a header row
+                if (line.isBlank() || !Character.isDigit(line.charAt(0))) continue;
+                // Gazetteer rows: GEOID, land and water areas, then INTPTLAT and INTPTLONG
+                boolean gazetteer = line.indexOf('\t') >= 0;
+                String[] fields = gazetteer ? line.split("\t") : line.split(",");
+                int latitudeField = gazetteer ? 5 : 1;
+                boolean complete = gazetteer ? fields.length >= 7 : fields.length == 3;
+                int zip = complete ? parse(fields[0].trim()) : -1;
+                double latitude;
+                double longitude;
+                try {
+                    latitude = complete ? Double.parseDouble(fields[latitudeField].trim()) : Double.NaN;
+                    longitude = complete ? Double.parseDouble(fields[latitudeField + 1].trim()) : Double.NaN;
+                } catch (NumberFormatException e) {
+                    latitude = Double.NaN;
+                    longitude = Double.NaN;
+                }
+                if (zip < 0 || !(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+                    throw new RuntimeException("Bad ZIP centroid on line " + lineNumber + " of "
+                            + centroids.getDescription() + ": " + line);
+                }
+                if (Float.isNaN(latitudes[zip])) zips[count++] = zip;
+                latitudes[zip] = (float) Math.toRadians(latitude);
+                longitudes[zip] = (float) Math.toRadians(longitude);
+            }
+        }
+        return Arrays.copyOf(zips, count);
+    }
+
+    private float latitude(int zip) {
+        float latitude = latitudes[zip];
+        return Float.isNaN(latitude) ? prefixLatitudes[zip / 100] : latitude;
+    }
+
+    private float longitude(int zip) {
+        float longitude = longitudes[zip];
+        return Float.isNaN(longitude) ? prefixLongitudes[zip / 100] : longitude;
+    }
+
+    private static int cell(float latitude, float longitude) {
+        int column = Math.floorMod((int) Math.floor(Math.toDegrees(longitude) + 180), COLUMNS);
+        return row(Math.toDegrees(latitude)) * COLUMNS + column;
+    }
+
+    private static int row(double latitudeDegrees) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor(latitudeDegrees + 90)));
+    }
+
+    private static double haversine(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLatitude = Math.sin((latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin((longitude2 - longitude1) / 2);
+        double a = sinLatitude * sinLatitude
+                + Math.cos(latitude1) * Math.cos(latitude2) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_MILES * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static String format(int zip) {
+        char[] digits = new char[5];
+        for (int i = 4; i >= 0; i--) {
+            digits[i] = (char) ('0' + zip % 10);
+            zip /= 10;
+        }
+        return new String(digits);
+    }
+}
@@ -13,7 +13,7 @@ public interface ShipmentMapper {
      * Map CreateShipmentInput to Shipment entity
      */
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "trackingNumber", ignore = true) // Generated by @PrePersist
+    @Mapping(target = "trackingNumber", ignore = true) // Issued by ShipmentService
     @Mapping(target = "status", constant = "PENDING")
     @Mapping(target = "actualRate", ignore = true)
     @Mapping(target = "deliveryDate", ignore = true)
@@ -21,6 +21,10 @@ public interface ShipmentMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "driverId", ignore = true)
     @Mapping(target = "driver", ignore = true)
+    @Mapping(target = "flagged", ignore = true) // Set through flagShipment only
+    @Mapping(target = "flagReason", ignore = true)
+    @Mapping(target = "flaggedAt", ignore = true)
+    @Mapping(target = "flaggedById", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Shipment toEntity(CreateShipmentInput input);
@@ -57,6 +61,10 @@ public interface ShipmentMapper {
     @Mapping(target = "createdBy", ignore = true)
     @Mapping(target = "driverId", ignore = true)
     @Mapping(target = "driver", ignore = true)
+    @Mapping(target = "flagged", ignore = true) // Set through flagShipment only
+    @Mapping(target = "flagReason", ignore = true)
+    @Mapping(target = "flaggedAt", ignore = true)
+    @Mapping(target = "flaggedById", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
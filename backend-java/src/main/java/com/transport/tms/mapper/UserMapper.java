@@ -18,6 +18,7 @@ public interface UserMapper {
     @Mapping(target = "isActive", constant = "true")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "vehicleType", ignore = true) // Set by an admin once the driver is onboarded
     User toEntity(RegisterInput input);
 
     /**
@@ -0,0 +1,25 @@
+package com.transport.tms.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The point up to which an incremental job has processed changes
+ */
+@Entity
+@Table(name = "job_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobWatermark {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Instant watermark;
+}
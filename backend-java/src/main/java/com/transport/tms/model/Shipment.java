@@ -1,15 +1,18 @@
 package com.transport.tms.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.UUID;
 
 @Entity
 @Table(name = "shipments")
@@ -19,9 +22,10 @@ import java.util.UUID;
 public class Shipment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private String id;
 
+    // Issued by ShipmentService through the TrackingNumberGenerator
     @Column(unique = true, nullable = false)
     private String trackingNumber;
 
@@ -106,19 +110,36 @@ public class Shipment {
     @Column(nullable = false)
     private String createdById;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Resolved in batches by the GraphQL layer, never loaded with the row
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "createdById", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User createdBy;
 
     private String driverId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Resolved in batches by the GraphQL layer, never loaded with the row
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "driverId", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User driver;
 
     @Column(length = 2000)
     private String notes;
 
+    // Review queue; flaggedShipments reads it through an index on (flaggedAt, id) of flagged rows
+    @Column(nullable = false)
+    private Boolean flagged = false;
+
+    @Column(length = 500)
+    private String flagReason;
+
+    private Instant flaggedAt;
+
+    private String flaggedById;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -127,10 +148,22 @@ public class Shipment {
     @Column(nullable = false)
     private Instant updatedAt;
 
-    @PrePersist
-    public void generateTrackingNumber() {
-        if (trackingNumber == null) {
-            trackingNumber = UUID.randomUUID().toString().replace("-", "");
-        }
+    // Figures as last read from or written to the database, so a change can be validated,
+    // journaled and applied to the in-memory counters as a delta
+    @Transient
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ShipmentFigures persistedFigures;
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedFigures() {
+        persistedFigures = ShipmentFigures.of(this);
+    }
+
+    public ShipmentStatus getPersistedStatus() {
+        return persistedFigures != null ? persistedFigures.status() : null;
     }
 }
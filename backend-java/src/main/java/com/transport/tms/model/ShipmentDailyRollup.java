@@ -0,0 +1,55 @@
+package com.transport.tms.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the shipments created on one UTC day, per status, vehicle type and pair of states.
+ *
+ * Rows are never updated: {@code ShipmentRollupJob} replaces every row of a day at once.
+ */
+@Entity
+@Table(name = "shipment_daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentDailyRollup {
+
+    @Id
+    @TimeOrderedUuid
+    private String id;
+
+    @Column(nullable = false)
+    private LocalDate createdOn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ShipmentStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VehicleType vehicleType;
+
+    @Column(nullable = false)
+    private String shipperState;
+
+    @Column(nullable = false)
+    private String consigneeState;
+
+    @Column(nullable = false)
+    private Long shipments;
+
+    @Column(nullable = false)
+    private Double totalWeight;
+
+    @Column(nullable = false)
+    private Long estimatedRateCents;
+
+    // Actual rate where known, otherwise the estimate
+    @Column(nullable = false)
+    private Long revenueCents;
+}
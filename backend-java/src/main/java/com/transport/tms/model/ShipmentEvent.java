@@ -0,0 +1,50 @@
+package com.transport.tms.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One status change of a shipment, appended in the transaction that made it and never updated.
+ *
+ * There is deliberately no foreign key to shipments: the journal outlives deleted shipments.
+ * Ids are time-ordered, so readers can page through the journal by id as an incremental feed.
+ */
+@Entity
+@Table(name = "shipment_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShipmentEvent {
+
+    @Id
+    @TimeOrderedUuid
+    private String id;
+
+    @Column(nullable = false, updatable = false)
+    private String shipmentId;
+
+    // Null for the event that records the shipment's creation
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private ShipmentStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private ShipmentStatus toStatus;
+
+    // The driver this change assigned, if it was an assignment
+    @Column(updatable = false)
+    private String driverId;
+
+    @Column(nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    public static ShipmentEvent of(String shipmentId, ShipmentStatus fromStatus, ShipmentStatus toStatus,
+                                   String driverId, Instant occurredAt) {
+        return new ShipmentEvent(null, shipmentId, fromStatus, toStatus, driverId, occurredAt);
+    }
+}
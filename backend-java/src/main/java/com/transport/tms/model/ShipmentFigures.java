@@ -0,0 +1,21 @@
+package com.transport.tms.model;
+
+/**
+ * The columns the in-memory counters are derived from, with rates in cents so sums stay exact.
+ * Revenue is the actual rate once known, otherwise the estimate.
+ */
+public record ShipmentFigures(ShipmentStatus status, VehicleType vehicleType, String driverId, double weight,
+                              long estimatedRateCents, long revenueCents) {
+
+    public static ShipmentFigures of(Shipment shipment) {
+        long estimated = cents(shipment.getEstimatedRate());
+        long revenue = shipment.getActualRate() != null ? cents(shipment.getActualRate()) : estimated;
+        double weight = shipment.getWeight() != null ? shipment.getWeight() : 0;
+        return new ShipmentFigures(shipment.getStatus(), shipment.getVehicleType(), shipment.getDriverId(), weight,
+                estimated, revenue);
+    }
+
+    public static long cents(Double amount) {
+        return amount == null ? 0 : Math.round(amount * 100);
+    }
+}
@@ -1,10 +1,62 @@
 package com.transport.tms.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum ShipmentStatus {
     PENDING,
     ASSIGNED,
     PICKED_UP,
     IN_TRANSIT,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    // Transition table, built once: status -> statuses it may move to. Nothing moves back to PENDING.
+    private static final Map<ShipmentStatus, Set<ShipmentStatus>> TARGETS = new EnumMap<>(ShipmentStatus.class);
+
+    private static final Map<ShipmentStatus, Set<ShipmentStatus>> SOURCES = new EnumMap<>(ShipmentStatus.class);
+
+    static {
+        allow(PENDING, ASSIGNED, CANCELLED);
+        allow(ASSIGNED, ASSIGNED, PICKED_UP, CANCELLED);
+        allow(PICKED_UP, IN_TRANSIT, DELIVERED);
+        allow(IN_TRANSIT, DELIVERED);
+        allow(DELIVERED);
+        allow(CANCELLED);
+
+        for (ShipmentStatus target : values()) {
+            EnumSet<ShipmentStatus> sources = EnumSet.noneOf(ShipmentStatus.class);
+            TARGETS.forEach((source, targets) -> {
+                if (targets.contains(target)) sources.add(source);
+            });
+            SOURCES.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+
+    private static void allow(ShipmentStatus source, ShipmentStatus... targets) {
+        EnumSet<ShipmentStatus> set = EnumSet.noneOf(ShipmentStatus.class);
+        Collections.addAll(set, targets);
+        TARGETS.put(source, Collections.unmodifiableSet(set));
+    }
+
+    /**
+     * Statuses a shipment may be moved to this status from
+     */
+    public Set<ShipmentStatus> allowedSources() {
+        return SOURCES.get(this);
+    }
+
+    /**
+     * Statuses a shipment in this status may be moved to
+     */
+    public Set<ShipmentStatus> allowedTargets() {
+        return TARGETS.get(this);
+    }
+
+    public boolean canMoveTo(ShipmentStatus target) {
+        return TARGETS.get(this).contains(target);
+    }
 }
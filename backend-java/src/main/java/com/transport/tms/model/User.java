@@ -17,7 +17,7 @@ import java.time.Instant;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private String id;
 
     @Column(unique = true, nullable = false)
@@ -41,6 +41,10 @@ public class User {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Drivers only: the vehicle they operate, or null if they can take any
+    @Enumerated(EnumType.STRING)
+    private VehicleType vehicleType;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
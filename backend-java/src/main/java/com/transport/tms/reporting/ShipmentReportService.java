@@ -0,0 +1,149 @@
+package com.transport.tms.reporting;
+
+import com.transport.tms.dto.ReportDimension;
+import com.transport.tms.dto.ShipmentReport;
+import com.transport.tms.dto.ShipmentReportRow;
+import com.transport.tms.model.JobWatermark;
+import com.transport.tms.model.ShipmentDailyRollup;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.JobWatermarkRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code shipmentReport}: totals over a date range, read from the daily rollups only.
+ *
+ * The rollups are grouped in the database by the requested dimensions, plus the day when a
+ * period is requested; days are then folded into weeks or months here, which is cheap because
+ * there is at most one row per day and group.
+ */
+@Service
+public class ShipmentReportService {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final Comparator<ShipmentReportRow> ROW_ORDER = Comparator
+            .comparing(ShipmentReportRow::getPeriod, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(ShipmentReportRow::getStatus, Comparator.nullsFirst(Comparator.<ShipmentStatus>naturalOrder()))
+            .thenComparing(ShipmentReportRow::getVehicleType, Comparator.nullsFirst(Comparator.<VehicleType>naturalOrder()))
+            .thenComparing(ShipmentReportRow::getShipperState, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(ShipmentReportRow::getConsigneeState, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    @Autowired
+    private JobWatermarkRepository watermarkRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ShipmentReport report(LocalDate from, LocalDate to, List<ReportDimension> groupBy) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Report range ends before it starts: " + from + " to " + to);
+        }
+        Set<ReportDimension> dimensions = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(ReportDimension.class) : EnumSet.copyOf(groupBy);
+        List<ReportDimension> periods = dimensions.stream().filter(ReportDimension::isPeriod).toList();
+        if (periods.size() > 1) {
+            throw new RuntimeException("A report can be grouped by one period only, got " + periods);
+        }
+        ReportDimension period = periods.isEmpty() ? null : periods.get(0);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ShipmentDailyRollup> rollup = query.from(ShipmentDailyRollup.class);
+
+        List<Expression<?>> keys = new ArrayList<>();
+        if (period != null) keys.add(key(rollup, "createdOn"));
+        if (dimensions.contains(ReportDimension.STATUS)) keys.add(key(rollup, "status"));
+        if (dimensions.contains(ReportDimension.VEHICLE_TYPE)) keys.add(key(rollup, "vehicleType"));
+        if (dimensions.contains(ReportDimension.SHIPPER_STATE)) keys.add(key(rollup, "shipperState"));
+        if (dimensions.contains(ReportDimension.CONSIGNEE_STATE)) keys.add(key(rollup, "consigneeState"));
+
+        List<Selection<?>> selections = new ArrayList<>(keys);
+        selections.add(cb.sum(rollup.<Long>get("shipments")).alias("shipments"));
+        selections.add(cb.sum(rollup.<Double>get("totalWeight")).alias("totalWeight"));
+        selections.add(cb.sum(rollup.<Long>get("estimatedRateCents")).alias("estimatedRateCents"));
+        selections.add(cb.sum(rollup.<Long>get("revenueCents")).alias("revenueCents"));
+        query.multiselect(selections)
+                .where(cb.between(rollup.<LocalDate>get("createdOn"), from, to))
+                .groupBy(keys);
+
+        Map<List<Object>, Totals> groups = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            // An ungrouped report over days without rollups still yields one row of nulls
+            if (tuple.get("shipments") == null) continue;
+            String label = period != null ? label(period, value(tuple, "createdOn", LocalDate.class)) : null;
+            ShipmentStatus status = value(tuple, "status", ShipmentStatus.class);
+            VehicleType vehicleType = value(tuple, "vehicleType", VehicleType.class);
+            String shipperState = value(tuple, "shipperState", String.class);
+            String consigneeState = value(tuple, "consigneeState", String.class);
+            groups.computeIfAbsent(Arrays.asList(label, status, vehicleType, shipperState, consigneeState),
+                            key -> new Totals())
+                    .add(tuple);
+        }
+
+        List<ShipmentReportRow> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, totals) -> rows.add(new ShipmentReportRow((String) key.get(0),
+                (ShipmentStatus) key.get(1), (VehicleType) key.get(2), (String) key.get(3), (String) key.get(4),
+                totals.shipments, totals.totalWeight, totals.estimatedRateCents / 100.0, totals.revenueCents / 100.0)));
+        rows.sort(ROW_ORDER);
+
+        return new ShipmentReport(from, to, rows, watermarkRepository.findById(ShipmentRollupJob.WATERMARK)
+                .map(JobWatermark::getWatermark).orElse(null));
+    }
+
+    private static String label(ReportDimension period, LocalDate day) {
+        return switch (period) {
+            case WEEK -> String.format("%d-W%02d",
+                    day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTH -> MONTH.format(day);
+            default -> day.toString();
+        };
+    }
+
+    private static Path<Object> key(Root<ShipmentDailyRollup> rollup, String attribute) {
+        Path<Object> path = rollup.get(attribute);
+        path.alias(attribute);
+        return path;
+    }
+
+    private static <T> T value(Tuple tuple, String alias, Class<T> type) {
+        boolean selected = tuple.getElements().stream().anyMatch(element -> alias.equals(element.getAlias()));
+        return selected ? tuple.get(alias, type) : null;
+    }
+
+    private static final class Totals {
+        private long shipments;
+        private double totalWeight;
+        private long estimatedRateCents;
+        private long revenueCents;
+
+        void add(Tuple tuple) {
+            shipments += tuple.get("shipments", Number.class).longValue();
+            totalWeight += tuple.get("totalWeight", Number.class).doubleValue();
+            estimatedRateCents += tuple.get("estimatedRateCents", Number.class).longValue();
+            revenueCents += tuple.get("revenueCents", Number.class).longValue();
+        }
+    }
+}
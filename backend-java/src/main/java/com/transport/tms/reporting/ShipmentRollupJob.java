@@ -0,0 +1,133 @@
+package com.transport.tms.reporting;
+
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.model.JobWatermark;
+import com.transport.tms.model.ShipmentDailyRollup;
+import com.transport.tms.repository.JobWatermarkRepository;
+import com.transport.tms.repository.ShipmentDailyRollupRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@link ShipmentDailyRollup}s in step with the shipments table.
+ *
+ * Every {@code tms.reporting.rollup-interval} the job finds the shipments written since its
+ * watermark and rebuilds the days they were created on, one grouped query and one transaction
+ * per day. A shipment never changes day, so rebuilding its day also takes it out of the group
+ * it used to count towards. The first run, without a watermark, builds every day.
+ *
+ * Changes up to {@code tms.reporting.rollup-overlap} older than the watermark are read again,
+ * so a transaction that stamped {@code updatedAt} before the last run but committed after it is
+ * not missed. Deletions leave no {@code updatedAt} behind; their days are remembered in memory
+ * until the next run.
+ */
+@Slf4j
+@Component
+public class ShipmentRollupJob {
+
+    public static final String WATERMARK = "shipment_daily_rollups";
+
+    public static final ZoneOffset ZONE = ZoneOffset.UTC;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private JobWatermarkRepository watermarkRepository;
+
+    @Value("${tms.reporting.rollup-overlap:5m}")
+    private Duration overlap;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Set<LocalDate> deletedOn = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ShipmentRollupJob(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        if (event.type() == ShipmentChangedEvent.ChangeType.DELETED && event.shipment().getCreatedAt() != null) {
+            deletedOn.add(day(event.shipment().getCreatedAt()));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tms.reporting.rollup-interval:5m}",
+            fixedDelayString = "${tms.reporting.rollup-interval:5m}")
+    public synchronized void refresh() {
+        Instant until = Instant.now();
+        Optional<Instant> watermark = watermarkRepository.findById(WATERMARK).map(JobWatermark::getWatermark);
+
+        SortedSet<LocalDate> days = new TreeSet<>();
+        if (watermark.isPresent()) {
+            shipmentRepository.findCreatedAtOfUpdated(watermark.get().minus(overlap), until)
+                    .forEach(createdAt -> days.add(day(createdAt)));
+        } else {
+            Instant earliest = shipmentRepository.findEarliestCreatedAt();
+            if (earliest != null) {
+                for (LocalDate day = day(earliest); !day.isAfter(day(until)); day = day.plusDays(1)) {
+                    days.add(day);
+                }
+            }
+        }
+        List<LocalDate> deleted = new ArrayList<>(deletedOn);
+        deletedOn.removeAll(deleted);
+        days.addAll(deleted);
+
+        try {
+            for (LocalDate day : days) {
+                transactionTemplate.executeWithoutResult(status -> rebuild(day));
+            }
+        } catch (RuntimeException e) {
+            // The watermark stays put, so changed days are found again; deleted ones have to be kept
+            deletedOn.addAll(deleted);
+            throw e;
+        }
+        watermarkRepository.save(new JobWatermark(WATERMARK, until));
+
+        if (!days.isEmpty()) {
+            log.info("Rebuilt shipment rollups for {} day(s) from {} to {}", days.size(), days.first(), days.last());
+        }
+    }
+
+    private void rebuild(LocalDate day) {
+        rollupRepository.deleteByCreatedOn(day);
+        Instant from = day.atStartOfDay(ZONE).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(ZONE).toInstant();
+        List<ShipmentDailyRollup> rollups = shipmentRepository.aggregateRollups(from, to).stream()
+                .map(row -> new ShipmentDailyRollup(null, day, row.getStatus(), row.getVehicleType(),
+                        row.getShipperState(), row.getConsigneeState(), row.getShipments(), row.getTotalWeight(),
+                        Math.round(row.getEstimatedRateCents().doubleValue()),
+                        Math.round(row.getRevenueCents().doubleValue())))
+                .toList();
+        rollupRepository.saveAll(rollups);
+    }
+
+    public static LocalDate day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZONE);
+    }
+}
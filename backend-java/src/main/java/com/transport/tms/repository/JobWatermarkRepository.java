@@ -0,0 +1,9 @@
+package com.transport.tms.repository;
+
+import com.transport.tms.model.JobWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobWatermarkRepository extends JpaRepository<JobWatermark, String> {
+}
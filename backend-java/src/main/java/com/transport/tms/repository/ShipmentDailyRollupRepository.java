@@ -0,0 +1,18 @@
+package com.transport.tms.repository;
+
+import com.transport.tms.model.ShipmentDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ShipmentDailyRollupRepository extends JpaRepository<ShipmentDailyRollup, String> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ShipmentDailyRollup r where r.createdOn = :createdOn")
+    int deleteByCreatedOn(@Param("createdOn") LocalDate createdOn);
+}
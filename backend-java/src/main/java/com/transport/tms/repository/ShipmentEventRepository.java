@@ -0,0 +1,27 @@
+package com.transport.tms.repository;
+
+import com.transport.tms.model.ShipmentEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ShipmentEventRepository extends JpaRepository<ShipmentEvent, String> {
+
+    /**
+     * Timelines of the given shipments, oldest event first
+     */
+    @Query("select e from ShipmentEvent e where e.shipmentId in :shipmentIds order by e.occurredAt, e.id")
+    List<ShipmentEvent> findTimelines(@Param("shipmentIds") Collection<String> shipmentIds);
+
+    /**
+     * Events after the given id, in id order: the incremental feed for aggregations
+     */
+    @Query("select e from ShipmentEvent e where e.id > :afterId order by e.id")
+    List<ShipmentEvent> findAfter(@Param("afterId") String afterId, Pageable pageable);
+}
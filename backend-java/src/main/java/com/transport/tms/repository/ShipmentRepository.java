@@ -1,14 +1,272 @@
 package com.transport.tms.repository;
 
 import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.search.SearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ShipmentRepository extends JpaRepository<Shipment, String>, JpaSpecificationExecutor<Shipment> {
 
     Optional<Shipment> findByTrackingNumber(String trackingNumber);
+
+    List<Shipment> findByDriverIdAndStatusIn(String driverId, Collection<ShipmentStatus> statuses);
+
+    /**
+     * Searchable columns of the shipments after the given id, in id order, for rebuilding the search index
+     */
+    @Query("""
+            select new com.transport.tms.search.SearchDocument(
+                s.id, s.trackingNumber, s.shipperName, s.shipperCity, s.shipperZip,
+                s.consigneeName, s.consigneeCity, s.consigneeZip, s.cargoDescription)
+            from Shipment s
+            where s.id > :afterId
+            order by s.id
+            """)
+    List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") String afterId, Pageable pageable);
+
+    /**
+     * Id, tracking number, status, driver and weight of the given shipments, without loading entities
+     */
+    @Query("""
+            select s.id as id, s.trackingNumber as trackingNumber, s.status as status,
+                   s.driverId as driverId, s.weight as weight
+            from Shipment s
+            where s.id in :ids
+            """)
+    List<StatusRow> findStatusRows(@Param("ids") Collection<String> ids);
+
+    /**
+     * Id and shipper ZIP of the shipments picked up in one of the ZIPs
+     */
+    /**
+     * Shipments whose shipper ZIP starts with one of the five-digit ZIPs, ZIP+4 values included.
+     * {@code left(shipperZip, 5)} is what the PostgreSQL expression index covers.
+     */
+    @Query("select s.id as id, left(s.shipperZip, 5) as shipperZip5 from Shipment s where left(s.shipperZip, 5) in :zips")
+    List<ShipperZipRow> findShipperZipRows(@Param("zips") Collection<String> zips, Pageable pageable);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update Shipment s set s.status = :status, s.updatedAt = :now
+            where s.id in :ids and s.status in :allowed
+            """)
+    int updateStatus(@Param("ids") Collection<String> ids, @Param("status") ShipmentStatus status,
+                     @Param("allowed") Collection<ShipmentStatus> allowed, @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            update Shipment s set s.driverId = :driverId, s.status = :status, s.updatedAt = :now
+            where s.id in :ids and s.status in :allowed
+            """)
+    int assignDriver(@Param("ids") Collection<String> ids, @Param("driverId") String driverId,
+                     @Param("status") ShipmentStatus status,
+                     @Param("allowed") Collection<ShipmentStatus> allowed, @Param("now") Instant now);
+
+    /**
+     * Count and rate sums in cents per (status, vehicle type); at most one row per combination
+     */
+    @Query("""
+            select s.status as status, s.vehicleType as vehicleType, count(s) as shipments,
+                   sum(round(s.estimatedRate * 100, 0)) as estimatedRateCents,
+                   sum(round(coalesce(s.actualRate, s.estimatedRate) * 100, 0)) as revenueCents
+            from Shipment s
+            group by s.status, s.vehicleType
+            """)
+    List<FiguresRow> aggregateFigures();
+
+    /**
+     * What the assignment engine needs of shipments in the status, earliest pickup first
+     */
+    @Query("""
+            select s.id as id, s.trackingNumber as trackingNumber, s.vehicleType as vehicleType,
+                   s.shipperState as shipperState, s.consigneeState as consigneeState, s.pickupDate as pickupDate,
+                   s.weight as weight
+            from Shipment s
+            where s.status = :status
+            order by s.pickupDate, s.id
+            """)
+    List<AssignmentRow> findAssignmentRows(@Param("status") ShipmentStatus status, Pageable pageable);
+
+    /**
+     * What the consolidation planner needs of shipments in the status and one of the vehicle types,
+     * earliest pickup first
+     */
+    @Query("""
+            select s.id as id, s.trackingNumber as trackingNumber, s.vehicleType as vehicleType,
+                   s.shipperCity as shipperCity, s.shipperState as shipperState,
+                   s.consigneeCity as consigneeCity, s.consigneeState as consigneeState,
+                   s.pickupDate as pickupDate, s.weight as weight, s.dimensions as dimensions
+            from Shipment s
+            where s.status = :status and s.vehicleType in :vehicleTypes
+            order by s.pickupDate, s.id
+            """)
+    List<ConsolidationRow> findConsolidationRows(@Param("status") ShipmentStatus status,
+                                                 @Param("vehicleTypes") Collection<VehicleType> vehicleTypes,
+                                                 Pageable pageable);
+
+    /**
+     * Lane of every shipment a driver is carrying in one of the statuses
+     */
+    @Query("""
+            select s.driverId as driverId, s.shipperState as shipperState, s.consigneeState as consigneeState
+            from Shipment s
+            where s.driverId is not null and s.status in :statuses
+            """)
+    List<DriverLaneRow> findDriverLanes(@Param("statuses") Collection<ShipmentStatus> statuses);
+
+    /**
+     * Count and total weight in hundredths of the shipments each driver carries in one of the statuses
+     */
+    @Query("""
+            select s.driverId as driverId, count(s) as shipments,
+                   sum(round(s.weight * 100, 0)) as weightHundredths
+            from Shipment s
+            where s.driverId is not null and s.status in :statuses
+            group by s.driverId
+            """)
+    List<DriverLoadRow> aggregateDriverLoads(@Param("statuses") Collection<ShipmentStatus> statuses);
+
+    @Query("select min(s.createdAt) from Shipment s")
+    Instant findEarliestCreatedAt();
+
+    /**
+     * Creation times of the shipments written in {@code (since, until]}, to find the days they count towards
+     */
+    @Query("select s.createdAt from Shipment s where s.updatedAt > :since and s.updatedAt <= :until")
+    List<Instant> findCreatedAtOfUpdated(@Param("since") Instant since, @Param("until") Instant until);
+
+    /**
+     * Count, weight and rate sums in cents of the shipments created in {@code [from, to)},
+     * per (status, vehicle type, shipper state, consignee state)
+     */
+    @Query("""
+            select s.status as status, s.vehicleType as vehicleType,
+                   s.shipperState as shipperState, s.consigneeState as consigneeState,
+                   count(s) as shipments, sum(s.weight) as totalWeight,
+                   sum(round(s.estimatedRate * 100, 0)) as estimatedRateCents,
+                   sum(round(coalesce(s.actualRate, s.estimatedRate) * 100, 0)) as revenueCents
+            from Shipment s
+            where s.createdAt >= :from and s.createdAt < :to
+            group by s.status, s.vehicleType, s.shipperState, s.consigneeState
+            """)
+    List<RollupRow> aggregateRollups(@Param("from") Instant from, @Param("to") Instant to);
+
+    interface StatusRow {
+        String getId();
+
+        String getTrackingNumber();
+
+        ShipmentStatus getStatus();
+
+        String getDriverId();
+
+        Double getWeight();
+    }
+
+    interface ShipperZipRow {
+        String getId();
+
+        String getShipperZip5();
+    }
+
+    interface AssignmentRow {
+        String getId();
+
+        String getTrackingNumber();
+
+        VehicleType getVehicleType();
+
+        String getShipperState();
+
+        String getConsigneeState();
+
+        LocalDate getPickupDate();
+
+        Double getWeight();
+    }
+
+    interface ConsolidationRow {
+        String getId();
+
+        String getTrackingNumber();
+
+        VehicleType getVehicleType();
+
+        String getShipperCity();
+
+        String getShipperState();
+
+        String getConsigneeCity();
+
+        String getConsigneeState();
+
+        LocalDate getPickupDate();
+
+        Double getWeight();
+
+        String getDimensions();
+    }
+
+    interface DriverLaneRow {
+        String getDriverId();
+
+        String getShipperState();
+
+        String getConsigneeState();
+    }
+
+    interface DriverLoadRow {
+        String getDriverId();
+
+        Long getShipments();
+
+        // Double or BigDecimal depending on the dialect
+        Number getWeightHundredths();
+    }
+
+    interface FiguresRow {
+        ShipmentStatus getStatus();
+
+        VehicleType getVehicleType();
+
+        Long getShipments();
+
+        // Double or BigDecimal depending on the dialect
+        Number getEstimatedRateCents();
+
+        Number getRevenueCents();
+    }
+
+    interface RollupRow {
+        ShipmentStatus getStatus();
+
+        VehicleType getVehicleType();
+
+        String getShipperState();
+
+        String getConsigneeState();
+
+        Long getShipments();
+
+        Double getTotalWeight();
+
+        // Double or BigDecimal depending on the dialect
+        Number getEstimatedRateCents();
+
+        Number getRevenueCents();
+    }
 }
@@ -0,0 +1,143 @@
+package com.transport.tms.repository;
+
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.search.SearchDocument;
+import com.transport.tms.search.ShipmentSearchIndex;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Composable predicates for {@link ShipmentRepository}.
+ *
+ * Every predicate but {@link #matchesSearch} is an equality or a left-anchored LIKE on a plain
+ * column, so the database can answer it from an index instead of scanning the table.
+ * Blank filter values are ignored.
+ */
+public final class ShipmentSpecifications {
+
+    static final char LIKE_ESCAPE = '\\';
+
+    private ShipmentSpecifications() {
+    }
+
+    /**
+     * Combine every populated field of the filter into a single specification
+     */
+    public static Specification<Shipment> fromFilter(ShipmentFilterInput filter) {
+        return fromFilter(filter, term -> null);
+    }
+
+    /**
+     * Like {@link #fromFilter(ShipmentFilterInput)}, but the search term is first offered to
+     * {@code searchIndex}. If it returns the matching ids, search becomes an id IN list;
+     * if it returns {@code null}, search falls back to {@link #matchesSearch}.
+     */
+    public static Specification<Shipment> fromFilter(ShipmentFilterInput filter,
+                                                     Function<String, Collection<String>> searchIndex) {
+        List<Specification<Shipment>> specs = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getStatus() != null) specs.add(hasStatus(filter.getStatus()));
+            if (hasText(filter.getTrackingNumber())) specs.add(hasTrackingNumber(filter.getTrackingNumber()));
+            if (hasText(filter.getCreatedById())) specs.add(createdBy(filter.getCreatedById()));
+            if (hasText(filter.getDriverId())) specs.add(assignedTo(filter.getDriverId()));
+            if (filter.getVehicleType() != null) specs.add(hasVehicleType(filter.getVehicleType()));
+            if (hasText(filter.getShipperCity())) specs.add(shipperCity(filter.getShipperCity()));
+            if (hasText(filter.getConsigneeCity())) specs.add(consigneeCity(filter.getConsigneeCity()));
+            if (hasText(filter.getSearch())) {
+                Collection<String> ids = searchIndex.apply(filter.getSearch());
+                specs.add(ids != null ? hasIdIn(ids) : matchesSearch(filter.getSearch()));
+            }
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Shipment> hasIdIn(Collection<String> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    public static Specification<Shipment> hasStatus(ShipmentStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Shipment> hasTrackingNumber(String trackingNumber) {
+        return (root, query, cb) -> cb.equal(root.get("trackingNumber"), trackingNumber.trim());
+    }
+
+    public static Specification<Shipment> createdBy(String userId) {
+        return (root, query, cb) -> cb.equal(root.get("createdById"), userId);
+    }
+
+    public static Specification<Shipment> assignedTo(String driverId) {
+        return (root, query, cb) -> cb.equal(root.get("driverId"), driverId);
+    }
+
+    public static Specification<Shipment> hasVehicleType(VehicleType vehicleType) {
+        return (root, query, cb) -> cb.equal(root.get("vehicleType"), vehicleType);
+    }
+
+    public static Specification<Shipment> isFlagged() {
+        return (root, query, cb) -> cb.isTrue(root.get("flagged"));
+    }
+
+    public static Specification<Shipment> shipperCity(String city) {
+        return (root, query, cb) -> cb.equal(root.get("shipperCity"), city.trim());
+    }
+
+    public static Specification<Shipment> consigneeCity(String city) {
+        return (root, query, cb) -> cb.equal(root.get("consigneeCity"), city.trim());
+    }
+
+    /**
+     * The search index's rules in SQL, for terms the index does not answer: every word of the term
+     * must occur, in lower case, in one of the {@link SearchDocument#FIELDS}. Words of three or more
+     * characters match anywhere; shorter ones only at the start of the field or after a space.
+     * The leading wildcard rules out an index, which is acceptable for a term that matches more rows
+     * than {@link ShipmentSearchIndex#MAX_FILTER_MATCHES} or while the index is still being built.
+     */
+    public static Specification<Shipment> matchesSearch(String term) {
+        List<String> words = ShipmentSearchIndex.words(term);
+        return (root, query, cb) -> {
+            if (words.isEmpty()) return cb.disjunction();
+            List<Predicate> everyWord = new ArrayList<>(words.size());
+            for (String word : words) {
+                String escaped = escapeLike(word);
+                List<Predicate> anyField = new ArrayList<>();
+                for (String field : SearchDocument.FIELDS) {
+                    Expression<String> value = cb.lower(root.get(field));
+                    if (word.length() >= 3) {
+                        anyField.add(cb.like(value, "%" + escaped + "%", LIKE_ESCAPE));
+                    } else {
+                        anyField.add(cb.like(value, escaped + "%", LIKE_ESCAPE));
+                        anyField.add(cb.like(value, "% " + escaped + "%", LIKE_ESCAPE));
+                    }
+                }
+                everyWord.add(cb.or(anyField.toArray(Predicate[]::new)));
+            }
+            return cb.and(everyWord.toArray(Predicate[]::new));
+        };
+    }
+
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
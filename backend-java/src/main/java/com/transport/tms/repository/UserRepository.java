@@ -2,8 +2,11 @@ package com.transport.tms.repository;
 
 import com.transport.tms.model.User;
 import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,4 +20,22 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
     List<User> findByRole(UserRole role);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Id and vehicle type of the active users in the role, without loading entities
+     */
+    @Query("select u.id as id, u.vehicleType as vehicleType from User u where u.role = :role and u.isActive = true")
+    List<VehicleRow> findActiveVehicleRows(@Param("role") UserRole role);
+
+    /**
+     * Whether the user exists, is active and has the role
+     */
+    @Query("select count(u) > 0 from User u where u.id = :id and u.role = :role and u.isActive = true")
+    boolean isActiveInRole(@Param("id") String id, @Param("role") UserRole role);
+
+    interface VehicleRow {
+        String getId();
+
+        VehicleType getVehicleType();
+    }
 }
@@ -0,0 +1,45 @@
+package com.transport.tms.repository;
+
+import com.transport.tms.dto.input.UserFilterInput;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Composable predicates for {@link UserRepository}, built the same way as {@link ShipmentSpecifications}
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> fromFilter(UserFilterInput filter) {
+        List<Specification<User>> specs = new ArrayList<>();
+        if (filter != null) {
+            if (filter.getRole() != null) specs.add(hasRole(filter.getRole()));
+            if (filter.getIsActive() != null) specs.add(isActive(filter.getIsActive()));
+            if (filter.getSearch() != null && !filter.getSearch().isBlank()) specs.add(matchesSearch(filter.getSearch()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<User> hasRole(UserRole role) {
+        return (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> isActive(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("isActive"), active);
+    }
+
+    public static Specification<User> matchesSearch(String term) {
+        String pattern = ShipmentSpecifications.escapeLike(term.trim()) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("email"), pattern, ShipmentSpecifications.LIKE_ESCAPE),
+                cb.like(root.get("firstName"), pattern, ShipmentSpecifications.LIKE_ESCAPE),
+                cb.like(root.get("lastName"), pattern, ShipmentSpecifications.LIKE_ESCAPE)
+        );
+    }
+}
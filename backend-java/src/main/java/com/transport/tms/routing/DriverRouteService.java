@@ -0,0 +1,138 @@
+package com.transport.tms.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.transport.tms.assignment.DriverWorkloadIndex;
+import com.transport.tms.dto.DriverRoute;
+import com.transport.tms.dto.RouteStop;
+import com.transport.tms.dto.RouteStopType;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.geo.ZipGeoIndex;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.repository.ShipmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code driverRoute}: a driver's active shipments as one ordered list of stops, planned by
+ * {@link RoutePlanner} over ZIP centroid distances from {@link ZipGeoIndex}.
+ *
+ * Assigned shipments contribute a pickup and a delivery, picked-up and in-transit ones only their
+ * delivery. A stop whose ZIP is unknown is planned as if it were next to every other stop, so it
+ * keeps its pickup-before-delivery place without pulling the route anywhere.
+ *
+ * Routes are cached per driver until a committed write touches one of the driver's shipments,
+ * as its driver before or after the write. An update whose previous driver is unknown clears the
+ * whole cache. Hit and miss counts are published with {@code cache=driver-routes}.
+ */
+@Service
+public class DriverRouteService {
+
+    static final String CACHE_NAME = "driver-routes";
+
+    private final ShipmentRepository shipmentRepository;
+
+    private final ZipGeoIndex zipGeoIndex;
+
+    private final Cache<String, DriverRoute> routes;
+
+    private final long budgetNanos;
+
+    @Autowired
+    public DriverRouteService(ShipmentRepository shipmentRepository, ZipGeoIndex zipGeoIndex,
+                              @Value("${tms.routing.time-budget:50ms}") Duration timeBudget,
+                              @Value("${tms.routing.cache-size:1000}") long cacheSize,
+                              MeterRegistry meterRegistry) {
+        this.shipmentRepository = shipmentRepository;
+        this.zipGeoIndex = zipGeoIndex;
+        this.budgetNanos = timeBudget.toNanos();
+        this.routes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, routes, CACHE_NAME);
+    }
+
+    public DriverRoute route(String driverId) {
+        return routes.get(driverId, this::plan);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        if (event.type() == ShipmentChangedEvent.ChangeType.UPDATED && event.before() == null) {
+            routes.invalidateAll();
+            return;
+        }
+        invalidate(event.shipment().getDriverId());
+        if (event.before() != null) invalidate(event.before().driverId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentsBulkUpdated(ShipmentsBulkUpdatedEvent event) {
+        invalidate(event.driverId());
+        event.previousDriverIds().forEach(this::invalidate);
+    }
+
+    private void invalidate(String driverId) {
+        if (driverId != null) {
+            routes.invalidate(driverId);
+        }
+    }
+
+    private DriverRoute plan(String driverId) {
+        List<Shipment> shipments = new ArrayList<>(
+                shipmentRepository.findByDriverIdAndStatusIn(driverId, DriverWorkloadIndex.ACTIVE));
+        shipments.sort(Comparator.comparing(Shipment::getPickupDate).thenComparing(Shipment::getId));
+
+        List<Stop> stops = new ArrayList<>();
+        for (Shipment shipment : shipments) {
+            int pickup = -1;
+            if (shipment.getStatus() == ShipmentStatus.ASSIGNED) {
+                pickup = stops.size();
+                stops.add(new Stop(RouteStopType.PICKUP, shipment, shipment.getShipperCity(),
+                        shipment.getShipperState(), shipment.getShipperZip(), -1));
+            }
+            stops.add(new Stop(RouteStopType.DELIVERY, shipment, shipment.getConsigneeCity(),
+                    shipment.getConsigneeState(), shipment.getConsigneeZip(), pickup));
+        }
+
+        int n = stops.size();
+        double[][] miles = new double[n][n];
+        int[] before = new int[n];
+        for (int i = 0; i < n; i++) {
+            before[i] = stops.get(i).before();
+            for (int j = i + 1; j < n; j++) {
+                Double distance = zipGeoIndex.distanceMiles(stops.get(i).zip(), stops.get(j).zip());
+                miles[i][j] = miles[j][i] = distance != null ? distance : 0;
+            }
+        }
+        int[] order = RoutePlanner.plan(miles, before, budgetNanos);
+
+        List<RouteStop> route = new ArrayList<>(n);
+        double totalMiles = 0;
+        for (int i = 0; i < n; i++) {
+            Stop stop = stops.get(order[i]);
+            Double leg = i > 0 ? zipGeoIndex.distanceMiles(stops.get(order[i - 1]).zip(), stop.zip()) : null;
+            if (leg != null) totalMiles += leg;
+            route.add(new RouteStop(i + 1, stop.type(), stop.shipment().getId(), stop.shipment().getTrackingNumber(),
+                    stop.city(), stop.state(), stop.zip(), leg));
+        }
+        return new DriverRoute(driverId, route, totalMiles, Instant.now());
+    }
+
+    // before: index of the stop that must come first, or -1
+    private record Stop(RouteStopType type, Shipment shipment, String city, String state, String zip, int before) {
+    }
+}
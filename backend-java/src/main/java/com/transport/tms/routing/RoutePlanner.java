@@ -0,0 +1,169 @@
+package com.transport.tms.routing;
+
+/**
+ * Orders the stops of one driver's route, in memory and without touching the database.
+ *
+ * Stops are indexes into a symmetric distance matrix; {@code before[i]} names the stop that must
+ * come earlier (a delivery's pickup), or -1. The route is open: it starts at whichever stop makes
+ * it shortest and does not return.
+ *
+ * A nearest-neighbour route is built from every stop that can go first and the shortest one is
+ * kept. It is then improved by 2-opt (reverse a stretch) and or-opt (move a run of one to three
+ * stops elsewhere), taking the first shortening move that keeps every pickup before its delivery,
+ * until no move helps or the time budget runs out. Routes have a few dozen stops at most, so
+ * this usually reaches a local optimum well within budget.
+ */
+public final class RoutePlanner {
+
+    private static final double EPSILON = 1e-9;
+
+    private static final int MAX_MOVED_RUN = 3;
+
+    private RoutePlanner() {
+    }
+
+    public static int[] plan(double[][] miles, int[] before, long budgetNanos) {
+        int n = miles.length;
+        if (n == 0) return new int[0];
+        long deadline = System.nanoTime() + budgetNanos;
+
+        int[] route = null;
+        double shortest = Double.POSITIVE_INFINITY;
+        for (int start = 0; start < n; start++) {
+            if (before[start] >= 0) continue;
+            int[] candidate = nearestNeighbour(miles, before, start);
+            double length = length(miles, candidate);
+            if (length < shortest - EPSILON) {
+                shortest = length;
+                route = candidate;
+            }
+            if (System.nanoTime() > deadline) break;
+        }
+
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = twoOpt(miles, before, route, deadline) || orOpt(miles, before, route, deadline);
+        }
+        return route;
+    }
+
+    public static double length(double[][] miles, int[] route) {
+        double length = 0;
+        for (int i = 1; i < route.length; i++) {
+            length += miles[route[i - 1]][route[i]];
+        }
+        return length;
+    }
+
+    private static int[] nearestNeighbour(double[][] miles, int[] before, int start) {
+        int n = miles.length;
+        boolean[] visited = new boolean[n];
+        int[] route = new int[n];
+        route[0] = start;
+        visited[start] = true;
+        for (int position = 1; position < n; position++) {
+            int current = route[position - 1];
+            int next = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (visited[candidate] || (before[candidate] >= 0 && !visited[before[candidate]])) continue;
+                if (next < 0 || miles[current][candidate] < miles[current][next]) next = candidate;
+            }
+            route[position] = next;
+            visited[next] = true;
+        }
+        return route;
+    }
+
+    private static boolean twoOpt(double[][] miles, int[] before, int[] route, long deadline) {
+        int n = route.length;
+        for (int i = 0; i < n - 1; i++) {
+            if (System.nanoTime() > deadline) return false;
+            for (int j = i + 1; j < n; j++) {
+                int previous = at(route, i - 1);
+                int next = at(route, j + 1);
+                double delta = leg(miles, previous, route[j]) + leg(miles, route[i], next)
+                        - leg(miles, previous, route[i]) - leg(miles, route[j], next);
+                if (delta >= -EPSILON) continue;
+                reverse(route, i, j);
+                if (feasible(route, before)) return true;
+                reverse(route, i, j);
+            }
+        }
+        return false;
+    }
+
+    private static boolean orOpt(double[][] miles, int[] before, int[] route, long deadline) {
+        int n = route.length;
+        for (int run = 1; run <= Math.min(MAX_MOVED_RUN, n - 1); run++) {
+            for (int i = 0; i + run <= n; i++) {
+                if (System.nanoTime() > deadline) return false;
+                int first = route[i];
+                int last = route[i + run - 1];
+                int previous = at(route, i - 1);
+                int next = at(route, i + run);
+                double removed = leg(miles, previous, first) + leg(miles, last, next) - leg(miles, previous, next);
+                // Insert into the gap after position k (k = -1 is the front), skipping the run's own place
+                for (int k = -1; k < n; k++) {
+                    if (k >= i - 1 && k <= i + run - 1) continue;
+                    int a = at(route, k);
+                    int b = at(route, k + 1);
+                    double added = leg(miles, a, first) + leg(miles, last, b) - leg(miles, a, b);
+                    if (added - removed >= -EPSILON) continue;
+                    int[] moved = move(route, i, run, k);
+                    if (feasible(moved, before)) {
+                        System.arraycopy(moved, 0, route, 0, n);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int[] move(int[] route, int from, int run, int after) {
+        int[] moved = new int[route.length];
+        int position = 0;
+        if (after < 0) {
+            System.arraycopy(route, from, moved, 0, run);
+            position = run;
+        }
+        for (int k = 0; k < route.length; k++) {
+            if (k >= from && k < from + run) continue;
+            moved[position++] = route[k];
+            if (k == after) {
+                System.arraycopy(route, from, moved, position, run);
+                position += run;
+            }
+        }
+        return moved;
+    }
+
+    private static boolean feasible(int[] route, int[] before) {
+        int[] position = new int[route.length];
+        for (int i = 0; i < route.length; i++) {
+            position[route[i]] = i;
+        }
+        for (int stop = 0; stop < before.length; stop++) {
+            if (before[stop] >= 0 && position[before[stop]] > position[stop]) return false;
+        }
+        return true;
+    }
+
+    private static void reverse(int[] route, int from, int to) {
+        for (; from < to; from++, to--) {
+            int stop = route[from];
+            route[from] = route[to];
+            route[to] = stop;
+        }
+    }
+
+    // The stop at a position, or -1 past either end of the route
+    private static int at(int[] route, int position) {
+        return position >= 0 && position < route.length ? route[position] : -1;
+    }
+
+    // Open route: nothing to pay before the first stop or after the last
+    private static double leg(double[][] miles, int from, int to) {
+        return from < 0 || to < 0 ? 0 : miles[from][to];
+    }
+}
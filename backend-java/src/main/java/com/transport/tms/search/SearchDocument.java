@@ -0,0 +1,65 @@
+package com.transport.tms.search;
+
+import com.transport.tms.model.Shipment;
+
+import java.util.List;
+
+/**
+ * The searchable columns of a shipment, read without materializing the entity
+ */
+public record SearchDocument(
+        String id,
+        String trackingNumber,
+        String shipperName,
+        String shipperCity,
+        String shipperZip,
+        String consigneeName,
+        String consigneeCity,
+        String consigneeZip,
+        String cargoDescription
+) {
+
+    /**
+     * Shipment attributes behind {@link #fields()}, in the same order
+     */
+    public static final List<String> FIELDS = List.of(
+            "trackingNumber",
+            "shipperName",
+            "consigneeName",
+            "shipperCity",
+            "consigneeCity",
+            "shipperZip",
+            "consigneeZip",
+            "cargoDescription"
+    );
+
+    public static SearchDocument of(Shipment shipment) {
+        return new SearchDocument(
+                shipment.getId(),
+                shipment.getTrackingNumber(),
+                shipment.getShipperName(),
+                shipment.getShipperCity(),
+                shipment.getShipperZip(),
+                shipment.getConsigneeName(),
+                shipment.getConsigneeCity(),
+                shipment.getConsigneeZip(),
+                shipment.getCargoDescription()
+        );
+    }
+
+    /**
+     * Searchable values in ranking order: earlier fields weigh more
+     */
+    String[] fields() {
+        return new String[]{
+                trackingNumber,
+                shipperName,
+                consigneeName,
+                shipperCity,
+                consigneeCity,
+                shipperZip,
+                consigneeZip,
+                cargoDescription
+        };
+    }
+}
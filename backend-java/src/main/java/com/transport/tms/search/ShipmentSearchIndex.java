@@ -0,0 +1,321 @@
+package com.transport.tms.search;
+
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.repository.ShipmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index behind {@code ShipmentFilterInput.search}.
+ *
+ * Every searchable field is lower-cased, split into words and each word is cut into trigrams,
+ * padded on the left like pg_trgm so one- and two-letter terms still match on word prefixes.
+ * A query word of three or more letters matches anywhere inside a word; all query words must match.
+ *
+ * The index follows committed writes through {@link ShipmentChangedEvent} and is rebuilt in the
+ * background at startup. Until that rebuild finishes, and for terms too broad for an IN list,
+ * {@link #matchingIds} returns {@code null} and callers fall back to SQL.
+ */
+@Slf4j
+@Component
+public class ShipmentSearchIndex {
+
+    /** Upper bound on ids handed to SQL as an IN list; broader terms are left to SQL */
+    public static final int MAX_FILTER_MATCHES = 1_000;
+
+    static final int REBUILD_BATCH_SIZE = 5_000;
+
+    private final ShipmentRepository shipmentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    private final Map<String, IndexedDocument> documents = new HashMap<>();
+
+    // Ids written live while a rebuild is running; the rebuild must not overwrite them with older rows
+    private final Set<String> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean rebuilding;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public ShipmentSearchIndex(ShipmentRepository shipmentRepository) {
+        this.shipmentRepository = shipmentRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids matching the term for use as a filter, or {@code null} while the index is not built yet or
+     * when more than {@link #MAX_FILTER_MATCHES} shipments match. Cutting a broad term down to its
+     * best-ranked ids would drop rows the other filters select and cap the page total, so callers
+     * fall back to the uncapped SQL predicate instead.
+     */
+    public Collection<String> matchingIds(String term) {
+        if (!ready) return null;
+        List<String> ids = search(term, MAX_FILTER_MATCHES + 1);
+        return ids.size() > MAX_FILTER_MATCHES ? null : ids;
+    }
+
+    /**
+     * Shipment ids matching every word of the term, best match first
+     */
+    public List<String> search(String term, int limit) {
+        List<String> words = words(term);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Set<String>> lists = new ArrayList<>();
+            for (String word : words) {
+                for (String gram : queryGrams(word)) {
+                    Set<String> ids = postings.get(gram);
+                    if (ids == null) {
+                        return List.of();
+                    }
+                    lists.add(ids);
+                }
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            List<ScoredId> hits = new ArrayList<>();
+            candidates:
+            for (String id : lists.get(0)) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) continue candidates;
+                }
+                int score = score(documents.get(id).fields(), words);
+                if (score > 0) hits.add(new ScoredId(id, score));
+            }
+
+            hits.sort(Comparator.comparingInt(ScoredId::score).reversed().thenComparing(ScoredId::id));
+            return hits.stream().limit(limit).map(ScoredId::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether a single document matches every word of the term, by the same rules as {@link #search}
+     */
+    public static boolean matches(SearchDocument document, String term) {
+        List<String> words = words(term);
+        if (words.isEmpty()) {
+            return true;
+        }
+        String[] fields = document.fields();
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = normalize(fields[i]);
+        }
+        return score(fields, words) > 0;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        if (event.type() == ShipmentChangedEvent.ChangeType.DELETED) {
+            remove(event.shipment().getId());
+        } else {
+            index(SearchDocument.of(event.shipment()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        Thread.ofVirtual().name("shipment-search-rebuild").start(this::rebuild);
+    }
+
+    /**
+     * Load every shipment in id order, one projection batch at a time
+     */
+    void rebuild() {
+        rebuilding = true;
+        try {
+            String afterId = "";
+            List<SearchDocument> batch;
+            do {
+                batch = shipmentRepository.findSearchDocumentsAfter(afterId, PageRequest.ofSize(REBUILD_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (SearchDocument document : batch) {
+                        if (!touchedDuringRebuild.contains(document.id())) put(document);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) afterId = batch.get(batch.size() - 1).id();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            ready = true;
+        } catch (RuntimeException e) {
+            log.error("Shipment search index rebuild failed, search stays on SQL", e);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    void index(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) touchedDuringRebuild.add(document.id());
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) touchedDuringRebuild.add(id);
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Internals (caller holds the write lock) ====================
+
+    private void put(SearchDocument document) {
+        unlink(document.id());
+
+        String[] raw = document.fields();
+        String[] fields = new String[raw.length];
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < raw.length; i++) {
+            fields[i] = normalize(raw[i]);
+            for (String word : words(fields[i])) {
+                addGrams("  " + word + " ", grams);
+            }
+        }
+
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+        }
+        documents.put(document.id(), new IndexedDocument(fields, grams));
+    }
+
+    private void unlink(String id) {
+        IndexedDocument previous = documents.remove(id);
+        if (previous == null) return;
+        for (String gram : previous.grams()) {
+            Set<String> ids = postings.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // ==================== Scoring ====================
+
+    /**
+     * Sum over query words of the best field match. Earlier fields weigh more, and a whole-field
+     * match beats a word-prefix match, which beats a match inside a word. Zero means a trigram false positive.
+     */
+    private static int score(String[] fields, List<String> words) {
+        int total = 0;
+        for (String word : words) {
+            int best = 0;
+            for (int i = 0; i < fields.length; i++) {
+                String field = fields[i];
+                if (field.isEmpty()) continue;
+                int weight = fields.length - i;
+                int kind;
+                if (field.equals(word)) {
+                    kind = 4;
+                } else if (field.startsWith(word) || field.contains(" " + word)) {
+                    kind = 2;
+                } else if (word.length() >= 3 && field.contains(word)) {
+                    kind = 1;
+                } else {
+                    continue;
+                }
+                best = Math.max(best, kind * weight);
+            }
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total;
+    }
+
+    // ==================== Tokenizing ====================
+
+    private static Set<String> queryGrams(String word) {
+        Set<String> grams = new LinkedHashSet<>();
+        // Short words can only be matched as word prefixes
+        addGrams(word.length() >= 3 ? word : "  " + word, grams);
+        return grams;
+    }
+
+    private static void addGrams(String text, Set<String> grams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+    }
+
+    /**
+     * The words a term is matched by: lower-cased runs of letters and digits
+     */
+    public static List<String> words(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    /**
+     * Lower-case letters and digits separated by single spaces
+     */
+    static String normalize(String value) {
+        if (value == null) return "";
+        StringBuilder out = new StringBuilder(value.length());
+        boolean space = false;
+        for (char c : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                if (space && !out.isEmpty()) out.append(' ');
+                out.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private record IndexedDocument(String[] fields, Set<String> grams) {
+    }
+
+    private record ScoredId(String id, int score) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.transport.tms.security;
+
+import com.transport.tms.model.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * The principal of a request authenticated by {@link JwtAuthenticationFilter}, built from token claims alone
+ */
+public record AuthenticatedUser(String id, String email, UserRole role) {
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
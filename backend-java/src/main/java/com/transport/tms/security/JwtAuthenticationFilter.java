@@ -0,0 +1,142 @@
+package com.transport.tms.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Authenticates {@code Authorization: Bearer} requests from the JWT alone.
+ *
+ * The user id and role travel in the token, so no user is loaded per request. Verified tokens
+ * are remembered by their SHA-256 hash until they expire, so a client polling with the same token
+ * pays for the HMAC check once. Tokens issued before the id and role claims existed are resolved
+ * through {@link UserDetailsService} once and then cached the same way.
+ *
+ * A missing or invalid token leaves the request anonymous; access rules decide what that may do.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    private final UserDetailsService userDetailsService;
+
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, long cacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser user = authenticate(header.substring(BEARER_PREFIX.length()).trim());
+            if (user != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(user, null, user.authorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    AuthenticatedUser authenticate(String token) {
+        ByteBuffer key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.user();
+        }
+
+        VerifiedToken verified = verify(token);
+        if (verified != null) {
+            verifiedTokens.put(key, verified);
+            return verified.user();
+        }
+        return null;
+    }
+
+    private VerifiedToken verify(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        String userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        AuthenticatedUser user;
+        if (userId != null && role != null) {
+            user = new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role));
+        } else {
+            try {
+                User legacy = ((CustomUserDetails) userDetailsService.loadUserByUsername(claims.getSubject())).getUser();
+                user = new AuthenticatedUser(legacy.getId(), legacy.getEmail(), legacy.getRole());
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        return new VerifiedToken(user, claims.getExpiration().toInstant());
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(AuthenticatedUser user, Instant expiresAt) {
+    }
+
+    // A verified token is dropped when the token itself expires; reads and replacements keep that deadline
+    private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
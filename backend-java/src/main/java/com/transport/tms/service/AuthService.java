@@ -100,6 +100,13 @@ public class AuthService {
         return new AuthResponse(token, user);
     }
 
+    public User getCurrentUserById(String id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setPassword(null);
+        return user;
+    }
+
     public User getCurrentUser(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
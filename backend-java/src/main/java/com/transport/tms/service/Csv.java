@@ -0,0 +1,103 @@
+package com.transport.tms.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 helpers shared by the shipment export and import
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Quote fields containing separators, quotes or line breaks, doubling inner quotes
+     */
+    static String escape(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    /**
+     * The input is not valid CSV from this point on
+     */
+    static final class MalformedCsvException extends IOException {
+        MalformedCsvException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Reads one record at a time; quoted fields may contain separators, doubled quotes and line breaks
+     */
+    static final class Reader {
+
+        private final java.io.Reader in;
+
+        private long line = 1;
+
+        private long recordLine;
+
+        Reader(java.io.Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Line on which the last record returned by {@link #next} started
+         */
+        long recordLine() {
+            return recordLine;
+        }
+
+        /**
+         * The next record's fields, or {@code null} at the end of the input
+         */
+        List<String> next() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new MalformedCsvException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        c = in.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    if (c == '\n') line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.PageInfo;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque cursors for keyset (seek) pagination.
+ *
+ * A cursor is the URL-safe Base64 form of the sort-key values of the last row the client saw,
+ * one {@code key=type:value} pair per line. Values carry their type so they can be bound straight
+ * back into the seek predicate, which keeps every page a single indexed range read.
+ */
+final class KeysetCursor {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Build the keyset sort. The id is always the final tie-breaker so the order is total.
+     */
+    static Sort sort(String sortBy, String sortOrder, Set<String> allowedKeys) {
+        String key = sortBy != null ? sortBy : "createdAt";
+        if (!allowedKeys.contains(key)) {
+            throw new RuntimeException("Cannot paginate by cursor on field: " + key);
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortOrder) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, key).and(Sort.by(direction, "id"));
+    }
+
+    static int pageSize(Integer first) {
+        if (first == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (first < 1) {
+            throw new RuntimeException("first must be positive");
+        }
+        return Math.min(first, MAX_PAGE_SIZE);
+    }
+
+    static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String line : raw.split("\n")) {
+                int eq = line.indexOf('=');
+                int colon = line.indexOf(':', eq);
+                String value = line.substring(colon + 1);
+                keys.put(line.substring(0, eq), switch (line.substring(eq + 1, colon)) {
+                    case "I" -> Instant.parse(value);
+                    case "D" -> LocalDate.parse(value);
+                    case "S" -> value;
+                    default -> throw new IllegalArgumentException("Unknown cursor value type");
+                });
+            }
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+
+        List<String> expected = sort.stream().map(Sort.Order::getProperty).toList();
+        if (!keys.keySet().containsAll(expected) || keys.size() != expected.size()) {
+            throw new RuntimeException("Cursor does not match the requested sort order");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static String encode(ScrollPosition position) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        StringBuilder raw = new StringBuilder();
+        keys.forEach((key, value) -> {
+            if (!raw.isEmpty()) raw.append('\n');
+            String type = value instanceof Instant ? "I" : value instanceof LocalDate ? "D" : "S";
+            raw.append(key).append('=').append(type).append(':').append(value);
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PageInfo pageInfo(List<String> cursors, boolean hasNextPage, boolean hasPreviousPage) {
+        return new PageInfo(
+                hasNextPage,
+                hasPreviousPage,
+                cursors.isEmpty() ? null : cursors.get(0),
+                cursors.isEmpty() ? null : cursors.get(cursors.size() - 1)
+        );
+    }
+}
@@ -0,0 +1,347 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.AssignmentProposal;
+import com.transport.tms.dto.BulkOutcome;
+import com.transport.tms.dto.BulkUpdatePayload;
+import com.transport.tms.dto.BulkUpdateResult;
+import com.transport.tms.dto.CreateShipmentResult;
+import com.transport.tms.dto.CreateShipmentsPayload;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentEvent;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.tracking.TrackingNumberGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Multi-shipment writes that would cost one transaction and one round trip per row if looped
+ * through {@link ShipmentService}.
+ *
+ * Inserts are validated and given tracking numbers up front, then persisted in chunks of
+ * {@code tms.bulk.chunk-size}, one transaction each. Hibernate sends every chunk as JDBC batches
+ * of {@code hibernate.jdbc.batch_size}, and ids come from the in-memory UUIDv7 generator, so
+ * nothing forces a round trip per row.
+ *
+ * Status changes and driver assignment are set-based: one projection read for per-id outcomes,
+ * then one {@code UPDATE ... WHERE id IN (...) AND status IN (allowed)} per {@value #IN_LIST_SIZE} ids.
+ * Shipments already in the target status, with the same driver when one is assigned, are left alone.
+ * Assignments with a different driver per shipment go out as JDBC batches of guarded single-row updates.
+ * Every create and every applied change appends a {@link ShipmentEvent} in the same transaction,
+ * batched like the inserts.
+ */
+@Service
+public class ShipmentBulkService {
+
+    static final int IN_LIST_SIZE = 1_000;
+
+    // One guarded row per driver choice; only shipments nobody took meanwhile are assigned
+    private static final String ASSIGN_PENDING_SQL = """
+            UPDATE "shipments" SET "driverId" = ?, "status" = 'ASSIGNED', "updatedAt" = ?
+            WHERE "id" = ? AND "status" = 'PENDING'
+            """;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TrackingNumberGenerator trackingNumberGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${tms.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tms.bulk.max-items:5000}")
+    private int maxItems;
+
+    @Autowired
+    public ShipmentBulkService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Create every valid input. Invalid inputs are reported by index and do not stop the others;
+     * if the database rejects a chunk, its rows are retried one by one to find the culprits.
+     */
+    public CreateShipmentsPayload createAll(List<CreateShipmentInput> inputs, String userId) {
+        if (inputs.size() > maxItems) {
+            throw new RuntimeException("At most " + maxItems + " shipments can be created at once");
+        }
+
+        CreateShipmentResult[] results = new CreateShipmentResult[inputs.size()];
+        List<IndexedInput> valid = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            String error = validate(inputs.get(i));
+            if (error != null) {
+                results[i] = new CreateShipmentResult(i, null, error);
+            } else {
+                valid.add(new IndexedInput(i, inputs.get(i)));
+            }
+        }
+        for (CreateShipmentResult result : insertValidated(valid, userId)) {
+            results[result.getIndex()] = result;
+        }
+
+        int created = (int) Arrays.stream(results).filter(r -> r.getError() == null).count();
+        return new CreateShipmentsPayload(created, results.length - created, Arrays.asList(results));
+    }
+
+    /**
+     * The joined constraint messages for the input, or {@code null} when it is valid
+     */
+    public String validate(CreateShipmentInput input) {
+        Set<ConstraintViolation<CreateShipmentInput>> violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Insert inputs that already passed {@link #validate}, in chunks of {@code tms.bulk.chunk-size}.
+     * Results come back in input order and keep each input's index.
+     */
+    public List<CreateShipmentResult> insertValidated(List<IndexedInput> inputs, String userId) {
+        List<PendingShipment> pending = new ArrayList<>(inputs.size());
+        for (IndexedInput input : inputs) {
+            Shipment shipment = shipmentMapper.toEntity(input.input());
+            shipment.setCreatedById(userId);
+            shipment.setStatus(ShipmentStatus.PENDING);
+            shipment.setTrackingNumber(trackingNumberGenerator.next());
+            pending.add(new PendingShipment(input.index(), shipment));
+        }
+
+        List<CreateShipmentResult> results = new ArrayList<>(pending.size());
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<PendingShipment> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(chunk));
+                chunk.forEach(p -> results.add(new CreateShipmentResult(p.index(), p.shipment(), null)));
+            } catch (RuntimeException chunkFailure) {
+                for (PendingShipment p : chunk) {
+                    results.add(insertAlone(p));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Move every eligible shipment to {@code status}; see {@link ShipmentStatus#allowedSources()}.
+     * ASSIGNED needs a driver and is only reachable through {@link #assignDriver}.
+     */
+    @Transactional
+    public BulkUpdatePayload updateStatus(List<String> ids, ShipmentStatus status) {
+        if (status == ShipmentStatus.ASSIGNED) {
+            throw new RuntimeException("Shipments are assigned with a driver; use bulkAssignDriver");
+        }
+        return transition(ids, status, null);
+    }
+
+    /**
+     * Assign the driver, which must be an active DRIVER, to every shipment that is still PENDING
+     * or ASSIGNED to someone else
+     */
+    @Transactional
+    public BulkUpdatePayload assignDriver(List<String> ids, String driverId) {
+        if (driverId == null || !userRepository.isActiveInRole(driverId, UserRole.DRIVER)) {
+            throw new RuntimeException("Active driver not found with id: " + driverId);
+        }
+        return transition(ids, ShipmentStatus.ASSIGNED, driverId);
+    }
+
+    /**
+     * Assign each proposed shipment to its own driver if it is still PENDING. The guarded UPDATEs
+     * go out as JDBC batches of {@value #IN_LIST_SIZE}, and their per-row counts say which applied,
+     * so there is no re-read. Returns the applied proposals.
+     */
+    @Transactional
+    public List<AssignmentProposal> assignPending(List<AssignmentProposal> proposals) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        int[][] counts = jdbcTemplate.batchUpdate(ASSIGN_PENDING_SQL, proposals, IN_LIST_SIZE, (statement, proposal) -> {
+            statement.setString(1, proposal.getDriverId());
+            statement.setObject(2, now);
+            statement.setString(3, proposal.getShipmentId());
+        });
+
+        List<AssignmentProposal> applied = new ArrayList<>(proposals.size());
+        int next = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // Drivers that cannot report per-row counts are trusted; PostgreSQL and H2 report them
+                if (count > 0 || count == Statement.SUCCESS_NO_INFO) applied.add(proposals.get(next));
+                next++;
+            }
+        }
+
+        Map<String, List<AssignmentProposal>> byDriver = new LinkedHashMap<>();
+        for (AssignmentProposal proposal : applied) {
+            entityManager.persist(ShipmentEvent.of(proposal.getShipmentId(), ShipmentStatus.PENDING,
+                    ShipmentStatus.ASSIGNED, proposal.getDriverId(), now.toInstant()));
+            byDriver.computeIfAbsent(proposal.getDriverId(), id -> new ArrayList<>()).add(proposal);
+        }
+        // The guarded update does not read the previous driver; a PENDING shipment carries no load either way
+        byDriver.forEach((driverId, assigned) -> eventPublisher.publishEvent(new ShipmentsBulkUpdatedEvent(
+                assigned.stream().map(AssignmentProposal::getShipmentId).toList(),
+                assigned.stream().map(AssignmentProposal::getTrackingNumber).toList(),
+                assigned.stream().map(AssignmentProposal::getWeight).toList(),
+                Collections.nCopies(assigned.size(), ShipmentStatus.PENDING),
+                Collections.nCopies(assigned.size(), (String) null),
+                ShipmentStatus.ASSIGNED, driverId)));
+        return applied;
+    }
+
+    private BulkUpdatePayload transition(List<String> requestedIds, ShipmentStatus target, String driverId) {
+        List<String> ids = List.copyOf(new LinkedHashSet<>(requestedIds));
+        if (ids.size() > maxItems) {
+            throw new RuntimeException("At most " + maxItems + " shipments can be updated at once");
+        }
+        Set<ShipmentStatus> allowed = target.allowedSources();
+
+        Map<String, ShipmentRepository.StatusRow> before = statusRows(ids);
+        Set<String> unchanged = new LinkedHashSet<>();
+        for (String id : ids) {
+            ShipmentRepository.StatusRow row = before.get(id);
+            if (row != null && row.getStatus() == target
+                    && (driverId == null || driverId.equals(row.getDriverId()))) {
+                unchanged.add(id);
+            }
+        }
+        List<String> eligible = ids.stream()
+                .filter(id -> before.containsKey(id) && !unchanged.contains(id)
+                        && allowed.contains(before.get(id).getStatus()))
+                .toList();
+
+        Instant now = Instant.now();
+        int updated = 0;
+        for (int from = 0; from < eligible.size(); from += IN_LIST_SIZE) {
+            List<String> slice = eligible.subList(from, Math.min(from + IN_LIST_SIZE, eligible.size()));
+            updated += driverId != null
+                    ? shipmentRepository.assignDriver(slice, driverId, target, allowed, now)
+                    : shipmentRepository.updateStatus(slice, target, allowed, now);
+        }
+
+        // A concurrent writer moved some rows between the read and the update; re-read to say which
+        Set<String> applied = new LinkedHashSet<>(eligible);
+        if (updated != eligible.size()) {
+            Map<String, ShipmentRepository.StatusRow> after = statusRows(eligible);
+            applied.removeIf(id -> !after.containsKey(id) || after.get(id).getStatus() != target);
+        }
+
+        List<BulkUpdateResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            ShipmentRepository.StatusRow row = before.get(id);
+            BulkOutcome outcome = row == null ? BulkOutcome.NOT_FOUND
+                    : applied.contains(id) ? BulkOutcome.UPDATED
+                    : unchanged.contains(id) ? BulkOutcome.UNCHANGED : BulkOutcome.INVALID_STATUS;
+            results.add(new BulkUpdateResult(id, outcome, row != null ? row.getStatus() : null));
+        }
+
+        for (String id : applied) {
+            entityManager.persist(ShipmentEvent.of(id, before.get(id).getStatus(), target, driverId, now));
+        }
+
+        if (!applied.isEmpty()) {
+            List<String> trackingNumbers = applied.stream().map(id -> before.get(id).getTrackingNumber()).toList();
+            List<Double> weights = applied.stream().map(id -> before.get(id).getWeight()).toList();
+            List<ShipmentStatus> previousStatuses = applied.stream().map(id -> before.get(id).getStatus()).toList();
+            List<String> previousDriverIds = applied.stream().map(id -> before.get(id).getDriverId()).toList();
+            eventPublisher.publishEvent(new ShipmentsBulkUpdatedEvent(List.copyOf(applied), trackingNumbers, weights,
+                    previousStatuses, previousDriverIds, target, driverId));
+        }
+        return new BulkUpdatePayload(applied.size(), results);
+    }
+
+    private Map<String, ShipmentRepository.StatusRow> statusRows(List<String> ids) {
+        Map<String, ShipmentRepository.StatusRow> rows = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            for (ShipmentRepository.StatusRow row : shipmentRepository.findStatusRows(ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size())))) {
+                rows.put(row.getId(), row);
+            }
+        }
+        return rows;
+    }
+
+    private CreateShipmentResult insertAlone(PendingShipment pendingShipment) {
+        // The rolled-back chunk already handed this row an id
+        pendingShipment.shipment().setId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(List.of(pendingShipment)));
+            return new CreateShipmentResult(pendingShipment.index(), pendingShipment.shipment(), null);
+        } catch (RuntimeException e) {
+            pendingShipment.shipment().setId(null);
+            return new CreateShipmentResult(pendingShipment.index(), null,
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void insert(List<PendingShipment> chunk) {
+        for (PendingShipment p : chunk) {
+            entityManager.persist(p.shipment());
+            entityManager.persist(ShipmentEvent.of(p.shipment().getId(), null, ShipmentStatus.PENDING, null, Instant.now()));
+            eventPublisher.publishEvent(ShipmentChangedEvent.created(p.shipment()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * An input and the position it is reported under
+     */
+    public record IndexedInput(int index, CreateShipmentInput input) {
+    }
+
+    private record PendingShipment(int index, Shipment shipment) {
+    }
+}
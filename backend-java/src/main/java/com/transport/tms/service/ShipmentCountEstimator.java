@@ -0,0 +1,95 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.ShipmentSpecifications;
+import com.transport.tms.search.ShipmentSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate shipment counts for {@code CountMode.ESTIMATED}.
+ *
+ * An unfiltered count on PostgreSQL comes straight from the planner statistics in {@code pg_class}.
+ * Anything else is counted exactly once and then served from a small cache until it expires.
+ */
+@Service
+public class ShipmentCountEstimator {
+
+    private static final int MAX_CACHED_FILTERS = 1_000;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShipmentSearchIndex shipmentSearchIndex;
+
+    @Value("${tms.pagination.estimated-count-ttl:60s}")
+    private Duration ttl;
+
+    private final Map<ShipmentFilterInput, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private volatile Boolean postgres;
+
+    public long estimate(ShipmentFilterInput filter) {
+        ShipmentFilterInput key = filter != null ? filter : new ShipmentFilterInput();
+
+        if (isPostgres() && key.equals(new ShipmentFilterInput())) {
+            Long reltuples = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE relname = 'shipments'", Long.class);
+            // -1 means the table has never been analyzed
+            if (reltuples != null && reltuples >= 0) {
+                return reltuples;
+            }
+        }
+
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(key);
+        if (cached != null && now - cached.countedAt() < ttl.toNanos()) {
+            return cached.count();
+        }
+
+        long count = shipmentRepository.count(ShipmentSpecifications.fromFilter(key, shipmentSearchIndex::matchingIds));
+        if (cache.size() >= MAX_CACHED_FILTERS) {
+            cache.clear();
+        }
+        cache.put(copyOf(key), new CachedCount(count, now));
+        return count;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            ConnectionCallback<Boolean> isPostgres = connection ->
+                    connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute(isPostgres));
+        }
+        return postgres;
+    }
+
+    // Filters are mutable input objects, so the cache keeps its own copy
+    private static ShipmentFilterInput copyOf(ShipmentFilterInput filter) {
+        ShipmentFilterInput copy = new ShipmentFilterInput();
+        copy.setStatus(filter.getStatus());
+        copy.setTrackingNumber(filter.getTrackingNumber());
+        copy.setCreatedById(filter.getCreatedById());
+        copy.setDriverId(filter.getDriverId());
+        copy.setShipperCity(filter.getShipperCity());
+        copy.setConsigneeCity(filter.getConsigneeCity());
+        copy.setSearch(filter.getSearch());
+        copy.setVehicleType(filter.getVehicleType());
+        return copy;
+    }
+
+    private record CachedCount(long count, long countedAt) {
+    }
+}
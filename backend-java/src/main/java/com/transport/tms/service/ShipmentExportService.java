@@ -0,0 +1,178 @@
+package com.transport.tms.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.transport.tms.dto.ExportFormat;
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.repository.ShipmentSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams filtered shipments to an output stream, one row at a time.
+ *
+ * Rows are read as plain column arrays through a forward-only cursor with a fixed fetch size,
+ * so no entity is created or tracked and heap use does not grow with the number of rows.
+ * The cursor lives in a read-only transaction because PostgreSQL only honors the fetch size there.
+ * Search always goes through the SQL predicate, which matches as the search index does: the index
+ * stops at a capped number of ids, and an export must not.
+ */
+@Service
+public class ShipmentExportService {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "trackingNumber", "status",
+            "shipperName", "shipperCity", "shipperState", "shipperZip",
+            "consigneeName", "consigneeCity", "consigneeState", "consigneeZip",
+            "cargoDescription", "weight", "vehicleType",
+            "estimatedRate", "actualRate", "currency",
+            "pickupDate", "deliveryDate", "estimatedDelivery",
+            "createdById", "driverId", "createdAt", "updatedAt"
+    );
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${tms.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Autowired
+    public ShipmentExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(ShipmentFilterInput filter, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = rows(filter)) {
+                    rows.forEach(rowWriter::write);
+                }
+            });
+            rowWriter.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Stream<Object[]> rows(ShipmentFilterInput filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Shipment> root = query.from(Shipment.class);
+        List<Selection<?>> selections = COLUMNS.stream().<Selection<?>>map(column -> root.get(column)).toList();
+        query.multiselect(selections);
+
+        Predicate predicate = ShipmentSpecifications.fromFilter(filter)
+                .toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private interface RowWriter {
+        void write(Object[] row);
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Object[] row) {
+            try {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) writer.write(',');
+                    if (row[i] != null) writer.write(Csv.escape(row[i].toString()));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void write(Object[] row) {
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < row.length; i++) {
+                    generator.writeFieldName(COLUMNS.get(i));
+                    Object value = row[i];
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Double number) {
+                        generator.writeNumber(number);
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+}
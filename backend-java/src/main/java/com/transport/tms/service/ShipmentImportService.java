@@ -0,0 +1,302 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.CreateShipmentResult;
+import com.transport.tms.dto.ShipmentImportResult;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.service.ShipmentBulkService.IndexedInput;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Imports shipments from a CSV stream in two pipelined stages.
+ *
+ * The calling thread parses and validates rows (same rules as {@code createShipment}) and hands
+ * valid rows to a writer thread in chunks of {@code tms.bulk.chunk-size} through a queue of
+ * {@code tms.import.queue-capacity} chunks. The writer inserts them with
+ * {@link ShipmentBulkService#insertValidated}, so parsing the next chunk overlaps with inserting
+ * the previous one, and a slow database stalls the parser instead of filling the heap.
+ *
+ * Rejected rows go to the error report as {@code line,error}, where line is the CSV line the row starts on.
+ * Rows inserted before a failure stay imported; the report says which ones did not.
+ */
+@Slf4j
+@Service
+public class ShipmentImportService implements DisposableBean {
+
+    /** Columns accepted in the header row; any subset in any order */
+    static final Map<String, BiConsumer<CreateShipmentInput, String>> COLUMNS = columns();
+
+    // Identity sentinel that tells the writer the parser is done
+    private static final List<IndexedInput> END_OF_INPUT = new ArrayList<>();
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Value("${tms.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${tms.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    private final ThreadPoolExecutor writers;
+
+    @Autowired
+    public ShipmentImportService(@Value("${tms.import.max-concurrent:2}") int maxConcurrent) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "shipment-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Import every row of the CSV and write the rejected ones to {@code errorReport}
+     */
+    public ShipmentImportResult importCsv(InputStream csv, String userId, Writer errorReport) throws IOException {
+        long started = System.nanoTime();
+        Csv.Reader reader = new Csv.Reader(
+                new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 64 * 1024));
+        List<String> columns = header(reader.next());
+
+        ErrorReport errors = new ErrorReport(errorReport);
+        BlockingQueue<List<IndexedInput>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<Long> writer;
+        try {
+            writer = writers.submit(() -> persist(queue, userId, errors));
+        } catch (RejectedExecutionException e) {
+            throw new RuntimeException("Too many imports are running right now, please retry shortly");
+        }
+
+        long rows = 0;
+        try {
+            List<IndexedInput> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                List<String> record;
+                try {
+                    record = reader.next();
+                } catch (Csv.MalformedCsvException e) {
+                    // The rest of the file is inside the open quote; report it and keep what was parsed
+                    rows++;
+                    errors.add(reader.recordLine(), e.getMessage());
+                    break;
+                }
+                if (record == null) break;
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+
+                rows++;
+                int line = Math.toIntExact(reader.recordLine());
+                CreateShipmentInput input = new CreateShipmentInput();
+                String error = parse(record, columns, input);
+                if (error == null) error = shipmentBulkService.validate(input);
+                if (error != null) {
+                    errors.add(line, error);
+                    continue;
+                }
+
+                chunk.add(new IndexedInput(line, input));
+                if (chunk.size() == chunkSize) {
+                    handOff(queue, chunk, writer);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) handOff(queue, chunk, writer);
+            handOff(queue, END_OF_INPUT, writer);
+        } catch (IOException | RuntimeException e) {
+            writer.cancel(true);
+            throw e;
+        }
+
+        long created = await(writer);
+        errors.flush();
+
+        ShipmentImportResult result = new ShipmentImportResult(rows, created, rows - created,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("Imported {} of {} shipment rows in {} ms ({} rows/s)", result.getCreated(), result.getRows(),
+                result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        writers.shutdownNow();
+    }
+
+    // ==================== Stages ====================
+
+    private long persist(BlockingQueue<List<IndexedInput>> queue, String userId, ErrorReport errors)
+            throws InterruptedException {
+        long created = 0;
+        for (List<IndexedInput> chunk = queue.take(); chunk != END_OF_INPUT; chunk = queue.take()) {
+            for (CreateShipmentResult result : shipmentBulkService.insertValidated(chunk, userId)) {
+                if (result.getError() == null) {
+                    created++;
+                } else {
+                    errors.add(result.getIndex(), result.getError());
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Block while the queue is full, but give up as soon as the writer has died
+     */
+    private static void handOff(BlockingQueue<List<IndexedInput>> queue, List<IndexedInput> chunk, Future<Long> writer) {
+        try {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    await(writer);
+                    throw new IllegalStateException("Import writer stopped early");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        }
+    }
+
+    private static long await(Future<Long> writer) {
+        try {
+            return writer.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Import failed: "
+                    + NestedExceptionUtils.getMostSpecificCause(e.getCause()).getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted", e);
+        }
+    }
+
+    // ==================== Parsing ====================
+
+    private static List<String> header(List<String> names) {
+        if (names == null) {
+            throw new RuntimeException("Import file is empty");
+        }
+        List<String> columns = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).strip();
+            if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+            if (!COLUMNS.containsKey(name)) {
+                throw new RuntimeException("Unknown import column '" + name + "', expected any of " + COLUMNS.keySet());
+            }
+            columns.add(name);
+        }
+        return columns;
+    }
+
+    /**
+     * Copy the record into the input; returns the first conversion error, or {@code null}.
+     * Blank cells are left unset so validation reports missing required fields.
+     */
+    private static String parse(List<String> record, List<String> columns, CreateShipmentInput input) {
+        if (record.size() != columns.size()) {
+            return "Expected " + columns.size() + " fields but found " + record.size();
+        }
+        for (int i = 0; i < record.size(); i++) {
+            String value = record.get(i).strip();
+            if (value.isEmpty()) continue;
+            try {
+                COLUMNS.get(columns.get(i)).accept(input, value);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                return "Invalid " + columns.get(i) + " '" + value + "'";
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, BiConsumer<CreateShipmentInput, String>> columns() {
+        Map<String, BiConsumer<CreateShipmentInput, String>> columns = new LinkedHashMap<>();
+        columns.put("shipperName", CreateShipmentInput::setShipperName);
+        columns.put("shipperPhone", CreateShipmentInput::setShipperPhone);
+        columns.put("shipperEmail", CreateShipmentInput::setShipperEmail);
+        columns.put("shipperAddress", CreateShipmentInput::setShipperAddress);
+        columns.put("shipperCity", CreateShipmentInput::setShipperCity);
+        columns.put("shipperState", CreateShipmentInput::setShipperState);
+        columns.put("shipperZip", CreateShipmentInput::setShipperZip);
+        columns.put("consigneeName", CreateShipmentInput::setConsigneeName);
+        columns.put("consigneePhone", CreateShipmentInput::setConsigneePhone);
+        columns.put("consigneeEmail", CreateShipmentInput::setConsigneeEmail);
+        columns.put("consigneeAddress", CreateShipmentInput::setConsigneeAddress);
+        columns.put("consigneeCity", CreateShipmentInput::setConsigneeCity);
+        columns.put("consigneeState", CreateShipmentInput::setConsigneeState);
+        columns.put("consigneeZip", CreateShipmentInput::setConsigneeZip);
+        columns.put("cargoDescription", CreateShipmentInput::setCargoDescription);
+        columns.put("weight", converted(Double::valueOf, CreateShipmentInput::setWeight));
+        columns.put("dimensions", CreateShipmentInput::setDimensions);
+        columns.put("vehicleType", converted(value -> VehicleType.valueOf(value.toUpperCase(Locale.ROOT)),
+                CreateShipmentInput::setVehicleType));
+        columns.put("estimatedRate", converted(Double::valueOf, CreateShipmentInput::setEstimatedRate));
+        columns.put("currency", CreateShipmentInput::setCurrency);
+        columns.put("pickupDate", converted(LocalDate::parse, CreateShipmentInput::setPickupDate));
+        columns.put("estimatedDelivery", converted(LocalDate::parse, CreateShipmentInput::setEstimatedDelivery));
+        columns.put("notes", CreateShipmentInput::setNotes);
+        return Collections.unmodifiableMap(columns);
+    }
+
+    private static <T> BiConsumer<CreateShipmentInput, String> converted(Function<String, T> converter,
+                                                                         BiConsumer<CreateShipmentInput, T> setter) {
+        return (input, value) -> setter.accept(input, converter.apply(value));
+    }
+
+    /**
+     * CSV of rejected rows, written by both stages
+     */
+    private static final class ErrorReport {
+
+        private final Writer writer;
+
+        ErrorReport(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write("line,error\r\n");
+        }
+
+        synchronized void add(long line, String error) {
+            try {
+                writer.write(line + "," + Csv.escape(error == null ? "" : error) + "\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -1,55 +1,256 @@
 package com.transport.tms.service;
 
+import com.transport.tms.dto.CountMode;
+import com.transport.tms.dto.PageInfo;
 import com.transport.tms.dto.PaginatedShipments;
 import com.transport.tms.dto.PaginationMeta;
+import com.transport.tms.dto.ShipmentConnection;
+import com.transport.tms.dto.ShipmentEdge;
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.geo.ZipGeoIndex;
 import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentEvent;
 import com.transport.tms.model.ShipmentStatus;
-import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentEventRepository;
 import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.ShipmentSpecifications;
+import com.transport.tms.search.ShipmentSearchIndex;
+import com.transport.tms.tracking.TrackingNumberGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ShipmentService {
 
+    private static final Set<String> CURSOR_SORT_KEYS = Set.of("createdAt", "updatedAt", "pickupDate");
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private static final Set<String> FLAG_SORT_KEYS = Set.of("flaggedAt");
+
+    private static final int MAX_FLAG_REASON_LENGTH = 500;
+
+    private static final double MAX_NEAR_RADIUS_MILES = 500;
+
+    private static final int ZIP_IN_LIST_SIZE = 1_000;
+
     @Autowired
     private ShipmentRepository shipmentRepository;
 
-    public PaginatedShipments findAll(ShipmentStatus status, String trackingNumber,
-                                     String createdById, String driverId,
-                                     VehicleType vehicleType,
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private ShipmentCountEstimator shipmentCountEstimator;
+
+    @Autowired
+    private ShipmentSearchIndex shipmentSearchIndex;
+
+    @Autowired
+    private ZipGeoIndex zipGeoIndex;
+
+    @Autowired
+    private ShipmentTrackingCache shipmentTrackingCache;
+
+    @Autowired
+    private TrackingNumberGenerator trackingNumberGenerator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Offset pagination. The COUNT behind {@link PaginationMeta#getTotal()} only runs for
+     * {@link CountMode#EXACT}; otherwise one extra row is read to answer hasNextPage.
+     */
+    public PaginatedShipments findAll(ShipmentFilterInput filter,
                                      Integer page, Integer limit,
-                                     String sortBy, String sortOrder) {
+                                     String sortBy, String sortOrder,
+                                     CountMode countMode) {
         Sort sort = Sort.by(sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
         Pageable pageable = PageRequest.of(page - 1, limit, sort);
+        Specification<Shipment> spec = ShipmentSpecifications.fromFilter(filter, shipmentSearchIndex::matchingIds);
+
+        if (countMode == CountMode.EXACT) {
+            Page<Shipment> shipmentPage = shipmentRepository.findAll(spec, pageable);
 
-        Page<Shipment> shipmentPage;
+            PaginationMeta meta = new PaginationMeta(
+                    (int) shipmentPage.getTotalElements(),
+                    page,
+                    limit,
+                    shipmentPage.getTotalPages(),
+                    shipmentPage.hasNext(),
+                    shipmentPage.hasPrevious()
+            );
 
-        if (status != null) {
-            shipmentPage = shipmentRepository.findAll((root, query, cb) -> cb.equal(root.get("status"), status), pageable);
-        } else {
-            shipmentPage = shipmentRepository.findAll(pageable);
+            return new PaginatedShipments(shipmentPage.getContent(), meta);
         }
 
+        Window<Shipment> window = shipmentRepository.findBy(spec,
+                query -> query.sortBy(sort).limit(limit).scroll(offsetPosition(pageable.getOffset())));
+
+        Integer total = countMode == CountMode.ESTIMATED ? (int) shipmentCountEstimator.estimate(filter) : null;
         PaginationMeta meta = new PaginationMeta(
-                (int) shipmentPage.getTotalElements(),
+                total,
                 page,
                 limit,
-                shipmentPage.getTotalPages(),
-                shipmentPage.hasNext(),
-                shipmentPage.hasPrevious()
+                total != null ? (int) Math.ceil((double) total / limit) : null,
+                window.hasNext(),
+                page > 1
         );
 
-        return new PaginatedShipments(shipmentPage.getContent(), meta);
+        return new PaginatedShipments(window.getContent(), meta);
+    }
+
+    /**
+     * Keyset pagination: seeks past the cursor on (sortBy, id) instead of skipping OFFSET rows,
+     * and reads one extra row to answer hasNextPage without a COUNT
+     */
+    public ShipmentConnection findConnection(ShipmentFilterInput filter, Integer first, String after,
+                                             String sortBy, String sortOrder) {
+        Sort sort = KeysetCursor.sort(sortBy, sortOrder, CURSOR_SORT_KEYS);
+        KeysetScrollPosition position = KeysetCursor.decode(after, sort);
+        return connection(ShipmentSpecifications.fromFilter(filter, shipmentSearchIndex::matchingIds),
+                sort, position, KeysetCursor.pageSize(first));
+    }
+
+    /**
+     * The review queue: flagged shipments, longest waiting first, read from the flagged-row index
+     */
+    public ShipmentConnection findFlagged(Integer first, String after) {
+        Sort sort = KeysetCursor.sort("flaggedAt", "asc", FLAG_SORT_KEYS);
+        return connection(ShipmentSpecifications.isFlagged(), sort, KeysetCursor.decode(after, sort),
+                KeysetCursor.pageSize(first));
+    }
+
+    private ShipmentConnection connection(Specification<Shipment> spec, Sort sort,
+                                          KeysetScrollPosition position, int pageSize) {
+        Window<Shipment> window = shipmentRepository.findBy(spec,
+                query -> query.sortBy(sort).limit(pageSize).scroll(position));
+
+        List<ShipmentEdge> edges = new ArrayList<>(window.size());
+        for (int i = 0; i < window.size(); i++) {
+            edges.add(new ShipmentEdge(KeysetCursor.encode(window.positionAt(i)), window.getContent().get(i)));
+        }
+
+        PageInfo pageInfo = KeysetCursor.pageInfo(edges.stream().map(ShipmentEdge::getCursor).toList(),
+                window.hasNext(), !position.isInitial());
+        return new ShipmentConnection(edges, pageInfo);
+    }
+
+    /**
+     * Best-ranked matches for a free-text term: ids come from the search index, rows from one
+     * {@code findAllById}. Before the index is built the same match runs in SQL, newest first.
+     */
+    public List<Shipment> search(String term, Integer limit) {
+        int size = Math.min(limit != null && limit > 0 ? limit : DEFAULT_SEARCH_LIMIT, ShipmentSearchIndex.MAX_FILTER_MATCHES);
+        if (term == null || term.isBlank()) {
+            return List.of();
+        }
+        if (!shipmentSearchIndex.isReady()) {
+            return shipmentRepository.findBy(ShipmentSpecifications.matchesSearch(term),
+                    query -> query.sortBy(Sort.by(Sort.Direction.DESC, "createdAt")).limit(size).all());
+        }
+
+        List<String> ids = shipmentSearchIndex.search(term, size);
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<Shipment> shipments = new ArrayList<>(shipmentRepository.findAllById(ids));
+        shipments.sort(Comparator.comparing(shipment -> rank.get(shipment.getId())));
+        return shipments;
+    }
+
+    /**
+     * Shipments picked up within {@code radiusMiles} of the ZIP, nearest first. The ZIPs in range
+     * come from {@link ZipGeoIndex}, closest first, including ZIPs it only places by their prefix,
+     * and are grouped by equal distance. Shipper ZIPs are matched by their first five characters,
+     * so ZIP+4 values are found too.
+     *
+     * Groups are read in distance order, in batches that double in size up to {@value #ZIP_IN_LIST_SIZE}
+     * ZIPs, and no read asks for more rows than are still missing. A batch that comes back short holds
+     * all its rows; one that fills the limit is read again a group at a time, so nearer rows are never
+     * dropped for farther ones. Reading stops once {@code limit} rows are in hand.
+     */
+    public List<Shipment> findNear(String zip, double radiusMiles, Integer limit) {
+        if (!(radiusMiles >= 0 && radiusMiles <= MAX_NEAR_RADIUS_MILES)) {
+            throw new RuntimeException("Radius must be between 0 and " + MAX_NEAR_RADIUS_MILES + " miles");
+        }
+        int size = Math.min(limit != null && limit > 0 ? limit : DEFAULT_SEARCH_LIMIT, ShipmentSearchIndex.MAX_FILTER_MATCHES);
+
+        List<ZipGeoIndex.Nearby> nearby = new ArrayList<>(zipGeoIndex.within(zip, radiusMiles));
+        nearby.addAll(zipGeoIndex.fallbackWithin(zip, radiusMiles));
+        nearby.sort(Comparator.comparingDouble(ZipGeoIndex.Nearby::miles).thenComparing(ZipGeoIndex.Nearby::zip));
+        Map<String, Double> miles = new HashMap<>();
+        List<List<String>> groups = new ArrayList<>();
+        for (int i = 0; i < nearby.size(); i++) {
+            ZipGeoIndex.Nearby place = nearby.get(i);
+            miles.put(place.zip(), place.miles());
+            if (i == 0 || place.miles() != nearby.get(i - 1).miles()) groups.add(new ArrayList<>());
+            groups.get(groups.size() - 1).add(place.zip());
+        }
+
+        List<ShipmentRepository.ShipperZipRow> rows = new ArrayList<>();
+        int next = 0;
+        for (int batchGroups = 1; next < groups.size() && rows.size() < size; batchGroups = Math.min(2 * batchGroups, ZIP_IN_LIST_SIZE)) {
+            int end = next;
+            List<String> zips = new ArrayList<>();
+            while (end < groups.size() && end - next < batchGroups
+                    && (zips.isEmpty() || zips.size() + groups.get(end).size() <= ZIP_IN_LIST_SIZE)) {
+                zips.addAll(groups.get(end++));
+            }
+            List<ShipmentRepository.ShipperZipRow> batch = nearestRows(zips, size - rows.size());
+            if (batch.size() < size - rows.size() || end - next == 1) {
+                rows.addAll(batch);
+            } else {
+                for (int group = next; group < end && rows.size() < size; group++) {
+                    rows.addAll(nearestRows(groups.get(group), size - rows.size()));
+                }
+            }
+            next = end;
+        }
+        rows.sort(Comparator.comparingDouble((ShipmentRepository.ShipperZipRow row) -> miles.get(row.getShipperZip5()))
+                .thenComparing(ShipmentRepository.ShipperZipRow::getId));
+
+        List<String> ids = rows.subList(0, Math.min(size, rows.size())).stream()
+                .map(ShipmentRepository.ShipperZipRow::getId).toList();
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<Shipment> shipments = new ArrayList<>(shipmentRepository.findAllById(ids));
+        shipments.sort(Comparator.comparing(shipment -> rank.get(shipment.getId())));
+        return shipments;
+    }
+
+    // Ties within one distance are broken by id, as the final ordering does
+    private List<ShipmentRepository.ShipperZipRow> nearestRows(List<String> zips, int limit) {
+        return shipmentRepository.findShipperZipRows(zips, PageRequest.of(0, limit, Sort.by("id")));
+    }
+
+    // An offset position names the last row already consumed, not the first row to read
+    private static ScrollPosition offsetPosition(long skip) {
+        return skip == 0 ? ScrollPosition.offset() : ScrollPosition.offset(skip - 1);
     }
 
     public Shipment findById(String id) {
@@ -57,21 +258,55 @@ public class ShipmentService {
                 .orElseThrow(() -> new RuntimeException("Shipment not found with id: " + id));
     }
 
+    /**
+     * Numbers that fail the format or check digit are rejected without a cache or database lookup
+     */
     public Shipment findByTrackingNumber(String trackingNumber) {
-        return shipmentRepository.findByTrackingNumber(trackingNumber)
-                .orElseThrow(() -> new RuntimeException("Shipment not found with tracking number: " + trackingNumber));
+        String normalized = trackingNumberGenerator.normalize(trackingNumber);
+        if (normalized == null) {
+            throw new RuntimeException("Invalid tracking number: " + trackingNumber);
+        }
+        Shipment shipment = shipmentTrackingCache.get(normalized,
+                key -> shipmentRepository.findByTrackingNumber(key).orElse(null));
+        if (shipment == null) {
+            throw new RuntimeException("Shipment not found with tracking number: " + trackingNumber);
+        }
+        return shipment;
+    }
+
+    /**
+     * Journal entries of each shipment, oldest first, in one query
+     */
+    public Map<String, List<ShipmentEvent>> findTimelines(List<String> shipmentIds) {
+        Map<String, List<ShipmentEvent>> timelines = new HashMap<>();
+        for (ShipmentEvent event : shipmentEventRepository.findTimelines(shipmentIds)) {
+            timelines.computeIfAbsent(event.getShipmentId(), id -> new ArrayList<>()).add(event);
+        }
+        return timelines;
     }
 
     @Transactional
     public Shipment create(Shipment shipment, String userId) {
         shipment.setCreatedById(userId);
         shipment.setStatus(ShipmentStatus.PENDING);
-        return shipmentRepository.save(shipment);
+        shipment.setTrackingNumber(trackingNumberGenerator.next());
+        Shipment saved = shipmentRepository.save(shipment);
+        journal(saved, null);
+        return publish(ShipmentChangedEvent.created(saved));
     }
 
+    /**
+     * Save a loaded shipment whose fields were changed in place; a status change is validated and journaled
+     */
     @Transactional
     public Shipment updateShipment(Shipment shipment) {
-        return shipmentRepository.save(shipment);
+        ShipmentStatus previous = shipment.getPersistedStatus();
+        if (previous != null && shipment.getStatus() != previous) {
+            ShipmentStatus target = shipment.getStatus();
+            shipment.setStatus(previous);
+            moveTo(shipment, target);
+        }
+        return publish(ShipmentChangedEvent.updated(shipmentRepository.save(shipment)));
     }
 
     @Deprecated
@@ -80,35 +315,77 @@ public class ShipmentService {
                           LocalDate deliveryDate, String notes) {
         Shipment shipment = findById(id);
 
-        if (status != null) shipment.setStatus(status);
+        if (status != null && status != shipment.getStatus()) moveTo(shipment, status);
         if (actualRate != null) shipment.setActualRate(actualRate);
         if (deliveryDate != null) shipment.setDeliveryDate(deliveryDate);
         if (notes != null) shipment.setNotes(notes);
 
-        return shipmentRepository.save(shipment);
+        return publish(ShipmentChangedEvent.updated(shipmentRepository.save(shipment)));
     }
 
     @Transactional
     public Shipment delete(String id) {
         Shipment shipment = findById(id);
         shipmentRepository.delete(shipment);
-        return shipment;
+        return publish(ShipmentChangedEvent.deleted(shipment));
     }
 
     @Transactional
     public Shipment assignDriver(String shipmentId, String driverId) {
         Shipment shipment = findById(shipmentId);
         shipment.setDriverId(driverId);
-        shipment.setStatus(ShipmentStatus.ASSIGNED);
-        return shipmentRepository.save(shipment);
+        moveTo(shipment, ShipmentStatus.ASSIGNED);
+        return publish(ShipmentChangedEvent.updated(shipmentRepository.save(shipment)));
     }
 
+    /**
+     * Put the shipment in the review queue; flagging it again replaces the reason and moves it to the back
+     */
     @Transactional
-    public Shipment flagShipment(String id) {
+    public Shipment flagShipment(String id, String reason, String userId) {
+        if (reason != null && reason.length() > MAX_FLAG_REASON_LENGTH) {
+            throw new RuntimeException("Flag reason must be at most " + MAX_FLAG_REASON_LENGTH + " characters");
+        }
         Shipment shipment = findById(id);
-        String flagNote = "[FLAGGED FOR REVIEW - " + Instant.now() + "]";
-        String currentNotes = shipment.getNotes();
-        shipment.setNotes(currentNotes != null ? currentNotes + "\n" + flagNote : flagNote);
-        return shipmentRepository.save(shipment);
+        shipment.setFlagged(true);
+        shipment.setFlagReason(reason);
+        shipment.setFlaggedAt(Instant.now());
+        shipment.setFlaggedById(userId);
+        return publish(ShipmentChangedEvent.updated(shipmentRepository.save(shipment)));
+    }
+
+    @Transactional
+    public Shipment clearFlag(String id) {
+        Shipment shipment = findById(id);
+        shipment.setFlagged(false);
+        shipment.setFlagReason(null);
+        shipment.setFlaggedAt(null);
+        shipment.setFlaggedById(null);
+        return publish(ShipmentChangedEvent.updated(shipmentRepository.save(shipment)));
+    }
+
+    /**
+     * Apply a status change allowed by the transition table and append it to the journal
+     */
+    private void moveTo(Shipment shipment, ShipmentStatus target) {
+        ShipmentStatus current = shipment.getStatus();
+        if (!current.canMoveTo(target)) {
+            throw new RuntimeException("Cannot move shipment " + shipment.getTrackingNumber()
+                    + " from " + current + " to " + target);
+        }
+        shipment.setStatus(target);
+        journal(shipment, current);
+    }
+
+    private void journal(Shipment shipment, ShipmentStatus fromStatus) {
+        String driverId = shipment.getStatus() == ShipmentStatus.ASSIGNED ? shipment.getDriverId() : null;
+        shipmentEventRepository.save(ShipmentEvent.of(shipment.getId(), fromStatus, shipment.getStatus(),
+                driverId, Instant.now()));
+    }
+
+    // Listeners run after commit, so derived state never sees a rolled-back write
+    private Shipment publish(ShipmentChangedEvent event) {
+        eventPublisher.publishEvent(event);
+        return event.shipment();
     }
 }
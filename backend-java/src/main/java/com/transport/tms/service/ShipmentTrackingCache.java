@@ -0,0 +1,68 @@
+package com.transport.tms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.model.Shipment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache in front of {@code trackShipment}, keyed by tracking number.
+ *
+ * Caffeine evicts by W-TinyLFU, so a burst of one-off lookups cannot push out the shipments
+ * customers keep polling. Misses are not cached. Every committed write evicts its tracking number;
+ * a load that raced the commit is evicted too, because invalidation waits for in-flight loads of the key.
+ *
+ * Hit, miss and eviction counts are published as the {@code cache.*} meters with {@code cache=shipment-tracking}.
+ */
+@Component
+public class ShipmentTrackingCache {
+
+    static final String CACHE_NAME = "shipment-tracking";
+
+    private final Cache<String, Shipment> cache;
+
+    @Autowired
+    public ShipmentTrackingCache(@Value("${tms.tracking-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${tms.tracking-cache.ttl:5m}") Duration ttl,
+                                 MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * The cached shipment, or the loader's result, which is cached unless it is {@code null}
+     */
+    public Shipment get(String trackingNumber, Function<String, Shipment> loader) {
+        return cache.get(trackingNumber, loader);
+    }
+
+    public void invalidate(String trackingNumber) {
+        if (trackingNumber != null) {
+            cache.invalidate(trackingNumber);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        invalidate(event.shipment().getTrackingNumber());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentsBulkUpdated(ShipmentsBulkUpdatedEvent event) {
+        cache.invalidateAll(event.trackingNumbers());
+    }
+}
@@ -1,43 +1,79 @@
 package com.transport.tms.service;
 
+import com.transport.tms.assignment.DriverWorkloadIndex;
+import com.transport.tms.dto.CountMode;
+import com.transport.tms.dto.DriverSort;
+import com.transport.tms.dto.DriverWorkload;
+import com.transport.tms.dto.PageInfo;
 import com.transport.tms.dto.PaginatedUsers;
 import com.transport.tms.dto.PaginationMeta;
+import com.transport.tms.dto.UserConnection;
+import com.transport.tms.dto.UserEdge;
+import com.transport.tms.dto.input.UserFilterInput;
 import com.transport.tms.model.User;
 import com.transport.tms.model.UserRole;
 import com.transport.tms.repository.UserRepository;
+import com.transport.tms.repository.UserSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
+    private static final Set<String> CURSOR_SORT_KEYS = Set.of("createdAt", "updatedAt");
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private DriverWorkloadIndex driverWorkloadIndex;
+
+    /**
+     * Offset pagination, see {@link ShipmentService#findAll}. The users table is small, so
+     * {@link CountMode#ESTIMATED} simply runs the exact count.
+     */
     public PaginatedUsers findAll(UserRole role, Boolean isActive, String search,
-                                  Integer page, Integer limit, String sortBy, String sortOrder) {
+                                  Integer page, Integer limit, String sortBy, String sortOrder,
+                                  CountMode countMode) {
         Sort sort = Sort.by(sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy);
         Pageable pageable = PageRequest.of(page - 1, limit, sort);
 
-        // Simple filtering - in production, use Specifications for complex queries
-        Page<User> userPage;
-        if (role != null) {
-            userPage = userRepository.findAll((root, query, cb) -> cb.equal(root.get("role"), role), pageable);
-        } else {
-            userPage = userRepository.findAll(pageable);
+        Specification<User> spec = role != null ? UserSpecifications.hasRole(role) : Specification.allOf();
+
+        if (countMode == CountMode.NONE) {
+            Window<User> window = userRepository.findBy(spec,
+                    query -> query.sortBy(sort).limit(limit).scroll(offsetPosition(pageable.getOffset())));
+            window.getContent().forEach(user -> user.setPassword(null));
+
+            PaginationMeta meta = new PaginationMeta(null, page, limit, null, window.hasNext(), page > 1);
+            return new PaginatedUsers(window.getContent(), meta);
         }
 
+        Page<User> userPage = userRepository.findAll(spec, pageable);
+
         // Remove passwords from all users
         userPage.getContent().forEach(user -> user.setPassword(null));
 
@@ -54,6 +90,35 @@ public class UserService {
         return new PaginatedUsers(userPage.getContent(), meta);
     }
 
+    /**
+     * Keyset pagination over users, see {@link ShipmentService#findConnection}
+     */
+    public UserConnection findConnection(UserFilterInput filter, Integer first, String after,
+                                         String sortBy, String sortOrder) {
+        Sort sort = KeysetCursor.sort(sortBy, sortOrder, CURSOR_SORT_KEYS);
+        KeysetScrollPosition position = KeysetCursor.decode(after, sort);
+        int pageSize = KeysetCursor.pageSize(first);
+
+        Window<User> window = userRepository.findBy(UserSpecifications.fromFilter(filter),
+                query -> query.sortBy(sort).limit(pageSize).scroll(position));
+
+        List<UserEdge> edges = new ArrayList<>(window.size());
+        for (int i = 0; i < window.size(); i++) {
+            User user = window.getContent().get(i);
+            user.setPassword(null);
+            edges.add(new UserEdge(KeysetCursor.encode(window.positionAt(i)), user));
+        }
+
+        PageInfo pageInfo = KeysetCursor.pageInfo(edges.stream().map(UserEdge::getCursor).toList(),
+                window.hasNext(), !position.isInitial());
+        return new UserConnection(edges, pageInfo);
+    }
+
+    // An offset position names the last row already consumed, not the first row to read
+    private static ScrollPosition offsetPosition(long skip) {
+        return skip == 0 ? ScrollPosition.offset() : ScrollPosition.offset(skip - 1);
+    }
+
     public User findById(String id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
@@ -61,9 +126,43 @@ public class UserService {
         return user;
     }
 
-    public List<User> findDrivers() {
-        List<User> drivers = userRepository.findByRole(UserRole.DRIVER);
+    /**
+     * Load several users with a single IN query, keyed by id
+     */
+    public Map<String, User> findAllByIds(Collection<String> ids) {
+        Set<String> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, User> usersById = new HashMap<>();
+        for (User user : userRepository.findAllById(distinctIds)) {
+            user.setPassword(null);
+            usersById.put(user.getId(), user);
+        }
+        return usersById;
+    }
+
+    /**
+     * Drivers, optionally only those with room for more shipments and ordered by load. Loads come
+     * from {@link DriverWorkloadIndex}, so this reads the users table and nothing else.
+     */
+    public List<User> findDrivers(Boolean available, DriverSort sortBy) {
+        List<User> drivers = new ArrayList<>(userRepository.findByRole(UserRole.DRIVER));
         drivers.forEach(driver -> driver.setPassword(null));
+        if (available == null && sortBy == null) {
+            return drivers;
+        }
+
+        Map<String, DriverWorkload> workloads = new HashMap<>();
+        drivers.forEach(driver -> workloads.put(driver.getId(), driverWorkloadIndex.workload(driver)));
+        if (available != null) {
+            drivers.removeIf(driver -> workloads.get(driver.getId()).isAvailable() != available);
+        }
+        if (sortBy == DriverSort.LOAD) {
+            drivers.sort(Comparator.comparingInt((User driver) -> workloads.get(driver.getId()).getActiveShipments())
+                    .thenComparingDouble(driver -> workloads.get(driver.getId()).getActiveWeight()));
+        }
         return drivers;
     }
 
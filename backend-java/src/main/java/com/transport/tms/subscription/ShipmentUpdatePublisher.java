@@ -0,0 +1,282 @@
+package com.transport.tms.subscription;
+
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.search.SearchDocument;
+import com.transport.tms.search.ShipmentSearchIndex;
+import com.transport.tms.tracking.TrackingNumberGenerator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * In-process fan-out of committed shipment changes to GraphQL subscriptions.
+ *
+ * Subscribers by tracking number are looked up in a map, so an update costs nothing for the
+ * thousands of pages watching other shipments; filter subscribers are tested one by one in memory.
+ *
+ * Each subscriber keeps only the latest pending version of every shipment. Updates arriving within
+ * {@code tms.subscriptions.conflation-window} of each other are delivered once, and a client that
+ * reads slower than shipments change just sees fewer, newer versions. Delivery runs on virtual
+ * threads, so a slow socket never holds up the committing request or other subscribers.
+ * A subscriber with more than {@code tms.subscriptions.max-pending} undelivered shipments is dropped.
+ */
+@Component
+public class ShipmentUpdatePublisher implements DisposableBean {
+
+    static final int RELOAD_BATCH_SIZE = 1_000;
+
+    private final ShipmentRepository shipmentRepository;
+
+    private final TrackingNumberGenerator trackingNumberGenerator;
+
+    private final Duration conflationWindow;
+
+    private final int maxPending;
+
+    private final Map<String, Set<Subscriber>> byTrackingNumber = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> filtered = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "shipment-updates-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService delivery = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("shipment-updates-", 0).factory());
+
+    @Autowired
+    public ShipmentUpdatePublisher(ShipmentRepository shipmentRepository,
+                                   TrackingNumberGenerator trackingNumberGenerator,
+                                   @Value("${tms.subscriptions.conflation-window:250ms}") Duration conflationWindow,
+                                   @Value("${tms.subscriptions.max-pending:1000}") int maxPending,
+                                   MeterRegistry meterRegistry) {
+        this.shipmentRepository = shipmentRepository;
+        this.trackingNumberGenerator = trackingNumberGenerator;
+        this.conflationWindow = conflationWindow;
+        this.maxPending = maxPending;
+        Gauge.builder("shipment.subscriptions", byTrackingNumber,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .tag("kind", "tracking-number").register(meterRegistry);
+        Gauge.builder("shipment.subscriptions", filtered, Set::size)
+                .tag("kind", "filter").register(meterRegistry);
+    }
+
+    /**
+     * Every later version of the shipment; completes when the shipment is deleted
+     */
+    public Flux<Shipment> forTrackingNumber(String requestedTrackingNumber) {
+        String trackingNumber = trackingNumberGenerator.normalize(requestedTrackingNumber);
+        if (trackingNumber == null) {
+            throw new RuntimeException("Invalid tracking number: " + requestedTrackingNumber);
+        }
+        return Flux.create(sink -> {
+            Subscriber subscriber = new Subscriber(sink, shipment -> true);
+            byTrackingNumber.compute(trackingNumber, (key, subscribers) -> {
+                Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+            sink.onRequest(n -> subscriber.deliverSoon(Duration.ZERO));
+            sink.onDispose(() -> byTrackingNumber.computeIfPresent(trackingNumber, (key, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            }));
+        });
+    }
+
+    /**
+     * Every created or updated shipment that matches the filter from then on
+     */
+    public Flux<Shipment> forFilter(ShipmentFilterInput filter) {
+        Predicate<Shipment> matches = matcher(filter);
+        return Flux.create(sink -> {
+            Subscriber subscriber = new Subscriber(sink, matches);
+            filtered.add(subscriber);
+            sink.onRequest(n -> subscriber.deliverSoon(Duration.ZERO));
+            sink.onDispose(() -> filtered.remove(subscriber));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentChanged(ShipmentChangedEvent event) {
+        Shipment shipment = event.shipment();
+        if (event.type() == ShipmentChangedEvent.ChangeType.DELETED) {
+            Set<Subscriber> subscribers = byTrackingNumber.get(shipment.getTrackingNumber());
+            if (subscribers != null) subscribers.forEach(Subscriber::completeAfterDelivery);
+            return;
+        }
+        publish(shipment);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShipmentsBulkUpdated(ShipmentsBulkUpdatedEvent event) {
+        if (filtered.isEmpty() && event.trackingNumbers().stream().noneMatch(byTrackingNumber::containsKey)) {
+            return;
+        }
+        // The event only carries ids; reload the new versions off the committing thread
+        delivery.execute(() -> {
+            List<String> ids = event.ids();
+            for (int from = 0; from < ids.size(); from += RELOAD_BATCH_SIZE) {
+                shipmentRepository.findAllById(ids.subList(from, Math.min(from + RELOAD_BATCH_SIZE, ids.size())))
+                        .forEach(this::publish);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        delivery.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return byTrackingNumber.values().stream().mapToInt(Set::size).sum() + filtered.size();
+    }
+
+    private void publish(Shipment shipment) {
+        Set<Subscriber> subscribers = byTrackingNumber.get(shipment.getTrackingNumber());
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> subscriber.offer(shipment));
+        }
+        for (Subscriber subscriber : filtered) {
+            if (subscriber.filter.test(shipment)) subscriber.offer(shipment);
+        }
+    }
+
+    /**
+     * In-memory equivalent of {@code ShipmentSpecifications.fromFilter}
+     */
+    static Predicate<Shipment> matcher(ShipmentFilterInput filter) {
+        Predicate<Shipment> matches = shipment -> true;
+        if (filter == null) {
+            return matches;
+        }
+        if (filter.getStatus() != null) {
+            matches = matches.and(s -> s.getStatus() == filter.getStatus());
+        }
+        if (hasText(filter.getTrackingNumber())) {
+            matches = matches.and(s -> filter.getTrackingNumber().trim().equals(s.getTrackingNumber()));
+        }
+        if (hasText(filter.getCreatedById())) {
+            matches = matches.and(s -> filter.getCreatedById().equals(s.getCreatedById()));
+        }
+        if (hasText(filter.getDriverId())) {
+            matches = matches.and(s -> filter.getDriverId().equals(s.getDriverId()));
+        }
+        if (filter.getVehicleType() != null) {
+            matches = matches.and(s -> s.getVehicleType() == filter.getVehicleType());
+        }
+        if (hasText(filter.getShipperCity())) {
+            matches = matches.and(s -> filter.getShipperCity().trim().equals(s.getShipperCity()));
+        }
+        if (hasText(filter.getConsigneeCity())) {
+            matches = matches.and(s -> filter.getConsigneeCity().trim().equals(s.getConsigneeCity()));
+        }
+        if (hasText(filter.getSearch())) {
+            matches = matches.and(s -> ShipmentSearchIndex.matches(SearchDocument.of(s), filter.getSearch()));
+        }
+        return matches;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    /**
+     * One subscription: the latest undelivered version of each shipment, oldest change first
+     */
+    private final class Subscriber {
+
+        private final FluxSink<Shipment> sink;
+
+        private final Predicate<Shipment> filter;
+
+        // Guarded by this
+        private final LinkedHashMap<String, Shipment> pending = new LinkedHashMap<>();
+
+        private boolean delivering;
+
+        private boolean completing;
+
+        Subscriber(FluxSink<Shipment> sink, Predicate<Shipment> filter) {
+            this.sink = sink;
+            this.filter = filter;
+        }
+
+        void offer(Shipment shipment) {
+            synchronized (this) {
+                pending.put(shipment.getId(), shipment);
+                if (pending.size() > maxPending) {
+                    pending.clear();
+                    sink.error(new RuntimeException("Subscriber fell too far behind, please resubscribe"));
+                    return;
+                }
+            }
+            deliverSoon(conflationWindow);
+        }
+
+        void completeAfterDelivery() {
+            synchronized (this) {
+                completing = true;
+            }
+            deliverSoon(Duration.ZERO);
+        }
+
+        /**
+         * Start one delivery pass after the delay unless one is already scheduled or running
+         */
+        void deliverSoon(Duration delay) {
+            synchronized (this) {
+                if (delivering || (pending.isEmpty() && !completing)) return;
+                delivering = true;
+            }
+            if (delay.isZero()) {
+                delivery.execute(this::deliver);
+            } else {
+                timer.schedule(() -> delivery.execute(this::deliver), delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void deliver() {
+            while (true) {
+                Shipment next;
+                synchronized (this) {
+                    if (sink.isCancelled() || pending.isEmpty() || sink.requestedFromDownstream() == 0) {
+                        delivering = false;
+                        if (completing && pending.isEmpty()) sink.complete();
+                        return;
+                    }
+                    Iterator<Shipment> oldest = pending.values().iterator();
+                    next = oldest.next();
+                    oldest.remove();
+                }
+                sink.next(next);
+            }
+        }
+    }
+}
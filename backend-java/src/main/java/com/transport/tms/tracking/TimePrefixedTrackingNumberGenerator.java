@@ -0,0 +1,124 @@
+package com.transport.tms.tracking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 13-character tracking numbers: 12 Crockford base32 digits and a Luhn mod 32 check digit.
+ *
+ * The 60-bit payload is the second since {@link #EPOCH} (32 bits), the node id (8 bits) and a
+ * per-second sequence (20 bits). Numbers sort by issue time, nodes never collide, and issuing
+ * one is a single CAS with no random source. More than a million numbers in one second borrow
+ * the next second. At startup the sequence begins at the next second, so a restarted node never
+ * reissues a number from its previous run.
+ *
+ * The 32-char hex numbers issued before this generator are still accepted by {@link #normalize}.
+ */
+@Component
+public class TimePrefixedTrackingNumberGenerator implements TrackingNumberGenerator {
+
+    static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    static final int PAYLOAD_LENGTH = 12;
+
+    static final int NODE_BITS = 8;
+
+    static final int SEQUENCE_BITS = 20;
+
+    private static final Pattern LEGACY_FORMAT = Pattern.compile("[0-9a-f]{32}");
+
+    private final long node;
+
+    // (seconds since EPOCH << SEQUENCE_BITS) | sequence of the last number issued
+    private final AtomicLong lastState;
+
+    public TimePrefixedTrackingNumberGenerator(@Value("${tms.tracking-number.node-id:0}") int nodeId) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("tms.tracking-number.node-id must be between 0 and " + ((1 << NODE_BITS) - 1));
+        }
+        this.node = nodeId;
+        this.lastState = new AtomicLong(((currentSecond() + 1) << SEQUENCE_BITS) - 1);
+    }
+
+    @Override
+    public String next() {
+        long candidate = currentSecond() << SEQUENCE_BITS;
+        long state;
+        while (true) {
+            long previous = lastState.get();
+            state = candidate > previous ? candidate : previous + 1;
+            if (lastState.compareAndSet(previous, state)) {
+                break;
+            }
+        }
+        long seconds = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        return encode((seconds << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence);
+    }
+
+    @Override
+    public String normalize(String candidate) {
+        if (candidate == null) {
+            return null;
+        }
+        String trimmed = candidate.trim();
+        if (LEGACY_FORMAT.matcher(trimmed.toLowerCase(Locale.ROOT)).matches()) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        String upper = trimmed.toUpperCase(Locale.ROOT);
+        if (upper.length() != PAYLOAD_LENGTH + 1) {
+            return null;
+        }
+        for (int i = 0; i < upper.length(); i++) {
+            if (ALPHABET.indexOf(upper.charAt(i)) < 0) {
+                return null;
+            }
+        }
+        return checkDigit(upper.substring(0, PAYLOAD_LENGTH)) == upper.charAt(PAYLOAD_LENGTH) ? upper : null;
+    }
+
+    static String encode(long payload) {
+        char[] digits = new char[PAYLOAD_LENGTH + 1];
+        for (int i = PAYLOAD_LENGTH - 1; i >= 0; i--) {
+            digits[i] = ALPHABET.charAt((int) (payload & 31));
+            payload >>>= 5;
+        }
+        digits[PAYLOAD_LENGTH] = checkDigit(new String(digits, 0, PAYLOAD_LENGTH));
+        return new String(digits);
+    }
+
+    static long decode(String trackingNumber) {
+        long payload = 0;
+        for (int i = 0; i < PAYLOAD_LENGTH; i++) {
+            payload = (payload << 5) | ALPHABET.indexOf(trackingNumber.charAt(i));
+        }
+        return payload;
+    }
+
+    /**
+     * Luhn mod N over the base32 digits: catches every single-digit error and every adjacent
+     * transposition except 0 and Z
+     */
+    static char checkDigit(String payload) {
+        int base = ALPHABET.length();
+        int factor = 2;
+        int sum = 0;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int addend = factor * ALPHABET.indexOf(payload.charAt(i));
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / base + addend % base;
+        }
+        return ALPHABET.charAt((base - sum % base) % base);
+    }
+
+    private static long currentSecond() {
+        return (System.currentTimeMillis() - EPOCH.toEpochMilli()) / 1000;
+    }
+}
@@ -0,0 +1,17 @@
+package com.transport.tms.tracking;
+
+/**
+ * Issues shipment tracking numbers and recognizes them when customers type them back in.
+ *
+ * The default is {@link TimePrefixedTrackingNumberGenerator}; declare a {@code @Primary} bean to replace it.
+ */
+public interface TrackingNumberGenerator {
+
+    String next();
+
+    /**
+     * The stored form of a tracking number as typed by a customer, or {@code null} if it cannot
+     * be one this generator ever issued. Lets lookups reject typos without a database round trip.
+     */
+    String normalize(String candidate);
+}
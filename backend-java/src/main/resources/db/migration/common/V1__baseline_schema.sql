@@ -0,0 +1,68 @@
+-- Baseline schema for users and shipments.
+-- Matches what Hibernate used to generate with ddl-auto=update, so existing
+-- databases are baselined at this version instead of re-running it.
+
+CREATE TABLE "users" (
+    "id"        VARCHAR(255) NOT NULL,
+    "email"     VARCHAR(255) NOT NULL,
+    "password"  VARCHAR(255) NOT NULL,
+    "firstName" VARCHAR(255) NOT NULL,
+    "lastName"  VARCHAR(255) NOT NULL,
+    "role"      VARCHAR(255) NOT NULL,
+    "phone"     VARCHAR(255),
+    "isActive"  BOOLEAN      NOT NULL,
+    "createdAt" TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    "updatedAt" TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT "pk_users" PRIMARY KEY ("id"),
+    CONSTRAINT "uk_users_email" UNIQUE ("email"),
+    CONSTRAINT "ck_users_role" CHECK ("role" IN ('ADMIN', 'DISPATCHER', 'DRIVER', 'CUSTOMER'))
+);
+
+CREATE TABLE "shipments" (
+    "id"                VARCHAR(255)  NOT NULL,
+    "trackingNumber"    VARCHAR(255)  NOT NULL,
+    "status"            VARCHAR(255)  NOT NULL,
+
+    "shipperName"       VARCHAR(255)  NOT NULL,
+    "shipperPhone"      VARCHAR(255)  NOT NULL,
+    "shipperEmail"      VARCHAR(255),
+    "shipperAddress"    VARCHAR(255)  NOT NULL,
+    "shipperCity"       VARCHAR(255)  NOT NULL,
+    "shipperState"      VARCHAR(255)  NOT NULL,
+    "shipperZip"        VARCHAR(255)  NOT NULL,
+
+    "consigneeName"     VARCHAR(255)  NOT NULL,
+    "consigneePhone"    VARCHAR(255)  NOT NULL,
+    "consigneeEmail"    VARCHAR(255),
+    "consigneeAddress"  VARCHAR(255)  NOT NULL,
+    "consigneeCity"     VARCHAR(255)  NOT NULL,
+    "consigneeState"    VARCHAR(255)  NOT NULL,
+    "consigneeZip"      VARCHAR(255)  NOT NULL,
+
+    "cargoDescription"  VARCHAR(255)  NOT NULL,
+    "weight"            FLOAT(53)     NOT NULL,
+    "dimensions"        VARCHAR(255),
+    "vehicleType"       VARCHAR(255)  NOT NULL,
+
+    "estimatedRate"     FLOAT(53)     NOT NULL,
+    "actualRate"        FLOAT(53),
+    "currency"          VARCHAR(255)  NOT NULL,
+
+    "pickupDate"        DATE          NOT NULL,
+    "deliveryDate"      DATE,
+    "estimatedDelivery" DATE          NOT NULL,
+
+    "createdById"       VARCHAR(255)  NOT NULL,
+    "driverId"          VARCHAR(255),
+    "notes"             VARCHAR(2000),
+    "createdAt"         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    "updatedAt"         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT "pk_shipments" PRIMARY KEY ("id"),
+    CONSTRAINT "uk_shipments_tracking_number" UNIQUE ("trackingNumber"),
+    CONSTRAINT "ck_shipments_status"
+        CHECK ("status" IN ('PENDING', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED')),
+    CONSTRAINT "ck_shipments_vehicle_type" CHECK ("vehicleType" IN ('TRUCK', 'VAN', 'TRAILER', 'FLATBED')),
+    CONSTRAINT "fk_shipments_created_by" FOREIGN KEY ("createdById") REFERENCES "users" ("id"),
+    CONSTRAINT "fk_shipments_driver" FOREIGN KEY ("driverId") REFERENCES "users" ("id")
+);
@@ -0,0 +1,18 @@
+-- Composite indexes for the predicates and orderings the API actually issues.
+-- Each one leads with the equality column and ends with the sort key, so a
+-- filtered, ordered page is a single index range scan.
+
+-- shipments(filter: {status}) ordered by createdAt
+CREATE INDEX "idx_shipments_status_created_at" ON "shipments" ("status", "createdAt");
+
+-- a driver's shipments, usually narrowed to a status
+CREATE INDEX "idx_shipments_driver_status" ON "shipments" ("driverId", "status");
+
+-- shipments created by a user, newest first
+CREATE INDEX "idx_shipments_created_by_created_at" ON "shipments" ("createdById", "createdAt");
+
+-- unfiltered listing and keyset pagination on (createdAt, id)
+CREATE INDEX "idx_shipments_created_at_id" ON "shipments" ("createdAt", "id");
+
+-- users(filter: {role, isActive}) and drivers()
+CREATE INDEX "idx_users_role_active" ON "users" ("role", "isActive");
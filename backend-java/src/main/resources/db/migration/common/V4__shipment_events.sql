@@ -0,0 +1,22 @@
+-- Append-only journal of shipment status changes.
+-- No foreign key to shipments: events stay after a shipment is deleted.
+-- Not backfilled: the journal starts with the first change after this migration.
+
+CREATE TABLE "shipment_events" (
+    "id"          VARCHAR(255)  NOT NULL,
+    "shipmentId"  VARCHAR(255)  NOT NULL,
+    "fromStatus"  VARCHAR(255),
+    "toStatus"    VARCHAR(255)  NOT NULL,
+    "driverId"    VARCHAR(255),
+    "occurredAt"  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT "pk_shipment_events" PRIMARY KEY ("id"),
+    CONSTRAINT "ck_shipment_events_from_status"
+        CHECK ("fromStatus" IN ('PENDING', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED')),
+    CONSTRAINT "ck_shipment_events_to_status"
+        CHECK ("toStatus" IN ('PENDING', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED'))
+);
+
+-- shipment.timeline
+CREATE INDEX "idx_shipment_events_shipment_occurred_at" ON "shipment_events" ("shipmentId", "occurredAt");
+
@@ -0,0 +1,35 @@
+-- Daily shipment totals read by shipmentReport, kept current by ShipmentRollupJob.
+-- One row per UTC day the shipments were created on and combination of the grouping columns.
+
+CREATE TABLE "shipment_daily_rollups" (
+    "id"                  VARCHAR(255)  NOT NULL,
+    "createdOn"           DATE          NOT NULL,
+    "status"              VARCHAR(255)  NOT NULL,
+    "vehicleType"         VARCHAR(255)  NOT NULL,
+    "shipperState"        VARCHAR(255)  NOT NULL,
+    "consigneeState"      VARCHAR(255)  NOT NULL,
+    "shipments"           BIGINT        NOT NULL,
+    "totalWeight"         FLOAT(53)     NOT NULL,
+    "estimatedRateCents"  BIGINT        NOT NULL,
+    "revenueCents"        BIGINT        NOT NULL,
+
+    CONSTRAINT "pk_shipment_daily_rollups" PRIMARY KEY ("id"),
+    -- Also the index for date range reports and for replacing one day
+    CONSTRAINT "uk_shipment_daily_rollups_group"
+        UNIQUE ("createdOn", "status", "vehicleType", "shipperState", "consigneeState"),
+    CONSTRAINT "ck_shipment_daily_rollups_status"
+        CHECK ("status" IN ('PENDING', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED')),
+    CONSTRAINT "ck_shipment_daily_rollups_vehicle_type"
+        CHECK ("vehicleType" IN ('TRUCK', 'VAN', 'TRAILER', 'FLATBED'))
+);
+
+-- How far each incremental job has read
+CREATE TABLE "job_watermarks" (
+    "name"       VARCHAR(255)  NOT NULL,
+    "watermark"  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT "pk_job_watermarks" PRIMARY KEY ("name")
+);
+
+-- Shipments changed since the last rollup run
+CREATE INDEX "idx_shipments_updated_at" ON "shipments" ("updatedAt");
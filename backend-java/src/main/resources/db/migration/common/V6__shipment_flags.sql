@@ -0,0 +1,13 @@
+-- Structured review flags, replacing the "[FLAGGED FOR REVIEW - ...]" lines appended to notes.
+
+ALTER TABLE "shipments" ADD COLUMN "flagged" BOOLEAN DEFAULT FALSE NOT NULL;
+ALTER TABLE "shipments" ADD COLUMN "flagReason" VARCHAR(500);
+ALTER TABLE "shipments" ADD COLUMN "flaggedAt" TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE "shipments" ADD COLUMN "flaggedById" VARCHAR(255);
+ALTER TABLE "shipments" ADD CONSTRAINT "fk_shipments_flagged_by" FOREIGN KEY ("flaggedById") REFERENCES "users" ("id");
+
+-- Shipments flagged the old way join the queue; the note says when, but not in a parseable column,
+-- so the last update stands in for it
+UPDATE "shipments"
+SET "flagged" = TRUE, "flaggedAt" = "updatedAt", "flagReason" = 'Flagged in notes'
+WHERE "notes" LIKE '%[FLAGGED FOR REVIEW - %';
@@ -0,0 +1,6 @@
+-- The vehicle a driver operates, matched against shipment vehicle types by autoAssign.
+-- Null means the driver can take any vehicle type.
+
+ALTER TABLE "users" ADD COLUMN "vehicleType" VARCHAR(255);
+ALTER TABLE "users" ADD CONSTRAINT "ck_users_vehicle_type"
+    CHECK ("vehicleType" IN ('TRUCK', 'VAN', 'TRAILER', 'FLATBED'));
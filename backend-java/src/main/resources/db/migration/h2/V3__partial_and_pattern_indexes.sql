@@ -0,0 +1,7 @@
+-- H2 has neither partial indexes nor operator classes; plain indexes keep
+-- the same access paths available in tests.
+
+CREATE INDEX "idx_shipments_shipper_city" ON "shipments" ("shipperCity");
+CREATE INDEX "idx_shipments_consignee_city" ON "shipments" ("consigneeCity");
+CREATE INDEX "idx_shipments_shipper_name" ON "shipments" ("shipperName");
+CREATE INDEX "idx_shipments_consignee_name" ON "shipments" ("consigneeName");
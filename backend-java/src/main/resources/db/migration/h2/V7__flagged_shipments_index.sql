@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; leading with the flag gives the queue the same range scan.
+CREATE INDEX "idx_shipments_flagged_at" ON "shipments" ("flagged", "flaggedAt", "id");
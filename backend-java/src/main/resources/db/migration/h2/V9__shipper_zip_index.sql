@@ -0,0 +1,4 @@
+-- H2 has no expression indexes; shipmentsNear matches left("shipperZip", 5) against the plain
+-- column index, which keeps the same lookup available in tests.
+
+CREATE INDEX "idx_shipments_shipper_zip" ON "shipments" ("shipperZip");
@@ -0,0 +1,18 @@
+-- PostgreSQL-only indexes, built concurrently so writes to shipments carry on while they build.
+-- CONCURRENTLY cannot run in a transaction; see the .conf next to this script. IF NOT EXISTS lets a
+-- repaired, partly applied run pick up where it stopped.
+
+-- Active work is a small slice of the table; partial indexes keep it hot and small.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_active_driver" ON "shipments" ("driverId", "status")
+    WHERE "status" IN ('ASSIGNED', 'PICKED_UP', 'IN_TRANSIT');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_pending_pickup" ON "shipments" ("pickupDate")
+    WHERE "status" = 'PENDING';
+
+-- varchar_pattern_ops serves both equality and left-anchored LIKE regardless of collation,
+-- which is what the city filters and the search prefix match need.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_shipper_city" ON "shipments" ("shipperCity" varchar_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_consignee_city" ON "shipments" ("consigneeCity" varchar_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_shipper_name" ON "shipments" ("shipperName" varchar_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_consignee_name" ON "shipments" ("consigneeName" varchar_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_tracking_number_prefix" ON "shipments" ("trackingNumber" varchar_pattern_ops);
@@ -0,0 +1,3 @@
+-- flaggedShipments, oldest flag first. Flagged rows are a sliver of the table,
+-- so the partial index stays tiny and the queue never touches the rest.
+CREATE INDEX "idx_shipments_flagged_at" ON "shipments" ("flaggedAt", "id") WHERE "flagged";
@@ -0,0 +1,5 @@
+-- shipmentsNear looks shipments up by the first five characters of the shipper ZIP, so ZIP+4
+-- values match their ZIP. The expression matches what Hibernate renders for left(shipperZip, 5).
+-- Built concurrently so writes to shipments carry on; see the .conf next to this script.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_shipments_shipper_zip5" ON "shipments" (left("shipperZip", 5));
@@ -0,0 +1,63 @@
+package com.transport.tms;
+
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+
+import java.time.LocalDate;
+
+/**
+ * Entities and inputs shared by the integration tests; callers save them where they need to
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * An active user with a pre-encoded password, named after its role
+     */
+    public static User user(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("$2a$10$encodedpassword");
+        user.setFirstName("Test");
+        user.setLastName(role.name());
+        user.setRole(role);
+        user.setIsActive(true);
+        return user;
+    }
+
+    public static User user(String email, UserRole role, VehicleType vehicleType) {
+        User user = user(email, role);
+        user.setVehicleType(vehicleType);
+        return user;
+    }
+
+    /**
+     * A valid Dallas to Austin truck shipment picked up today
+     */
+    public static CreateShipmentInput shipmentInput(String shipperName) {
+        CreateShipmentInput input = new CreateShipmentInput();
+        input.setShipperName(shipperName);
+        input.setShipperPhone("555-0100");
+        input.setShipperAddress("1 Main St");
+        input.setShipperCity("Dallas");
+        input.setShipperState("TX");
+        input.setShipperZip("75201");
+        input.setConsigneeName("Globex");
+        input.setConsigneePhone("555-0200");
+        input.setConsigneeAddress("2 Side St");
+        input.setConsigneeCity("Austin");
+        input.setConsigneeState("TX");
+        input.setConsigneeZip("78701");
+        input.setCargoDescription("Pallets");
+        input.setWeight(1000.0);
+        input.setVehicleType(VehicleType.TRUCK);
+        input.setEstimatedRate(500.0);
+        input.setPickupDate(LocalDate.now());
+        input.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        return input;
+    }
+}
@@ -0,0 +1,132 @@
+package com.transport.tms.assignment;
+
+import com.transport.tms.dto.AssignmentReason;
+import com.transport.tms.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AssignmentEngine
+ *
+ * Testing Strategy:
+ * - Plain in-memory drivers and shipments, no Spring context
+ * - One test per rule: vehicle type, capacity, lane and state preference, load, pickup order
+ * - Assert which driver each shipment goes to and why
+ */
+@DisplayName("AssignmentEngine Unit Tests")
+class AssignmentEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 2);
+
+    @Test
+    @DisplayName("Plan - Should only match drivers with the shipment's vehicle type or none")
+    void plan_shouldMatchVehicleType() {
+        // Given
+        List<AssignmentEngine.Driver> drivers = List.of(
+                driver("van", VehicleType.VAN),
+                driver("truck", VehicleType.TRUCK),
+                driver("any", null));
+
+        // When
+        List<AssignmentEngine.Match> matches = AssignmentEngine.plan(List.of(
+                shipment("s1", VehicleType.TRUCK, "CO", "TX", TODAY),
+                shipment("s2", VehicleType.TRUCK, "CO", "TX", TODAY.plusDays(1)),
+                shipment("s3", VehicleType.TRUCK, "CO", "TX", TODAY.plusDays(2))), drivers, 1);
+
+        // Then
+        assertThat(matches).extracting(AssignmentEngine.Match::driverId).containsExactly("any", "truck");
+    }
+
+    @Test
+    @DisplayName("Plan - Should stop giving a driver shipments at capacity, counting current load")
+    void plan_shouldRespectCapacity() {
+        // Given
+        List<AssignmentEngine.Driver> drivers = List.of(
+                driver("busy", null, lane("CO", "TX"), lane("CO", "TX")),
+                driver("idle", null));
+
+        // When
+        List<AssignmentEngine.Match> matches = AssignmentEngine.plan(List.of(
+                shipment("s1", VehicleType.TRUCK, "CO", "TX", TODAY),
+                shipment("s2", VehicleType.TRUCK, "CO", "TX", TODAY),
+                shipment("s3", VehicleType.TRUCK, "CO", "TX", TODAY),
+                shipment("s4", VehicleType.TRUCK, "CO", "TX", TODAY)), drivers, 3);
+
+        // Then
+        assertThat(matches).extracting(AssignmentEngine.Match::driverId)
+                .containsExactly("busy", "idle", "idle", "idle");
+    }
+
+    @Test
+    @DisplayName("Plan - Should prefer the same lane, then the pickup state, then the least loaded driver")
+    void plan_shouldPreferLaneThenStateThenLoad() {
+        // Given
+        List<AssignmentEngine.Driver> drivers = List.of(
+                driver("lane", null, lane("CO", "TX"), lane("CO", "TX")),
+                driver("state", null, lane("NM", "CO")),
+                driver("idle", null));
+
+        // When
+        List<AssignmentEngine.Match> matches = AssignmentEngine.plan(List.of(
+                shipment("s1", VehicleType.TRUCK, "CO", "TX", TODAY),
+                shipment("s2", VehicleType.TRUCK, "CO", "UT", TODAY.plusDays(1)),
+                shipment("s3", VehicleType.TRUCK, "WA", "OR", TODAY.plusDays(2))), drivers, 5);
+
+        // Then
+        assertThat(matches).extracting(AssignmentEngine.Match::driverId).containsExactly("lane", "state", "idle");
+        assertThat(matches).extracting(AssignmentEngine.Match::reason).containsExactly(
+                AssignmentReason.SAME_LANE, AssignmentReason.PICKUP_STATE, AssignmentReason.LEAST_LOADED);
+    }
+
+    @Test
+    @DisplayName("Plan - Should give the last free slot to the earliest pickup")
+    void plan_shouldServeEarliestPickupFirst() {
+        // Given
+        List<AssignmentEngine.Driver> drivers = List.of(driver("only", null));
+
+        // When
+        List<AssignmentEngine.Match> matches = AssignmentEngine.plan(List.of(
+                shipment("late", VehicleType.VAN, "CO", "TX", TODAY.plusDays(3)),
+                shipment("early", VehicleType.VAN, "CO", "TX", TODAY)), drivers, 1);
+
+        // Then
+        assertThat(matches).extracting(match -> match.shipment().id()).containsExactly("early");
+    }
+
+    @Test
+    @DisplayName("Plan - Should count earlier matches towards lane affinity and load")
+    void plan_shouldLearnFromEarlierMatches() {
+        // Given
+        List<AssignmentEngine.Driver> drivers = List.of(driver("a", null), driver("b", null));
+
+        // When
+        List<AssignmentEngine.Match> matches = AssignmentEngine.plan(List.of(
+                shipment("s1", VehicleType.VAN, "CO", "TX", TODAY),
+                shipment("s2", VehicleType.VAN, "WA", "OR", TODAY.plusDays(1)),
+                shipment("s3", VehicleType.VAN, "CO", "TX", TODAY.plusDays(2))), drivers, 5);
+
+        // Then
+        assertThat(matches).extracting(AssignmentEngine.Match::driverId).containsExactly("a", "b", "a");
+        assertThat(matches.get(2).reason()).isEqualTo(AssignmentReason.SAME_LANE);
+    }
+
+    private static AssignmentEngine.Candidate shipment(String id, VehicleType vehicleType,
+                                                       String shipperState, String consigneeState,
+                                                       LocalDate pickupDate) {
+        return new AssignmentEngine.Candidate(id, "TRK-" + id, vehicleType, shipperState, consigneeState,
+                pickupDate, 500.0);
+    }
+
+    private static AssignmentEngine.Driver driver(String id, VehicleType vehicleType, AssignmentEngine.Lane... lanes) {
+        return new AssignmentEngine.Driver(id, vehicleType, List.of(lanes));
+    }
+
+    private static AssignmentEngine.Lane lane(String shipperState, String consigneeState) {
+        return new AssignmentEngine.Lane(shipperState, consigneeState);
+    }
+}
@@ -0,0 +1,151 @@
+package com.transport.tms.assignment;
+
+import com.transport.tms.dto.AssignmentPlan;
+import com.transport.tms.dto.AssignmentProposal;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.service.ShipmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for AutoAssignService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database, with a capacity of two shipments per driver
+ * - Drivers with and without a vehicle type, shipments created through ShipmentService
+ * - Assert proposals leave shipments untouched and autoAssign stores drivers, statuses and events
+ */
+@SpringBootTest(properties = "tms.assignment.max-active-shipments=2")
+@DisplayName("AutoAssignService Integration Tests")
+class AutoAssignServiceTest {
+
+    @Autowired
+    private AutoAssignService autoAssignService;
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = userRepository.save(user("assign-dispatcher@example.com", UserRole.DISPATCHER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("ProposeAssignments - Should match by vehicle type without changing shipments")
+    void propose_shouldNotWrite() {
+        // Given
+        User vanDriver = userRepository.save(user("assign-van@example.com", UserRole.DRIVER, VehicleType.VAN));
+        Shipment van = create(VehicleType.VAN);
+        create(VehicleType.TRUCK);
+
+        // When
+        AssignmentPlan plan = autoAssignService.propose();
+
+        // Then
+        assertThat(plan.getProposals()).extracting(AssignmentProposal::getShipmentId).containsExactly(van.getId());
+        assertThat(plan.getProposals().get(0).getDriverId()).isEqualTo(vanDriver.getId());
+        assertThat(plan.getUnmatchedShipments()).isEqualTo(1);
+        assertThat(shipmentService.findById(van.getId()).getStatus()).isEqualTo(ShipmentStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("AutoAssign - Should assign up to capacity and journal each assignment")
+    void autoAssign_shouldStoreAssignments() {
+        // Given
+        User driver = userRepository.save(user("assign-driver@example.com", UserRole.DRIVER));
+        Shipment first = create(VehicleType.TRUCK);
+        Shipment second = create(VehicleType.VAN);
+        Shipment third = create(VehicleType.TRUCK);
+
+        // When
+        AssignmentPlan plan = autoAssignService.autoAssign();
+
+        // Then
+        assertThat(plan.getProposals()).extracting(AssignmentProposal::getShipmentId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(plan.getUnmatchedShipments()).isEqualTo(1);
+        Shipment assigned = shipmentService.findById(first.getId());
+        assertThat(assigned.getStatus()).isEqualTo(ShipmentStatus.ASSIGNED);
+        assertThat(assigned.getDriverId()).isEqualTo(driver.getId());
+        assertThat(shipmentService.findById(third.getId()).getStatus()).isEqualTo(ShipmentStatus.PENDING);
+        assertThat(shipmentEventRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("AutoAssign - Should leave nothing to do on a second run")
+    void autoAssign_twice_shouldNotReassign() {
+        // Given
+        userRepository.save(user("assign-driver@example.com", UserRole.DRIVER));
+        create(VehicleType.TRUCK);
+        autoAssignService.autoAssign();
+
+        // When
+        AssignmentPlan again = autoAssignService.autoAssign();
+
+        // Then
+        assertThat(again.getProposals()).isEmpty();
+        assertThat(again.getUnmatchedShipments()).isZero();
+    }
+
+    private Shipment create(VehicleType vehicleType) {
+        CreateShipmentInput input = new CreateShipmentInput();
+        input.setShipperName("Acme");
+        input.setShipperPhone("555-0100");
+        input.setShipperAddress("1 Main St");
+        input.setShipperCity("Denver");
+        input.setShipperState("CO");
+        input.setShipperZip("80202");
+        input.setConsigneeName("Globex");
+        input.setConsigneePhone("555-0200");
+        input.setConsigneeAddress("2 Side St");
+        input.setConsigneeCity("Austin");
+        input.setConsigneeState("TX");
+        input.setConsigneeZip("78701");
+        input.setCargoDescription("Pallets");
+        input.setWeight(1000.0);
+        input.setVehicleType(vehicleType);
+        input.setEstimatedRate(500.0);
+        input.setPickupDate(LocalDate.now());
+        input.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        return shipmentService.create(shipmentMapper.toEntity(input), dispatcher.getId());
+    }
+}
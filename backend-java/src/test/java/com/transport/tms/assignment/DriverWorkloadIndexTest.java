@@ -0,0 +1,157 @@
+package com.transport.tms.assignment;
+
+import com.transport.tms.dto.DriverWorkload;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentFigures;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DriverWorkloadIndex
+ *
+ * Testing Strategy:
+ * - Mock ShipmentRepository as the source of the grouped reconcile query, with a capacity of two
+ * - Feed writes through the same event listeners ShipmentService and ShipmentBulkService publish to
+ * - Assert per-driver counts, weights and availability
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DriverWorkloadIndex Unit Tests")
+class DriverWorkloadIndexTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private DriverWorkloadIndex index;
+
+    private final User alice = driver("alice");
+
+    private final User bob = driver("bob");
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverWorkloadIndex(shipmentRepository, 2);
+        when(shipmentRepository.aggregateDriverLoads(DriverWorkloadIndex.ACTIVE))
+                .thenReturn(List.of(new Row("alice", 1L, 120_050.0)));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Load - Should start from the grouped database loads")
+    void load_shouldReadDatabaseLoads() {
+        assertThat(index.workload(alice)).isEqualTo(new DriverWorkload(1, 1_200.5, true));
+        assertThat(index.workload(bob)).isEqualTo(new DriverWorkload(0, 0.0, true));
+    }
+
+    @Test
+    @DisplayName("OnShipmentChanged - Should move load between drivers and drop it on delivery")
+    void onShipmentChanged_shouldFollowDriverAndStatus() {
+        // Given
+        Shipment shipment = shipment(ShipmentStatus.ASSIGNED, "alice", 800.0);
+        index.onShipmentChanged(ShipmentChangedEvent.created(shipment));
+        assertThat(index.workload(alice).isAvailable()).isFalse();
+
+        // When
+        ShipmentFigures loaded = ShipmentFigures.of(shipment);
+        shipment.setDriverId("bob");
+        index.onShipmentChanged(new ShipmentChangedEvent(ShipmentChangedEvent.ChangeType.UPDATED, shipment, loaded));
+        DriverWorkload bobAssigned = index.workload(bob);
+        loaded = ShipmentFigures.of(shipment);
+        shipment.setStatus(ShipmentStatus.DELIVERED);
+        index.onShipmentChanged(new ShipmentChangedEvent(ShipmentChangedEvent.ChangeType.UPDATED, shipment, loaded));
+
+        // Then
+        assertThat(bobAssigned).isEqualTo(new DriverWorkload(1, 800.0, true));
+        assertThat(index.workload(alice)).isEqualTo(new DriverWorkload(1, 1_200.5, true));
+        assertThat(index.workload(bob).getActiveShipments()).isZero();
+    }
+
+    @Test
+    @DisplayName("OnShipmentsBulkUpdated - Should add assignments and keep drivers on status changes")
+    void onShipmentsBulkUpdated_shouldApplyEachShipment() {
+        // When
+        index.onShipmentsBulkUpdated(new ShipmentsBulkUpdatedEvent(List.of("s1", "s2"), List.of("T1", "T2"),
+                List.of(100.0, 200.0), List.of(ShipmentStatus.PENDING, ShipmentStatus.PENDING),
+                Arrays.asList(null, null), ShipmentStatus.ASSIGNED, "bob"));
+        index.onShipmentsBulkUpdated(new ShipmentsBulkUpdatedEvent(List.of("s1"), List.of("T1"),
+                List.of(100.0), List.of(ShipmentStatus.ASSIGNED), List.of("bob"), ShipmentStatus.PICKED_UP, null));
+        index.onShipmentsBulkUpdated(new ShipmentsBulkUpdatedEvent(List.of("s2"), List.of("T2"),
+                List.of(200.0), List.of(ShipmentStatus.ASSIGNED), List.of("bob"), ShipmentStatus.CANCELLED, null));
+
+        // Then
+        assertThat(index.workload(bob)).isEqualTo(new DriverWorkload(1, 100.0, true));
+    }
+
+    @Test
+    @DisplayName("Workload - Should report inactive drivers as unavailable")
+    void workload_withInactiveDriver_shouldBeUnavailable() {
+        bob.setIsActive(false);
+
+        assertThat(index.workload(bob).isAvailable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Reconcile - Should correct loads that drifted from the database")
+    void reconcile_shouldCorrectDrift() {
+        // Given
+        index.onShipmentChanged(ShipmentChangedEvent.created(shipment(ShipmentStatus.ASSIGNED, "bob", 50.0)));
+
+        // When
+        index.reconcile();
+
+        // Then
+        assertThat(index.workload(bob).getActiveShipments()).isZero();
+        assertThat(index.workload(alice).getActiveShipments()).isEqualTo(1);
+    }
+
+    private static Shipment shipment(ShipmentStatus status, String driverId, Double weight) {
+        Shipment shipment = new Shipment();
+        shipment.setId("s-" + System.nanoTime());
+        shipment.setStatus(status);
+        shipment.setDriverId(driverId);
+        shipment.setWeight(weight);
+        return shipment;
+    }
+
+    private static User driver(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(UserRole.DRIVER);
+        user.setIsActive(true);
+        return user;
+    }
+
+    private record Row(String driverId, Long shipments, Number weightHundredths)
+            implements ShipmentRepository.DriverLoadRow {
+
+        @Override
+        public String getDriverId() {
+            return driverId;
+        }
+
+        @Override
+        public Long getShipments() {
+            return shipments;
+        }
+
+        @Override
+        public Number getWeightHundredths() {
+            return weightHundredths;
+        }
+    }
+}
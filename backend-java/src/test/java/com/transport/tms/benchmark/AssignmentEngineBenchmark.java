@@ -0,0 +1,92 @@
+package com.transport.tms.benchmark;
+
+import com.transport.tms.assignment.AssignmentEngine;
+import com.transport.tms.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to plan assignments for a full batch of pending shipments, by default 10,000 shipments
+ * over 1,000 drivers across 50 states, with a quarter of the drivers already carrying shipments.
+ *
+ * The median round must stay under {@code benchmark.budget-ms} (500 by default), so a regression
+ * fails the run. Not part of {@code gradle test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Assignment engine benchmark")
+class AssignmentEngineBenchmark {
+
+    private static final int SHIPMENTS = Integer.getInteger("benchmark.shipments", 10_000);
+    private static final int DRIVERS = Integer.getInteger("benchmark.drivers", 1_000);
+    private static final int CAPACITY = Integer.getInteger("benchmark.capacity", 5);
+    private static final int STATES = 50;
+    private static final int ROUNDS = 10;
+    private static final long BUDGET_MILLIS = Long.getLong("benchmark.budget-ms", 500);
+
+    @Test
+    @DisplayName("Plan pending shipments against active drivers")
+    void planAssignments() {
+        Random random = new Random(42);
+        List<AssignmentEngine.Candidate> shipments = shipments(random);
+        List<AssignmentEngine.Driver> drivers = drivers(random);
+
+        for (int i = 0; i < ROUNDS; i++) {
+            AssignmentEngine.plan(shipments, drivers, CAPACITY);
+        }
+
+        System.out.printf("%-10s %-10s %10s %10s%n", "shipments", "drivers", "matched", "ms");
+        double[] rounds = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            int matched = AssignmentEngine.plan(shipments, drivers, CAPACITY).size();
+            rounds[i] = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%-10d %-10d %10d %10.1f%n", SHIPMENTS, DRIVERS, matched, rounds[i]);
+        }
+
+        Arrays.sort(rounds);
+        double median = (rounds[(ROUNDS - 1) / 2] + rounds[ROUNDS / 2]) / 2;
+        System.out.printf("median %.1f ms, budget %d ms%n", median, BUDGET_MILLIS);
+        assertThat(median).as("median planning round in ms").isLessThan(BUDGET_MILLIS);
+    }
+
+    private static List<AssignmentEngine.Candidate> shipments(Random random) {
+        VehicleType[] types = VehicleType.values();
+        LocalDate today = LocalDate.now();
+        List<AssignmentEngine.Candidate> shipments = new ArrayList<>(SHIPMENTS);
+        for (int i = 0; i < SHIPMENTS; i++) {
+            shipments.add(new AssignmentEngine.Candidate("s" + i, "TRK" + i, types[random.nextInt(types.length)],
+                    state(random), state(random), today.plusDays(random.nextInt(14)), 100 + random.nextInt(5_000)));
+        }
+        return shipments;
+    }
+
+    private static List<AssignmentEngine.Driver> drivers(Random random) {
+        VehicleType[] types = VehicleType.values();
+        List<AssignmentEngine.Driver> drivers = new ArrayList<>(DRIVERS);
+        for (int i = 0; i < DRIVERS; i++) {
+            // One in five drivers takes any vehicle type
+            VehicleType type = random.nextInt(5) == 0 ? null : types[random.nextInt(types.length)];
+            List<AssignmentEngine.Lane> lanes = new ArrayList<>();
+            if (random.nextInt(4) == 0) {
+                for (int j = random.nextInt(CAPACITY); j > 0; j--) {
+                    lanes.add(new AssignmentEngine.Lane(state(random), state(random)));
+                }
+            }
+            drivers.add(new AssignmentEngine.Driver("d" + i, type, lanes));
+        }
+        return drivers;
+    }
+
+    private static String state(Random random) {
+        return "S" + random.nextInt(STATES);
+    }
+}
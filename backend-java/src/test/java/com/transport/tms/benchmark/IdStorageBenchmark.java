@@ -0,0 +1,105 @@
+package com.transport.tms.benchmark;
+
+import com.transport.tms.model.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and primary-key index size for random (v4) versus time-ordered (v7) ids,
+ * stored as the current 36-char varchar and as a native uuid column.
+ *
+ * Not part of {@code gradle test}; run with {@code ./gradlew benchmark}. Defaults to in-memory H2.
+ * Point it at PostgreSQL to get index sizes:
+ * {@code ./gradlew benchmark -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/tms_bench
+ * -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=...}
+ */
+@Tag("benchmark")
+@DisplayName("Id storage benchmark")
+class IdStorageBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 500_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    private static Connection connection;
+    private static boolean postgres;
+
+    @BeforeAll
+    static void connect() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:idbench;MODE=PostgreSQL"),
+                System.getProperty("benchmark.jdbc.user", "sa"),
+                System.getProperty("benchmark.jdbc.password", ""));
+        connection.setAutoCommit(false);
+        postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+    }
+
+    @AfterAll
+    static void disconnect() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Insert ids as varchar(36) and as uuid, random versus time-ordered")
+    void compareIdStorage() throws SQLException {
+        System.out.printf("%-22s %12s %14s%n", "variant", "rows/s", "pk index size");
+        run("varchar_v4", "VARCHAR(36)", () -> UUID.randomUUID().toString());
+        run("varchar_v7", "VARCHAR(36)", () -> TimeOrderedUuidGenerator.next().toString());
+        run("uuid_v4", "UUID", UUID::randomUUID);
+        run("uuid_v7", "UUID", TimeOrderedUuidGenerator::next);
+    }
+
+    private void run(String variant, String columnType, Supplier<Object> ids) throws SQLException {
+        String table = "id_bench_" + variant;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id " + columnType + " PRIMARY KEY, payload VARCHAR(64) NOT NULL)");
+        }
+        connection.commit();
+
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "shipment-" + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-22s %12.0f %14s%n", variant, ROWS / seconds, indexSize(table));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        connection.commit();
+    }
+
+    private String indexSize(String table) throws SQLException {
+        if (!postgres) {
+            return "n/a";
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
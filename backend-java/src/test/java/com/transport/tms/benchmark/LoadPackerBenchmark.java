@@ -0,0 +1,51 @@
+package com.transport.tms.benchmark;
+
+import com.transport.tms.consolidation.LoadPacker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Time to pack one busy lane and pickup window, by default 500 shipments of 50 to 5,000 kg, a
+ * third of them with a volume, into 24,000 kg and 90 cubic meter trailers.
+ *
+ * Not part of {@code gradle test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Load packer benchmark")
+class LoadPackerBenchmark {
+
+    private static final int SHIPMENTS = Integer.getInteger("benchmark.shipments", 500);
+    private static final double MAX_WEIGHT = 24_000;
+    private static final double MAX_VOLUME = 90;
+    private static final int ROUNDS = 10;
+
+    @Test
+    @DisplayName("Pack one lane into trailers")
+    void packLane() {
+        Random random = new Random(42);
+        double[] weights = new double[SHIPMENTS];
+        double[] volumes = new double[SHIPMENTS];
+        double totalWeight = 0;
+        for (int i = 0; i < SHIPMENTS; i++) {
+            weights[i] = 50 + random.nextInt(4_951);
+            volumes[i] = random.nextInt(3) == 0 ? 0.5 + random.nextDouble() * 20 : 0;
+            totalWeight += weights[i];
+        }
+
+        for (int i = 0; i < ROUNDS; i++) {
+            LoadPacker.pack(weights, volumes, MAX_WEIGHT, MAX_VOLUME);
+        }
+
+        System.out.printf("%-10s %10s %12s %10s%n", "shipments", "vehicles", "by weight", "ms");
+        int lowerBound = (int) Math.ceil(totalWeight / MAX_WEIGHT);
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            int vehicles = LoadPacker.pack(weights, volumes, MAX_WEIGHT, MAX_VOLUME).size();
+            double millis = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%-10d %10d %12d %10.2f%n", SHIPMENTS, vehicles, lowerBound, millis);
+        }
+    }
+}
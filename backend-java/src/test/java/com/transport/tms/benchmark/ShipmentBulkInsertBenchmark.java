@@ -0,0 +1,114 @@
+package com.transport.tms.benchmark;
+
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.service.ShipmentBulkService;
+import com.transport.tms.service.ShipmentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rows per second for {@code createShipments} versus looping {@code ShipmentService.create}.
+ *
+ * Not part of {@code gradle test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@DisplayName("Shipment bulk insert benchmark")
+class ShipmentBulkInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000);
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Insert shipments one per call and in bulk")
+    void compareInsertPaths() {
+        User dispatcher = dispatcher();
+        List<CreateShipmentInput> inputs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            inputs.add(input(i));
+        }
+
+        // Warm up both paths before measuring
+        inputs.subList(0, 200).forEach(input -> shipmentService.create(shipmentMapper.toEntity(input), dispatcher.getId()));
+        shipmentBulkService.createAll(inputs.subList(0, 200), dispatcher.getId());
+        shipmentRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        for (CreateShipmentInput input : inputs) {
+            shipmentService.create(shipmentMapper.toEntity(input), dispatcher.getId());
+        }
+        double looped = ROWS / ((System.nanoTime() - start) / 1e9);
+        shipmentRepository.deleteAllInBatch();
+
+        start = System.nanoTime();
+        shipmentBulkService.createAll(inputs, dispatcher.getId());
+        double bulk = ROWS / ((System.nanoTime() - start) / 1e9);
+        shipmentRepository.deleteAllInBatch();
+        userRepository.delete(dispatcher);
+
+        System.out.printf("%-28s %12.0f rows/s%n", "ShipmentService.create loop", looped);
+        System.out.printf("%-28s %12.0f rows/s%n", "ShipmentBulkService", bulk);
+        System.out.printf("%-28s %12.1fx%n", "speed-up", bulk / looped);
+    }
+
+    private User dispatcher() {
+        User user = new User();
+        user.setEmail("benchmark-dispatcher@example.com");
+        user.setPassword("$2a$10$encodedpassword");
+        user.setFirstName("Benchmark");
+        user.setLastName("Dispatcher");
+        user.setRole(UserRole.DISPATCHER);
+        user.setIsActive(true);
+        return userRepository.save(user);
+    }
+
+    private static CreateShipmentInput input(int i) {
+        CreateShipmentInput input = new CreateShipmentInput();
+        input.setShipperName("Shipper " + i);
+        input.setShipperPhone("555-0100");
+        input.setShipperAddress(i + " Main St");
+        input.setShipperCity("Dallas");
+        input.setShipperState("TX");
+        input.setShipperZip("75201");
+        input.setConsigneeName("Consignee " + i);
+        input.setConsigneePhone("555-0200");
+        input.setConsigneeAddress(i + " Side St");
+        input.setConsigneeCity("Austin");
+        input.setConsigneeState("TX");
+        input.setConsigneeZip("78701");
+        input.setCargoDescription("Pallets");
+        input.setWeight(1000.0);
+        input.setVehicleType(VehicleType.TRUCK);
+        input.setEstimatedRate(500.0);
+        input.setPickupDate(LocalDate.now());
+        input.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        return input;
+    }
+}
@@ -0,0 +1,62 @@
+package com.transport.tms.benchmark;
+
+import com.transport.tms.tracking.TimePrefixedTrackingNumberGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Tracking numbers issued per second under concurrent creates, compared with the
+ * {@code UUID.randomUUID()} numbers they replace.
+ *
+ * Not part of {@code gradle test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Tracking number benchmark")
+class TrackingNumberBenchmark {
+
+    private static final int PER_THREAD = Integer.getInteger("benchmark.ids-per-thread", 1_000_000);
+
+    @Test
+    @DisplayName("Issue tracking numbers from 1 to 32 threads")
+    void compareGenerators() throws InterruptedException {
+        TimePrefixedTrackingNumberGenerator generator = new TimePrefixedTrackingNumberGenerator(0);
+        System.out.printf("%-8s %18s %18s%n", "threads", "time-prefixed/s", "random UUID/s");
+        for (int threads : new int[]{1, 4, 8, 16, 32}) {
+            double timePrefixed = throughput(threads, generator::next);
+            double random = throughput(threads, () -> UUID.randomUUID().toString().replace("-", ""));
+            System.out.printf("%-8d %18.0f %18.0f%n", threads, timePrefixed, random);
+        }
+    }
+
+    private static double throughput(int threads, Supplier<String> next) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int sink = 0;
+                for (int i = 0; i < PER_THREAD; i++) {
+                    sink += next.get().length();
+                }
+                if (sink == 42) System.out.print("");
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) threads * PER_THREAD / ((System.nanoTime() - begin) / 1e9);
+    }
+}
@@ -0,0 +1,62 @@
+package com.transport.tms.benchmark;
+
+import com.transport.tms.geo.ZipGeoIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Distance lookups and radius searches over a full-size centroid file, by default 33,000 ZIPs
+ * spread over the continental US.
+ *
+ * Not part of {@code gradle test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("ZIP geo index benchmark")
+class ZipGeoIndexBenchmark {
+
+    private static final int ZIPS = Integer.getInteger("benchmark.zips", 33_000);
+    private static final int LOOKUPS = Integer.getInteger("benchmark.lookups", 10_000_000);
+    private static final int SEARCHES = Integer.getInteger("benchmark.searches", 100_000);
+
+    @Test
+    @DisplayName("Distance lookups and 50-mile radius searches")
+    void lookups() throws IOException {
+        Random random = new Random(42);
+        String[] zips = new String[ZIPS];
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < ZIPS; i++) {
+            zips[i] = String.format("%05d", i * (99_999 / ZIPS));
+            file.append(zips[i]).append(',')
+                    .append(25 + random.nextDouble() * 24).append(',')
+                    .append(-124 + random.nextDouble() * 57).append('\n');
+        }
+        long loadStart = System.nanoTime();
+        ZipGeoIndex index = new ZipGeoIndex(new ByteArrayResource(file.toString().getBytes(StandardCharsets.UTF_8)));
+        System.out.printf("%-24s %12.1f ms%n", "load", (System.nanoTime() - loadStart) / 1e6);
+
+        for (int round = 0; round < 3; round++) {
+            double sink = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                Double miles = index.distanceMiles(zips[i % ZIPS], zips[(i * 31) % ZIPS]);
+                sink += miles != null ? miles : 0;
+            }
+            System.out.printf("%-24s %12.1f ns/op%n", "distanceMiles", (System.nanoTime() - start) / (double) LOOKUPS);
+
+            long found = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < SEARCHES; i++) {
+                found += index.within(zips[(i * 7) % ZIPS], 50).size();
+            }
+            System.out.printf("%-24s %12.1f us/op %8.1f zips%n", "within 50 miles",
+                    (System.nanoTime() - start) / 1e3 / SEARCHES, (double) found / SEARCHES);
+            if (sink == 42) System.out.print("");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.transport.tms.consolidation;
+
+import com.transport.tms.dto.ConsolidationPlan;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConsolidationService
+ *
+ * Testing Strategy:
+ * - Mock ShipmentRepository as the source of pending shipment rows, earliest pickup first
+ * - Van capacity of 100 kg and 1 cubic meter, set through the environment like application.yml does
+ * - Assert lane and pickup window grouping, vehicle counts and oversized shipments
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsolidationService Unit Tests")
+class ConsolidationServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private ConsolidationService service;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("tms.consolidation.capacity.van.max-weight", "100")
+                .withProperty("tms.consolidation.capacity.van.max-volume", "1");
+        service = new ConsolidationService(shipmentRepository, environment, 3, 10_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("Plan - Should consolidate a lane within the pickup window, whatever the city's case")
+    void plan_shouldGroupByLaneAndWindow() {
+        // Given
+        pending(row("s1", VehicleType.VAN, "Denver", "Austin", MONDAY, 40.0, null),
+                row("s2", VehicleType.VAN, " DENVER", "austin", MONDAY.plusDays(2), 50.0, null),
+                row("s3", VehicleType.VAN, "Denver", "Austin", MONDAY.plusDays(3), 30.0, null),
+                row("s4", VehicleType.VAN, "Denver", "Dallas", MONDAY, 10.0, null),
+                row("s5", VehicleType.TRUCK, "Denver", "Austin", MONDAY, 10.0, null));
+
+        // When
+        ConsolidationPlan plan = service.plan(null, null);
+
+        // Then: s3 is picked up past the first three days and s4 and s5 travel other lanes
+        assertThat(plan.getLoads()).singleElement().satisfies(load -> {
+            assertThat(load.getShipmentIds()).containsExactlyInAnyOrder("s1", "s2");
+            assertThat(load.getPickupFrom()).isEqualTo(MONDAY);
+            assertThat(load.getPickupTo()).isEqualTo(MONDAY.plusDays(2));
+            assertThat(load.getTotalWeight()).isEqualTo(90.0);
+            assertThat(load.getWeightUtilization()).isEqualTo(0.9);
+            assertThat(load.getTotalVolume()).isNull();
+        });
+        assertThat(plan.getPendingShipments()).isEqualTo(5);
+        assertThat(plan.getVehicles()).isEqualTo(4);
+        assertThat(plan.getVehiclesSaved()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Plan - Should split a lane by volume and keep oversized shipments out of loads")
+    void plan_shouldRespectCapacities() {
+        // Given
+        pending(row("s1", VehicleType.VAN, "Denver", "Austin", MONDAY, 10.0, "100x100x60 cm"),
+                row("s2", VehicleType.VAN, "Denver", "Austin", MONDAY, 10.0, "100x100x60 cm"),
+                row("s3", VehicleType.VAN, "Denver", "Austin", MONDAY, 10.0, "100x100x40 cm"),
+                row("s4", VehicleType.VAN, "Denver", "Austin", MONDAY, 150.0, null));
+
+        // When
+        ConsolidationPlan plan = service.plan(VehicleType.VAN, 1);
+
+        // Then
+        assertThat(plan.getLoads()).singleElement().satisfies(load -> {
+            assertThat(load.getShipmentIds()).hasSize(2).contains("s3");
+            assertThat(load.getVolumeUtilization()).isCloseTo(1.0, within(1e-9));
+        });
+        assertThat(plan.getVehicles()).isEqualTo(3);
+        assertThat(plan.getOversizedShipments()).isEqualTo(1);
+        verify(shipmentRepository)
+                .findConsolidationRows(eq(ShipmentStatus.PENDING), eq(EnumSet.of(VehicleType.VAN)), any());
+    }
+
+    @Test
+    @DisplayName("Plan - Should reject a pickup window outside 1 to 31 days")
+    void plan_withInvalidWindow_shouldThrow() {
+        assertThatThrownBy(() -> service.plan(null, 0)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> service.plan(null, 32)).isInstanceOf(RuntimeException.class);
+        verifyNoInteractions(shipmentRepository);
+    }
+
+    private void pending(Row... rows) {
+        when(shipmentRepository.findConsolidationRows(eq(ShipmentStatus.PENDING), any(), any()))
+                .thenReturn(List.of(rows));
+    }
+
+    private static Row row(String id, VehicleType vehicleType, String shipperCity, String consigneeCity,
+                           LocalDate pickupDate, Double weight, String dimensions) {
+        return new Row(id, "TRK-" + id, vehicleType, shipperCity, "CO", consigneeCity, "TX",
+                pickupDate, weight, dimensions);
+    }
+
+    private record Row(String id, String trackingNumber, VehicleType vehicleType,
+                       String shipperCity, String shipperState, String consigneeCity, String consigneeState,
+                       LocalDate pickupDate, Double weight, String dimensions)
+            implements ShipmentRepository.ConsolidationRow {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getTrackingNumber() {
+            return trackingNumber;
+        }
+
+        @Override
+        public VehicleType getVehicleType() {
+            return vehicleType;
+        }
+
+        @Override
+        public String getShipperCity() {
+            return shipperCity;
+        }
+
+        @Override
+        public String getShipperState() {
+            return shipperState;
+        }
+
+        @Override
+        public String getConsigneeCity() {
+            return consigneeCity;
+        }
+
+        @Override
+        public String getConsigneeState() {
+            return consigneeState;
+        }
+
+        @Override
+        public LocalDate getPickupDate() {
+            return pickupDate;
+        }
+
+        @Override
+        public Double getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String getDimensions() {
+            return dimensions;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.transport.tms.consolidation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Dimensions
+ *
+ * Testing Strategy:
+ * - The formats the shipment form suggests, in metric and imperial units
+ * - Missing, unit-less and malformed text has no volume
+ */
+@DisplayName("Dimensions Unit Tests")
+class DimensionsTest {
+
+    @Test
+    @DisplayName("CubicMeters - Should read a unit shared by all three lengths")
+    void cubicMeters_withSharedUnit_shouldConvert() {
+        assertThat(Dimensions.cubicMeters("120x80x60 cm")).isCloseTo(0.576, within(1e-9));
+        assertThat(Dimensions.cubicMeters("48 X 40 X 36 in")).isCloseTo(1.132674, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("CubicMeters - Should read a unit on each length")
+    void cubicMeters_withUnitPerLength_shouldConvert() {
+        assertThat(Dimensions.cubicMeters("2m x 1m x 1m")).isCloseTo(2.0, within(1e-9));
+        assertThat(Dimensions.cubicMeters("1.5 m \u00d7 800 mm * 50cm")).isCloseTo(0.6, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("CubicMeters - Should return zero for text it does not understand")
+    void cubicMeters_withUnknownText_shouldBeZero() {
+        assertThat(Dimensions.cubicMeters(null)).isZero();
+        assertThat(Dimensions.cubicMeters("120x80x60")).isZero();
+        assertThat(Dimensions.cubicMeters("two pallets")).isZero();
+        assertThat(Dimensions.cubicMeters("120x80 cm")).isZero();
+    }
+}
@@ -0,0 +1,95 @@
+package com.transport.tms.consolidation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for LoadPacker
+ *
+ * Testing Strategy:
+ * - Small sets whose best packing is obvious, by weight, by volume and with an oversized shipment
+ * - Random sets by weight alone, checking every shipment is placed once within capacity
+ * - No two vehicles of a best-fit packing fit into one, so any two together are over capacity
+ */
+@DisplayName("LoadPacker Unit Tests")
+class LoadPackerTest {
+
+    @Test
+    @DisplayName("Pack - Should fill vehicles exactly when the weights allow it")
+    void pack_byWeight_shouldFindTightPacking() {
+        // Given
+        double[] weights = {6, 4, 5, 5, 3, 7};
+
+        // When
+        List<int[]> loads = LoadPacker.pack(weights, new double[6], 10, 0);
+
+        // Then
+        assertThat(loads).hasSize(3);
+        assertThat(loads).allSatisfy(load -> assertThat(total(weights, load)).isEqualTo(10.0));
+    }
+
+    @Test
+    @DisplayName("Pack - Should respect volume when it binds before weight")
+    void pack_byVolume_shouldRespectVolume() {
+        // Given: light but bulky shipments
+        double[] weights = {10, 10, 10, 10};
+        double[] volumes = {6, 6, 4, 4};
+
+        // When
+        List<int[]> loads = LoadPacker.pack(weights, volumes, 1_000, 10);
+
+        // Then
+        assertThat(loads).hasSize(2);
+        assertThat(loads).allSatisfy(load -> assertThat(total(volumes, load)).isEqualTo(10.0));
+    }
+
+    @Test
+    @DisplayName("Pack - Should give an oversized shipment a vehicle to itself")
+    void pack_withOversizedShipment_shouldKeepItAlone() {
+        // When
+        List<int[]> loads = LoadPacker.pack(new double[]{4, 15, 4}, new double[3], 10, 0);
+
+        // Then
+        assertThat(loads).hasSize(2);
+        assertThat(loads).anySatisfy(load -> assertThat(load).containsExactly(1));
+        assertThat(loads).anySatisfy(load -> assertThat(load).containsExactlyInAnyOrder(0, 2));
+    }
+
+    @Test
+    @DisplayName("Pack - Should place every shipment once and leave no two vehicles that fit into one")
+    void pack_withRandomWeights_shouldStayValid() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            // Given
+            int n = random.nextInt(60);
+            double[] weights = new double[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = 1 + random.nextInt(1_000);
+            }
+
+            // When
+            List<int[]> loads = LoadPacker.pack(weights, new double[n], 1_000, 0);
+
+            // Then
+            int[] placed = loads.stream().flatMapToInt(Arrays::stream).sorted().toArray();
+            assertThat(placed).containsExactly(IntStream.range(0, n).toArray());
+            assertThat(loads).allSatisfy(load -> assertThat(total(weights, load)).isLessThanOrEqualTo(1_000.0));
+            for (int i = 0; i < loads.size(); i++) {
+                for (int j = i + 1; j < loads.size(); j++) {
+                    assertThat(total(weights, loads.get(i)) + total(weights, loads.get(j))).isGreaterThan(1_000.0);
+                }
+            }
+        }
+    }
+
+    private static double total(double[] amounts, int[] load) {
+        return Arrays.stream(load).mapToDouble(i -> amounts[i]).sum();
+    }
+}
@@ -0,0 +1,65 @@
+package com.transport.tms.controller;
+
+import com.transport.tms.model.UserRole;
+import com.transport.tms.security.AuthenticatedUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the request handling of ShipmentExportController
+ *
+ * Testing Strategy:
+ * - @SpringBootTest with MockMvc through the real security filter chain
+ * - Anonymous callers and unknown formats are refused before anything is streamed
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("ShipmentExportController Integration Tests")
+class ShipmentExportControllerTest {
+
+    private static final AuthenticatedUser DISPATCHER =
+            new AuthenticatedUser("dispatcher-1", "dispatcher@example.com", UserRole.DISPATCHER);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Export - Should refuse an anonymous caller")
+    void export_withoutPrincipal_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/shipments/export"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().doesNotExist("Content-Disposition"));
+    }
+
+    @Test
+    @DisplayName("Export - Should answer an unknown format with 400 and the accepted formats")
+    void export_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/shipments/export").param("format", "xml").with(signedIn()))
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason("Unknown export format 'xml'; expected one of [csv, ndjson]"));
+    }
+
+    @Test
+    @DisplayName("Export - Should stream the header row to a signed-in caller")
+    void export_withPrincipal_shouldStreamCsv() throws Exception {
+        mockMvc.perform(get("/api/shipments/export").param("format", "CSV").with(signedIn()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"shipments.csv\""))
+                .andExpect(content().string(startsWith("id,trackingNumber,status")));
+    }
+
+    private static RequestPostProcessor signedIn() {
+        return authentication(new UsernamePasswordAuthenticationToken(DISPATCHER, null, DISPATCHER.authorities()));
+    }
+}
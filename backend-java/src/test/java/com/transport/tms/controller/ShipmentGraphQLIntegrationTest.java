@@ -0,0 +1,377 @@
+package com.transport.tms.controller;
+
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.graphql.test.tester.GraphQlTester;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the shipment side of the GraphQL API
+ *
+ * Testing Strategy:
+ * - @SpringBootTest loads full application context
+ * - Shipments and users are created directly through the repositories
+ * - Hibernate statistics count the statements each query issues
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@DisplayName("Shipment GraphQL API Integration Tests")
+class ShipmentGraphQLIntegrationTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User dispatcher;
+    private User driverOne;
+    private User driverTwo;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = createUser("dispatcher@example.com", UserRole.DISPATCHER);
+        driverOne = createUser("driver1@example.com", UserRole.DRIVER);
+        driverTwo = createUser("driver2@example.com", UserRole.DRIVER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // ==================== Relation Batching Tests ====================
+
+    @Test
+    @DisplayName("Shipments - Should not load users when relations are not selected")
+    void shipments_withoutRelations_shouldNotQueryUsers() {
+        // Given
+        createShipment("TRK-1", driverOne);
+        createShipment("TRK-2", driverTwo);
+        createShipment("TRK-3", driverOne);
+        Statistics statistics = statistics();
+
+        String query = """
+            query {
+              shipments(pagination: { page: 1, limit: 10 }) {
+                data { trackingNumber driverId }
+              }
+            }
+            """;
+
+        // When
+        graphQlTester.document(query)
+            .execute()
+            .path("shipments.data").entityList(Object.class).hasSize(3);
+
+        // Then - a single page query; the count is skipped for a partial first page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Shipments - Should resolve createdBy and driver with one query each")
+    void shipments_withRelations_shouldBatchUserLoads() {
+        // Given
+        createShipment("TRK-1", driverOne);
+        createShipment("TRK-2", driverTwo);
+        createShipment("TRK-3", driverOne);
+        createShipment("TRK-4", null);
+        Statistics statistics = statistics();
+
+        String query = """
+            query {
+              shipments(pagination: { page: 1, limit: 10, sortBy: "trackingNumber", sortOrder: "asc" }) {
+                data {
+                  trackingNumber
+                  createdBy { email }
+                  driver { email }
+                }
+              }
+            }
+            """;
+
+        // When & Then
+        graphQlTester.document(query)
+            .execute()
+            .path("shipments.data[0].createdBy.email").entity(String.class).isEqualTo("dispatcher@example.com")
+            .path("shipments.data[0].driver.email").entity(String.class).isEqualTo("driver1@example.com")
+            .path("shipments.data[1].driver.email").entity(String.class).isEqualTo("driver2@example.com")
+            .path("shipments.data[3].driver").valueIsNull();
+
+        // page query plus one IN query per relation
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    // ==================== Pagination Meta Tests ====================
+
+    @Test
+    @DisplayName("Shipments - Should skip the COUNT when total is not selected")
+    void shipments_withoutTotal_shouldNotCount() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            createShipment("TRK-" + i, null);
+        }
+        Statistics statistics = statistics();
+
+        String query = """
+            query {
+              shipments(pagination: { page: 2, limit: 2, sortBy: "trackingNumber", sortOrder: "asc" }) {
+                data { trackingNumber }
+                meta { page hasNextPage hasPreviousPage }
+              }
+            }
+            """;
+
+        // When & Then
+        graphQlTester.document(query)
+            .execute()
+            .path("shipments.data[*].trackingNumber").entityList(String.class).containsExactly("TRK-3", "TRK-4")
+            .path("shipments.meta.hasNextPage").entity(Boolean.class).isEqualTo(true)
+            .path("shipments.meta.hasPreviousPage").entity(Boolean.class).isEqualTo(true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Shipments - Should count when total is selected")
+    void shipments_withTotal_shouldCount() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            createShipment("TRK-" + i, null);
+        }
+        Statistics statistics = statistics();
+
+        String query = """
+            query {
+              shipments(pagination: { page: 3, limit: 2, sortBy: "trackingNumber", sortOrder: "asc" }) {
+                data { trackingNumber }
+                meta { total totalPages hasNextPage }
+              }
+            }
+            """;
+
+        // When & Then
+        graphQlTester.document(query)
+            .execute()
+            .path("shipments.data[*].trackingNumber").entityList(String.class).containsExactly("TRK-5")
+            .path("shipments.meta.total").entity(Integer.class).isEqualTo(5)
+            .path("shipments.meta.totalPages").entity(Integer.class).isEqualTo(3)
+            .path("shipments.meta.hasNextPage").entity(Boolean.class).isEqualTo(false);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Shipments - Should serve an estimated total from the count cache")
+    void shipments_withEstimatedTotal_shouldReuseCachedCount() {
+        // Given
+        createShipment("TRK-1", driverOne);
+        createShipment("TRK-2", driverOne);
+        String query = String.format("""
+            query {
+              shipments(
+                filter: { driverId: "%s" }
+                pagination: { page: 1, limit: 1, countMode: ESTIMATED }
+              ) {
+                data { trackingNumber }
+                meta { total totalPages hasNextPage }
+              }
+            }
+            """, driverOne.getId());
+        graphQlTester.document(query).execute().path("shipments.meta.total").entity(Integer.class).isEqualTo(2);
+        Statistics statistics = statistics();
+
+        // When & Then - second request only reads the page
+        graphQlTester.document(query)
+            .execute()
+            .path("shipments.meta.total").entity(Integer.class).isEqualTo(2)
+            .path("shipments.meta.totalPages").entity(Integer.class).isEqualTo(2)
+            .path("shipments.meta.hasNextPage").entity(Boolean.class).isEqualTo(true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // ==================== Cursor Pagination Tests ====================
+
+    @Test
+    @DisplayName("ShipmentsConnection - Should walk every page without gaps or COUNT queries")
+    void shipmentsConnection_shouldSeekPageByPage() {
+        // Given
+        for (int i = 1; i <= 5; i++) {
+            createShipment("TRK-" + i, i % 2 == 0 ? driverOne : null);
+        }
+        String document = """
+            query($after: String) {
+              shipmentsConnection(first: 2, after: $after, sortOrder: "asc") {
+                edges { cursor node { trackingNumber } }
+                pageInfo { hasNextPage hasPreviousPage endCursor }
+              }
+            }
+            """;
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        Statistics statistics = statistics();
+
+        // When
+        for (int page = 0; page < 3; page++) {
+            GraphQlTester.Response response = graphQlTester.document(document).variable("after", after).execute();
+            seen.addAll(response.path("shipmentsConnection.edges[*].node.trackingNumber").entityList(String.class).get());
+            response.path("shipmentsConnection.pageInfo.hasPreviousPage").entity(Boolean.class).isEqualTo(after != null);
+            response.path("shipmentsConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(page < 2);
+            after = response.path("shipmentsConnection.pageInfo.endCursor").entity(String.class).get();
+        }
+
+        // Then - one seek query per page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        List<String> expected = shipmentRepository.findAll(Sort.by("createdAt", "id")).stream()
+            .map(Shipment::getTrackingNumber)
+            .toList();
+        assertThat(seen).hasSize(5).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("ShipmentsConnection - Should apply the filter together with the cursor")
+    void shipmentsConnection_withFilter_shouldOnlyReturnMatches() {
+        // Given
+        for (int i = 1; i <= 4; i++) {
+            createShipment("TRK-" + i, i % 2 == 0 ? driverOne : null);
+        }
+        String query = String.format("""
+            query {
+              shipmentsConnection(first: 10, filter: { driverId: "%s" }) {
+                edges { node { trackingNumber } }
+                pageInfo { hasNextPage }
+              }
+            }
+            """, driverOne.getId());
+
+        // When & Then
+        graphQlTester.document(query)
+            .execute()
+            .path("shipmentsConnection.edges[*].node.trackingNumber").entityList(String.class).hasSize(2).contains("TRK-2", "TRK-4")
+            .path("shipmentsConnection.pageInfo.hasNextPage").entity(Boolean.class).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("ShipmentsConnection - Should reject a malformed cursor")
+    void shipmentsConnection_withInvalidCursor_shouldFail() {
+        // Given
+        String query = """
+            query {
+              shipmentsConnection(first: 2, after: "not-a-cursor") {
+                edges { cursor }
+              }
+            }
+            """;
+
+        // When & Then
+        graphQlTester.document(query)
+            .execute()
+            .errors()
+            .expect(error -> error.getMessage() != null);
+    }
+
+    // ==================== Mutation Tests ====================
+
+    @Test
+    @DisplayName("CreateShipments - Should reject an unauthenticated caller")
+    void createShipments_withoutPrincipal_shouldFail() {
+        // Given
+        String mutation = """
+            mutation {
+              createShipments(inputs: [{
+                shipperName: "Acme", shipperPhone: "555-0100", shipperAddress: "1 Main St"
+                shipperCity: "Dallas", shipperState: "TX", shipperZip: "75201"
+                consigneeName: "Globex", consigneePhone: "555-0200", consigneeAddress: "2 Side St"
+                consigneeCity: "Austin", consigneeState: "TX", consigneeZip: "78701"
+                cargoDescription: "Pallets", weight: 1000, vehicleType: TRUCK, estimatedRate: 500
+                pickupDate: "2030-01-01", estimatedDelivery: "2030-01-03"
+              }]) {
+                created
+              }
+            }
+            """;
+
+        // When & Then
+        graphQlTester.document(mutation)
+            .execute()
+            .errors()
+            .expect(error -> error.getMessage() != null);
+        assertThat(shipmentRepository.count()).isZero();
+    }
+
+    // ==================== Helper Methods ====================
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private User createUser(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("$2a$10$encodedpassword");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        user.setRole(role);
+        user.setIsActive(true);
+        return userRepository.save(user);
+    }
+
+    private Shipment createShipment(String trackingNumber, User driver) {
+        Shipment shipment = new Shipment();
+        shipment.setTrackingNumber(trackingNumber);
+        shipment.setStatus(driver != null ? ShipmentStatus.ASSIGNED : ShipmentStatus.PENDING);
+        shipment.setShipperName("Acme Corp");
+        shipment.setShipperPhone("555-0100");
+        shipment.setShipperAddress("1 Main St");
+        shipment.setShipperCity("Dallas");
+        shipment.setShipperState("TX");
+        shipment.setShipperZip("75201");
+        shipment.setConsigneeName("Globex");
+        shipment.setConsigneePhone("555-0200");
+        shipment.setConsigneeAddress("2 Side St");
+        shipment.setConsigneeCity("Austin");
+        shipment.setConsigneeState("TX");
+        shipment.setConsigneeZip("78701");
+        shipment.setCargoDescription("Pallets");
+        shipment.setWeight(1000.0);
+        shipment.setVehicleType(VehicleType.TRUCK);
+        shipment.setEstimatedRate(500.0);
+        shipment.setPickupDate(LocalDate.now());
+        shipment.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        shipment.setCreatedById(dispatcher.getId());
+        shipment.setDriverId(driver != null ? driver.getId() : null);
+        return shipmentRepository.save(shipment);
+    }
+}
@@ -0,0 +1,188 @@
+package com.transport.tms.dashboard;
+
+import com.transport.tms.dto.DashboardStats;
+import com.transport.tms.dto.StatusCount;
+import com.transport.tms.dto.VehicleTypeCount;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.event.ShipmentsBulkUpdatedEvent;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentFigures;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardCounters
+ *
+ * Testing Strategy:
+ * - Mock ShipmentRepository as the source of the grouped reconcile query
+ * - Feed writes through the same event listeners ShipmentService publishes to
+ * - Assert the snapshot and the coalesced pushes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardCounters Unit Tests")
+class DashboardCountersTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private DashboardCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new DashboardCounters(shipmentRepository);
+        when(shipmentRepository.aggregateFigures()).thenReturn(List.of(
+                new Row(ShipmentStatus.PENDING, VehicleType.TRUCK, 2L, 100_000.0, 100_000.0),
+                new Row(ShipmentStatus.DELIVERED, VehicleType.VAN, 1L, 50_000.0, 55_000.0)));
+        counters.load();
+    }
+
+    @Test
+    @DisplayName("Load - Should start from the grouped database totals")
+    void load_shouldReadDatabaseTotals() {
+        DashboardStats stats = counters.snapshot();
+
+        assertThat(stats.getTotalShipments()).isEqualTo(3);
+        assertThat(count(stats, ShipmentStatus.PENDING)).isEqualTo(2);
+        assertThat(count(stats, VehicleType.VAN)).isEqualTo(1);
+        assertThat(stats.getEstimatedRevenue()).isEqualTo(1_500.0);
+        assertThat(stats.getTotalRevenue()).isEqualTo(1_550.0);
+        assertThat(stats.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("OnShipmentChanged - Should apply creates, updates and deletes as deltas")
+    void onShipmentChanged_shouldApplyDeltas() {
+        // Given
+        Shipment shipment = shipment(ShipmentStatus.PENDING, 200.0, null);
+
+        // When
+        counters.onShipmentChanged(ShipmentChangedEvent.created(shipment));
+        ShipmentFigures loaded = ShipmentFigures.of(shipment);
+        shipment.setStatus(ShipmentStatus.CANCELLED);
+        shipment.setActualRate(150.0);
+        counters.onShipmentChanged(new ShipmentChangedEvent(ShipmentChangedEvent.ChangeType.UPDATED, shipment, loaded));
+
+        // Then
+        DashboardStats stats = counters.snapshot();
+        assertThat(stats.getTotalShipments()).isEqualTo(4);
+        assertThat(count(stats, ShipmentStatus.PENDING)).isEqualTo(2);
+        assertThat(count(stats, ShipmentStatus.CANCELLED)).isEqualTo(1);
+        assertThat(stats.getEstimatedRevenue()).isEqualTo(1_700.0);
+        assertThat(stats.getTotalRevenue()).isEqualTo(1_700.0);
+
+        counters.onShipmentChanged(new ShipmentChangedEvent(ShipmentChangedEvent.ChangeType.DELETED,
+                shipment, ShipmentFigures.of(shipment)));
+        assertThat(counters.snapshot().getTotalShipments()).isEqualTo(3);
+        assertThat(counters.snapshot().getTotalRevenue()).isEqualTo(1_550.0);
+    }
+
+    @Test
+    @DisplayName("OnShipmentsBulkUpdated - Should move counts between statuses")
+    void onShipmentsBulkUpdated_shouldMoveStatusCounts() {
+        counters.onShipmentsBulkUpdated(new ShipmentsBulkUpdatedEvent(List.of("s1", "s2"), List.of("T1", "T2"),
+                List.of(100.0, 200.0), List.of(ShipmentStatus.PENDING, ShipmentStatus.PENDING),
+                Arrays.asList(null, null), ShipmentStatus.ASSIGNED, "driver-1"));
+
+        DashboardStats stats = counters.snapshot();
+        assertThat(count(stats, ShipmentStatus.PENDING)).isZero();
+        assertThat(count(stats, ShipmentStatus.ASSIGNED)).isEqualTo(2);
+        assertThat(stats.getTotalShipments()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Reconcile - Should correct counters that drifted from the database")
+    void reconcile_shouldCorrectDrift() {
+        // Given
+        counters.onShipmentChanged(ShipmentChangedEvent.created(shipment(ShipmentStatus.PENDING, 10.0, null)));
+
+        // When
+        counters.reconcile();
+
+        // Then
+        assertThat(counters.snapshot().getTotalShipments()).isEqualTo(3);
+        assertThat(counters.snapshot().getEstimatedRevenue()).isEqualTo(1_500.0);
+    }
+
+    @Test
+    @DisplayName("PushUpdates - Should push one snapshot per interval and only after a change")
+    void pushUpdates_shouldCoalesce() {
+        // Given
+        List<DashboardStats> received = new ArrayList<>();
+        counters.updates().subscribe(received::add);
+        counters.pushUpdates();
+        received.clear();
+
+        // When
+        counters.pushUpdates();
+        counters.onShipmentChanged(ShipmentChangedEvent.created(shipment(ShipmentStatus.PENDING, 10.0, null)));
+        counters.onShipmentChanged(ShipmentChangedEvent.created(shipment(ShipmentStatus.PENDING, 10.0, null)));
+        counters.pushUpdates();
+
+        // Then
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getTotalShipments()).isEqualTo(5);
+    }
+
+    private static Shipment shipment(ShipmentStatus status, Double estimatedRate, Double actualRate) {
+        Shipment shipment = new Shipment();
+        shipment.setId("s-" + System.nanoTime());
+        shipment.setStatus(status);
+        shipment.setVehicleType(VehicleType.TRUCK);
+        shipment.setEstimatedRate(estimatedRate);
+        shipment.setActualRate(actualRate);
+        return shipment;
+    }
+
+    private static long count(DashboardStats stats, ShipmentStatus status) {
+        return stats.getByStatus().stream().filter(c -> c.getStatus() == status)
+                .mapToLong(StatusCount::getCount).sum();
+    }
+
+    private static long count(DashboardStats stats, VehicleType vehicleType) {
+        return stats.getByVehicleType().stream().filter(c -> c.getVehicleType() == vehicleType)
+                .mapToLong(VehicleTypeCount::getCount).sum();
+    }
+
+    private record Row(ShipmentStatus status, VehicleType vehicleType, Long shipments,
+                       Number estimatedRateCents, Number revenueCents) implements ShipmentRepository.FiguresRow {
+
+        @Override
+        public ShipmentStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public VehicleType getVehicleType() {
+            return vehicleType;
+        }
+
+        @Override
+        public Long getShipments() {
+            return shipments;
+        }
+
+        @Override
+        public Number getEstimatedRateCents() {
+            return estimatedRateCents;
+        }
+
+        @Override
+        public Number getRevenueCents() {
+            return revenueCents;
+        }
+    }
+}
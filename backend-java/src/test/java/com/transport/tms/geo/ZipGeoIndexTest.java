@@ -0,0 +1,124 @@
+package com.transport.tms.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ZipGeoIndex
+ *
+ * Testing Strategy:
+ * - Load a handful of centroids from an in-memory file, plus the bundled file once
+ * - Check distances against known great-circle values, prefix fallback and unknown ZIPs
+ * - Check radius searches return only ZIPs in range, nearest first, from a ZIP or a ZIP+4
+ * - Check ZIPs placed only by their prefix are found by radius too
+ */
+@DisplayName("ZipGeoIndex Unit Tests")
+class ZipGeoIndexTest {
+
+    private ZipGeoIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ZipGeoIndex(resource("""
+                zip,latitude,longitude
+                80202,39.7527,-104.9993
+                80903,38.8339,-104.8214
+                78701,30.2713,-97.7426
+                """));
+    }
+
+    @Test
+    @DisplayName("DistanceMiles - Should return great-circle miles between centroids")
+    void distanceMiles_shouldMatchKnownDistance() {
+        assertThat(index.distanceMiles("80202", "78701")).isCloseTo(772.5, within(0.5));
+        assertThat(index.distanceMiles("80202-1234", "80202")).isZero();
+    }
+
+    @Test
+    @DisplayName("DistanceMiles - Should fall back to the three-digit prefix and give up on unknown ZIPs")
+    void distanceMiles_withMissingZip_shouldUsePrefixOrNull() {
+        assertThat(index.distanceMiles("80205", "80202")).isZero();
+        assertThat(index.distanceMiles("10001", "80202")).isNull();
+        assertThat(index.distanceMiles("ABCDE", "80202")).isNull();
+        assertThat(index.distanceMiles(null, "80202")).isNull();
+    }
+
+    @Test
+    @DisplayName("Within - Should return ZIPs inside the radius, nearest first")
+    void within_shouldReturnNearestFirst() {
+        assertThat(index.within("80202", 100)).extracting(ZipGeoIndex.Nearby::zip)
+                .containsExactly("80202", "80903");
+        assertThat(index.within("80202", 1_000)).extracting(ZipGeoIndex.Nearby::zip)
+                .containsExactly("80202", "80903", "78701");
+        assertThat(index.within("10001", 1_000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Within - Should search around a ZIP+4 as around its ZIP")
+    void within_withZipPlusFour_shouldMatchZip() {
+        assertThat(index.within("80202-1234", 100)).isEqualTo(index.within("80202", 100));
+        assertThat(index.within("80202-1234", 100)).extracting(ZipGeoIndex.Nearby::zip)
+                .containsExactly("80202", "80903");
+    }
+
+    @Test
+    @DisplayName("FallbackWithin - Should return the missing ZIPs of prefixes in range, at the prefix centroid")
+    void fallbackWithin_shouldReturnMissingZipsOfPrefixesInRange() {
+        // When
+        List<ZipGeoIndex.Nearby> nearby = index.fallbackWithin("80202-1234", 100);
+
+        // Then: every 802xx and 809xx ZIP except the two in the file
+        assertThat(nearby).hasSize(198);
+        assertThat(nearby).extracting(ZipGeoIndex.Nearby::zip)
+                .contains("80205", "80904")
+                .doesNotContain("80202", "80903", "78701");
+        assertThat(nearby.get(0).miles()).isZero();
+        assertThat(nearby.get(197).miles()).isCloseTo(index.distanceMiles("80202", "80903"), within(0.01));
+        assertThat(index.fallbackWithin("10001", 1_000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Load - Should reject a malformed line")
+    void load_withBadLine_shouldThrow() {
+        assertThatThrownBy(() -> new ZipGeoIndex(resource("80202,139.75,-104.99\n")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    @DisplayName("Load - Should read a Census Gazetteer ZCTA file as published")
+    void load_withGazetteerFile_shouldReadInternalPoints() throws IOException {
+        // Given
+        ZipGeoIndex gazetteer = new ZipGeoIndex(resource("""
+                GEOID\tALAND\tAWATER\tALAND_SQMI\tAWATER_SQMI\tINTPTLAT\tINTPTLONG                                                                                                              \t
+                80202\t4484117\t0\t1.731\t0.000\t39.7527\t-104.9993             \t
+                78701\t4149734\t82946\t1.602\t0.032\t30.2713\t-97.7426              \t
+                """));
+
+        // Then
+        assertThat(gazetteer.size()).isEqualTo(2);
+        assertThat(gazetteer.distanceMiles("80202", "78701")).isCloseTo(772.5, within(0.5));
+    }
+
+    @Test
+    @DisplayName("Load - Should read the bundled centroid file")
+    void load_shouldReadBundledFile() throws IOException {
+        ZipGeoIndex bundled = new ZipGeoIndex(new ClassPathResource("geo/zip-centroids.csv"));
+
+        assertThat(bundled.size()).isGreaterThan(50);
+        assertThat(bundled.distanceMiles("80202", "78701")).isCloseTo(772.5, within(0.5));
+    }
+
+    private static ByteArrayResource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
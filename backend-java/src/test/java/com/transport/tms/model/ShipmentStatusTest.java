@@ -0,0 +1,50 @@
+package com.transport.tms.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the ShipmentStatus transition table
+ *
+ * Testing Strategy:
+ * - Walk the happy path and the dead ends of the lifecycle
+ * - Check that allowedSources is the exact inverse of allowedTargets
+ */
+@DisplayName("ShipmentStatus Unit Tests")
+class ShipmentStatusTest {
+
+    @Test
+    @DisplayName("CanMoveTo - Should follow the delivery lifecycle")
+    void canMoveTo_shouldFollowLifecycle() {
+        assertThat(ShipmentStatus.PENDING.canMoveTo(ShipmentStatus.ASSIGNED)).isTrue();
+        assertThat(ShipmentStatus.ASSIGNED.canMoveTo(ShipmentStatus.PICKED_UP)).isTrue();
+        assertThat(ShipmentStatus.PICKED_UP.canMoveTo(ShipmentStatus.IN_TRANSIT)).isTrue();
+        assertThat(ShipmentStatus.IN_TRANSIT.canMoveTo(ShipmentStatus.DELIVERED)).isTrue();
+
+        assertThat(ShipmentStatus.PENDING.canMoveTo(ShipmentStatus.DELIVERED)).isFalse();
+        assertThat(ShipmentStatus.IN_TRANSIT.canMoveTo(ShipmentStatus.CANCELLED)).isFalse();
+        assertThat(ShipmentStatus.ASSIGNED.canMoveTo(ShipmentStatus.PENDING)).isFalse();
+    }
+
+    @Test
+    @DisplayName("AllowedTargets - Should make DELIVERED and CANCELLED final")
+    void allowedTargets_shouldHaveFinalStatuses() {
+        assertThat(ShipmentStatus.DELIVERED.allowedTargets()).isEmpty();
+        assertThat(ShipmentStatus.CANCELLED.allowedTargets()).isEmpty();
+        assertThat(ShipmentStatus.PENDING.allowedSources()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("AllowedSources - Should be the inverse of allowedTargets")
+    void allowedSources_shouldInvertTargets() {
+        for (ShipmentStatus source : ShipmentStatus.values()) {
+            for (ShipmentStatus target : ShipmentStatus.values()) {
+                assertThat(target.allowedSources().contains(source))
+                        .as("%s -> %s", source, target)
+                        .isEqualTo(source.canMoveTo(target));
+            }
+        }
+    }
+}
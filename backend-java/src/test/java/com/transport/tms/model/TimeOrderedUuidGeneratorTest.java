@@ -0,0 +1,86 @@
+package com.transport.tms.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TimeOrderedUuidGenerator
+ *
+ * Testing Strategy:
+ * - Generate ids directly, without a session
+ * - Check the RFC 9562 layout, ordering and uniqueness under concurrency
+ */
+@DisplayName("TimeOrderedUuidGenerator Unit Tests")
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Next - Should produce version 7, IETF variant ids carrying the current time")
+    void next_shouldFollowUuidV7Layout() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID uuid = TimeOrderedUuidGenerator.next();
+
+        // Then
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuidGenerator.timestampOf(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("Next - Should sort in creation order as strings, even within one millisecond")
+    void next_shouldBeStrictlyIncreasing() {
+        // When
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(TimeOrderedUuidGenerator.next().toString());
+        }
+
+        // Then
+        assertThat(ids).isSorted();
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    @DisplayName("Next - Should never repeat across threads")
+    void next_concurrently_shouldBeUnique() {
+        // When
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 400_000).parallel().forEach(i -> ids.add(TimeOrderedUuidGenerator.next()));
+
+        // Then
+        assertThat(ids).hasSize(400_000);
+    }
+
+    @Test
+    @DisplayName("NextState - Should borrow the next millisecond when the sequence overflows")
+    void nextState_whenSequenceOverflows_shouldStayMonotonic() {
+        // Given
+        AtomicLong state = new AtomicLong();
+        long millis = System.currentTimeMillis();
+        long first = TimeOrderedUuidGenerator.nextState(state, millis);
+
+        // When
+        long last = first;
+        for (int i = 0; i < 5_000; i++) {
+            long next = TimeOrderedUuidGenerator.nextState(state, millis);
+            assertThat(next).isGreaterThan(last);
+            last = next;
+        }
+
+        // Then
+        assertThat(last >>> 12).isGreaterThan(millis);
+    }
+}
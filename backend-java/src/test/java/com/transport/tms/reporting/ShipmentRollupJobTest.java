@@ -0,0 +1,196 @@
+package com.transport.tms.reporting;
+
+import com.transport.tms.dto.ReportDimension;
+import com.transport.tms.dto.ShipmentReport;
+import com.transport.tms.dto.ShipmentReportRow;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.JobWatermarkRepository;
+import com.transport.tms.repository.ShipmentDailyRollupRepository;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.service.ShipmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ShipmentRollupJob and ShipmentReportService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database
+ * - Write shipments through ShipmentService, then run the job by hand instead of waiting for the schedule
+ * - Assert reports only change after a refresh, and follow creates, status changes and deletes
+ */
+@SpringBootTest
+@DisplayName("ShipmentRollupJob Integration Tests")
+class ShipmentRollupJobTest {
+
+    @Autowired
+    private ShipmentRollupJob shipmentRollupJob;
+
+    @Autowired
+    private ShipmentReportService shipmentReportService;
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private JobWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    private User driver;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository.deleteAll();
+        watermarkRepository.deleteAll();
+        dispatcher = userRepository.save(user("rollup-dispatcher@example.com", UserRole.DISPATCHER));
+        driver = userRepository.save(user("rollup-driver@example.com", UserRole.DRIVER));
+        today = ShipmentRollupJob.day(Instant.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        watermarkRepository.deleteAll();
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Refresh - Should build rollups for existing shipments on the first run")
+    void refresh_shouldBuildAllDays() {
+        // Given
+        create("CO", 500.0);
+        create("CO", 250.0);
+        create("NM", 100.0);
+
+        // When
+        shipmentRollupJob.refresh();
+
+        // Then
+        ShipmentReport report = shipmentReportService.report(today, today, List.of(ReportDimension.SHIPPER_STATE));
+        assertThat(report.getRows()).extracting(ShipmentReportRow::getShipperState).containsExactly("CO", "NM");
+        ShipmentReportRow colorado = report.getRows().get(0);
+        assertThat(colorado.getShipments()).isEqualTo(2);
+        assertThat(colorado.getTotalWeight()).isEqualTo(2_000.0);
+        assertThat(colorado.getEstimatedRevenue()).isEqualTo(750.0);
+        assertThat(colorado.getStatus()).isNull();
+        assertThat(report.getRefreshedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Refresh - Should move changed shipments to their new group and drop deleted ones")
+    void refresh_shouldFollowChanges() {
+        // Given
+        Shipment assigned = create("CO", 500.0);
+        Shipment deleted = create("CO", 250.0);
+        shipmentRollupJob.refresh();
+
+        // When
+        shipmentService.assignDriver(assigned.getId(), driver.getId());
+        shipmentService.delete(deleted.getId());
+        List<ShipmentReportRow> stale = statusRows();
+        shipmentRollupJob.refresh();
+
+        // Then
+        assertThat(stale).extracting(ShipmentReportRow::getStatus).containsExactly(ShipmentStatus.PENDING);
+        assertThat(stale.get(0).getShipments()).isEqualTo(2);
+        List<ShipmentReportRow> rows = statusRows();
+        assertThat(rows).extracting(ShipmentReportRow::getStatus).containsExactly(ShipmentStatus.ASSIGNED);
+        assertThat(rows.get(0).getShipments()).isEqualTo(1);
+        assertThat(rows.get(0).getRevenue()).isEqualTo(500.0);
+    }
+
+    @Test
+    @DisplayName("Report - Should label periods and leave out days outside the range")
+    void report_shouldGroupByPeriod() {
+        // Given
+        create("CO", 500.0);
+        shipmentRollupJob.refresh();
+
+        // When
+        ShipmentReport byMonth = shipmentReportService.report(today, today, List.of(ReportDimension.MONTH));
+        ShipmentReport byWeek = shipmentReportService.report(today.minusDays(7), today, List.of(ReportDimension.WEEK));
+        ShipmentReport before = shipmentReportService.report(today.minusDays(7), today.minusDays(1), null);
+
+        // Then
+        assertThat(byMonth.getRows()).extracting(ShipmentReportRow::getPeriod)
+                .containsExactly(today.toString().substring(0, 7));
+        assertThat(byWeek.getRows()).hasSize(1);
+        assertThat(byWeek.getRows().get(0).getPeriod()).matches("\\d{4}-W\\d{2}");
+        assertThat(before.getRows()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Report - Should reject more than one period")
+    void report_withTwoPeriods_shouldThrow() {
+        assertThatThrownBy(() -> shipmentReportService.report(today, today,
+                List.of(ReportDimension.DAY, ReportDimension.MONTH)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("one period");
+    }
+
+    private List<ShipmentReportRow> statusRows() {
+        return shipmentReportService.report(today, today, List.of(ReportDimension.STATUS)).getRows();
+    }
+
+    private Shipment create(String shipperState, double estimatedRate) {
+        CreateShipmentInput input = new CreateShipmentInput();
+        input.setShipperName("Acme");
+        input.setShipperPhone("555-0100");
+        input.setShipperAddress("1 Main St");
+        input.setShipperCity("Denver");
+        input.setShipperState(shipperState);
+        input.setShipperZip("80202");
+        input.setConsigneeName("Globex");
+        input.setConsigneePhone("555-0200");
+        input.setConsigneeAddress("2 Side St");
+        input.setConsigneeCity("Austin");
+        input.setConsigneeState("TX");
+        input.setConsigneeZip("78701");
+        input.setCargoDescription("Pallets");
+        input.setWeight(1000.0);
+        input.setVehicleType(VehicleType.TRUCK);
+        input.setEstimatedRate(estimatedRate);
+        input.setPickupDate(LocalDate.now());
+        input.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        return shipmentService.create(shipmentMapper.toEntity(input), dispatcher.getId());
+    }
+}
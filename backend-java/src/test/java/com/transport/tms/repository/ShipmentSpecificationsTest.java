@@ -0,0 +1,226 @@
+package com.transport.tms.repository;
+
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.search.SearchDocument;
+import com.transport.tms.search.ShipmentSearchIndex;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ShipmentSpecifications
+ *
+ * Testing Strategy:
+ * - @DataJpaTest against the embedded database
+ * - A Hibernate StatementInspector captures the SQL each specification generates
+ * - Asserts both the rows returned and the shape of the WHERE clause
+ * - The SQL search is checked against the search index's own matching rules
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.transport.tms.repository.ShipmentSpecificationsTest$CapturingInspector")
+@DisplayName("ShipmentSpecifications Integration Tests")
+class ShipmentSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    private User creator;
+    private User driverOne;
+    private User driverTwo;
+
+    @BeforeEach
+    void setUp() {
+        creator = entityManager.persist(user("creator@example.com", UserRole.DISPATCHER));
+        driverOne = entityManager.persist(user("driver1@example.com", UserRole.DRIVER));
+        driverTwo = entityManager.persist(user("driver2@example.com", UserRole.DRIVER));
+        entityManager.persist(createShipment("TRK-1", ShipmentStatus.PENDING, driverOne, VehicleType.TRUCK, "Dallas", "Austin", "Acme Corp"));
+        entityManager.persist(createShipment("TRK-2", ShipmentStatus.ASSIGNED, driverOne, VehicleType.VAN, "Dallas", "Houston", "Globex"));
+        entityManager.persist(createShipment("TRK-3", ShipmentStatus.ASSIGNED, driverTwo, VehicleType.TRUCK, "Denver", "Austin", "Acme_Labs"));
+        entityManager.flush();
+        entityManager.clear();
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    // ==================== Filter Tests ====================
+
+    @Test
+    @DisplayName("FromFilter - Should push every equality field into the WHERE clause")
+    void fromFilter_withEqualityFields_shouldFilterInSql() {
+        // Given
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setStatus(ShipmentStatus.ASSIGNED);
+        filter.setDriverId(driverOne.getId());
+        filter.setVehicleType(VehicleType.VAN);
+        filter.setShipperCity("Dallas");
+        filter.setConsigneeCity("Houston");
+        filter.setCreatedById(creator.getId());
+
+        // When
+        List<Shipment> found = shipmentRepository.findAll(ShipmentSpecifications.fromFilter(filter));
+
+        // Then
+        assertThat(found).extracting(Shipment::getTrackingNumber).containsExactly("TRK-2");
+        String where = lastWhereClause();
+        assertThat(where)
+                .contains("\"status\"=?")
+                .contains("\"driverId\"=?")
+                .contains("\"vehicleType\"=?")
+                .contains("\"shipperCity\"=?")
+                .contains("\"consigneeCity\"=?")
+                .contains("\"createdById\"=?")
+                .doesNotContainIgnoringCase("upper(")
+                .doesNotContainIgnoringCase("lower(");
+    }
+
+    @Test
+    @DisplayName("FromFilter - Should match tracking number exactly")
+    void fromFilter_withTrackingNumber_shouldUseEquality() {
+        // Given
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setTrackingNumber(" TRK-3 ");
+
+        // When
+        List<Shipment> found = shipmentRepository.findAll(ShipmentSpecifications.fromFilter(filter));
+
+        // Then
+        assertThat(found).extracting(Shipment::getTrackingNumber).containsExactly("TRK-3");
+        assertThat(lastWhereClause()).contains("\"trackingNumber\"=?").doesNotContain("like");
+    }
+
+    @Test
+    @DisplayName("FromFilter - Should return all shipments when filter is null or blank")
+    void fromFilter_withEmptyFilter_shouldNotRestrict() {
+        // Given
+        ShipmentFilterInput blank = new ShipmentFilterInput();
+        blank.setSearch("   ");
+        blank.setDriverId("");
+
+        // When
+        List<Shipment> fromNull = shipmentRepository.findAll(ShipmentSpecifications.fromFilter(null));
+        List<Shipment> fromBlank = shipmentRepository.findAll(ShipmentSpecifications.fromFilter(blank));
+
+        // Then
+        assertThat(fromNull).hasSize(3);
+        assertThat(fromBlank).hasSize(3);
+        assertThat(lastWhereClause()).isEmpty();
+    }
+
+    // ==================== Search Tests ====================
+
+    @Test
+    @DisplayName("MatchesSearch - Should match lower-cased words anywhere in the index fields")
+    void matchesSearch_shouldMatchWordsIgnoringCase() {
+        // When
+        List<Shipment> found = shipmentRepository.findAll(
+                ShipmentSpecifications.matchesSearch("acme"), Sort.by("trackingNumber"));
+
+        // Then
+        assertThat(found).extracting(Shipment::getTrackingNumber).containsExactly("TRK-1", "TRK-3");
+        assertThat(lastWhereClause()).contains("lower(").contains("like").contains("escape");
+    }
+
+    @Test
+    @DisplayName("MatchesSearch - Should select exactly the shipments the search index matches")
+    void matchesSearch_shouldAgreeWithSearchIndex() {
+        // Given
+        List<Shipment> all = shipmentRepository.findAll();
+
+        for (String term : List.of("acme", "ACME corp", "labs", "cme", "ac", "me", "750", "allet", "tx", "globex", "zzz")) {
+            // When
+            List<Shipment> found = shipmentRepository.findAll(ShipmentSpecifications.matchesSearch(term));
+
+            // Then
+            assertThat(found).as(term).extracting(Shipment::getTrackingNumber)
+                    .containsExactlyInAnyOrderElementsOf(all.stream()
+                            .filter(shipment -> ShipmentSearchIndex.matches(SearchDocument.of(shipment), term))
+                            .map(Shipment::getTrackingNumber)
+                            .toList());
+        }
+    }
+
+    @Test
+    @DisplayName("MatchesSearch - Should treat LIKE wildcards in the term as separators, not patterns")
+    void matchesSearch_withWildcardCharacters_shouldNotExpandThem() {
+        // When
+        List<Shipment> onlyWildcards = shipmentRepository.findAll(ShipmentSpecifications.matchesSearch("%_"));
+        List<Shipment> found = shipmentRepository.findAll(ShipmentSpecifications.matchesSearch("Acme_Labs"));
+
+        // Then
+        assertThat(onlyWildcards).isEmpty();
+        assertThat(found).extracting(Shipment::getTrackingNumber).containsExactly("TRK-3");
+        assertThat(ShipmentSpecifications.escapeLike("50%_off\\")).isEqualTo("50\\%\\_off\\\\");
+    }
+
+    // ==================== Helper Methods ====================
+
+    private String lastWhereClause() {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.contains("from \"shipments\""))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        int where = sql.indexOf(" where ");
+        return where < 0 ? "" : sql.substring(where);
+    }
+
+    private Shipment createShipment(String trackingNumber, ShipmentStatus status, User driver,
+                                    VehicleType vehicleType, String shipperCity, String consigneeCity,
+                                    String shipperName) {
+        Shipment shipment = new Shipment();
+        shipment.setTrackingNumber(trackingNumber);
+        shipment.setStatus(status);
+        shipment.setShipperName(shipperName);
+        shipment.setShipperPhone("555-0100");
+        shipment.setShipperAddress("1 Main St");
+        shipment.setShipperCity(shipperCity);
+        shipment.setShipperState("TX");
+        shipment.setShipperZip("75001");
+        shipment.setConsigneeName("Receiver");
+        shipment.setConsigneePhone("555-0200");
+        shipment.setConsigneeAddress("2 Side St");
+        shipment.setConsigneeCity(consigneeCity);
+        shipment.setConsigneeState("TX");
+        shipment.setConsigneeZip("73301");
+        shipment.setCargoDescription("Pallets");
+        shipment.setWeight(1000.0);
+        shipment.setVehicleType(vehicleType);
+        shipment.setEstimatedRate(500.0);
+        shipment.setPickupDate(LocalDate.now());
+        shipment.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        shipment.setCreatedById(creator.getId());
+        shipment.setDriverId(driver.getId());
+        return shipment;
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares
+     */
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.replaceAll("\\s+", " "));
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.transport.tms.routing;
+
+import com.transport.tms.dto.DriverRoute;
+import com.transport.tms.dto.RouteStop;
+import com.transport.tms.dto.RouteStopType;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.service.ShipmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for DriverRouteService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database and the bundled ZIP centroids
+ * - Assign shipments through ShipmentService, between cities whose best order is known
+ * - Assert stop order and legs, and that the cached route is replaced once the driver's shipments change
+ */
+@SpringBootTest
+@DisplayName("DriverRouteService Integration Tests")
+class DriverRouteServiceTest {
+
+    @Autowired
+    private DriverRouteService driverRouteService;
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = userRepository.save(user("route-dispatcher@example.com", UserRole.DISPATCHER));
+        driver = userRepository.save(user("route-driver@example.com", UserRole.DRIVER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Route - Should order pickups and deliveries by distance, pickups first")
+    void route_shouldOrderStops() {
+        // Given: Denver to Austin and Colorado Springs to Dallas
+        assign(create("Denver", "80202", "Austin", "78701"));
+        assign(create("Colorado Springs", "80903", "Dallas", "75201"));
+
+        // When
+        DriverRoute route = driverRouteService.route(driver.getId());
+
+        // Then
+        assertThat(route.getStops()).extracting(RouteStop::getZip).containsExactly("80202", "80903", "75201", "78701");
+        assertThat(route.getStops()).extracting(RouteStop::getType).containsExactly(
+                RouteStopType.PICKUP, RouteStopType.PICKUP, RouteStopType.DELIVERY, RouteStopType.DELIVERY);
+        assertThat(route.getStops().get(0).getMilesFromPrevious()).isNull();
+        assertThat(route.getTotalMiles()).isCloseTo(859.9, within(0.5));
+    }
+
+    @Test
+    @DisplayName("Route - Should serve the cached route until the driver's shipments change")
+    void route_shouldBeCachedUntilAssignmentsChange() {
+        // Given
+        assign(create("Denver", "80202", "Austin", "78701"));
+        DriverRoute first = driverRouteService.route(driver.getId());
+
+        // When
+        DriverRoute cached = driverRouteService.route(driver.getId());
+        assign(create("Colorado Springs", "80903", "Dallas", "75201"));
+        DriverRoute replanned = driverRouteService.route(driver.getId());
+
+        // Then
+        assertThat(cached).isSameAs(first);
+        assertThat(first.getStops()).hasSize(2);
+        assertThat(replanned.getStops()).hasSize(4);
+    }
+
+    private void assign(Shipment shipment) {
+        shipmentService.assignDriver(shipment.getId(), driver.getId());
+    }
+
+    private Shipment create(String shipperCity, String shipperZip, String consigneeCity, String consigneeZip) {
+        CreateShipmentInput input = new CreateShipmentInput();
+        input.setShipperName("Acme");
+        input.setShipperPhone("555-0100");
+        input.setShipperAddress("1 Main St");
+        input.setShipperCity(shipperCity);
+        input.setShipperState("CO");
+        input.setShipperZip(shipperZip);
+        input.setConsigneeName("Globex");
+        input.setConsigneePhone("555-0200");
+        input.setConsigneeAddress("2 Side St");
+        input.setConsigneeCity(consigneeCity);
+        input.setConsigneeState("TX");
+        input.setConsigneeZip(consigneeZip);
+        input.setCargoDescription("Pallets");
+        input.setWeight(1000.0);
+        input.setVehicleType(VehicleType.TRUCK);
+        input.setEstimatedRate(500.0);
+        input.setPickupDate(LocalDate.now());
+        input.setEstimatedDelivery(LocalDate.now().plusDays(2));
+        return shipmentService.create(shipmentMapper.toEntity(input), dispatcher.getId());
+    }
+}
@@ -0,0 +1,117 @@
+package com.transport.tms.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RoutePlanner
+ *
+ * Testing Strategy:
+ * - Stops on a line, where the shortest open route is obvious, and random stops on a plane
+ * - Assert the route length where it is known and pickup-before-delivery everywhere
+ * - A zero budget still returns a complete, valid route
+ */
+@DisplayName("RoutePlanner Unit Tests")
+class RoutePlannerTest {
+
+    private static final long BUDGET = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Plan - Should sweep stops on a line in one direction")
+    void plan_onLine_shouldFindShortestRoute() {
+        // Given: shipment A from 0 to 10, shipment B from 1 to 11
+        double[] x = {0, 10, 1, 11};
+        int[] before = {-1, 0, -1, 2};
+
+        // When
+        int[] route = RoutePlanner.plan(line(x), before, BUDGET);
+
+        // Then
+        assertThat(route).containsExactly(0, 2, 1, 3);
+        assertThat(RoutePlanner.length(line(x), route)).isEqualTo(11.0);
+    }
+
+    @Test
+    @DisplayName("Plan - Should keep each pickup before its delivery even when going back is shorter")
+    void plan_shouldRespectPickupBeforeDelivery() {
+        // Given: shipment A from 10 back to 0, shipment B from 1 to 2
+        double[] x = {10, 0, 1, 2};
+        int[] before = {-1, 0, -1, 2};
+
+        // When
+        int[] route = RoutePlanner.plan(line(x), before, BUDGET);
+
+        // Then
+        assertThat(feasible(route, before)).isTrue();
+        assertThat(RoutePlanner.length(line(x), route)).isEqualTo(12.0);
+    }
+
+    @Test
+    @DisplayName("Plan - Should return valid routes for random stops, with and without a budget")
+    void plan_withRandomStops_shouldStayValid() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int shipments = 1 + random.nextInt(12);
+            double[][] points = new double[shipments * 2][];
+            int[] before = new int[shipments * 2];
+            for (int s = 0; s < shipments; s++) {
+                points[2 * s] = new double[]{random.nextDouble() * 500, random.nextDouble() * 500};
+                points[2 * s + 1] = new double[]{random.nextDouble() * 500, random.nextDouble() * 500};
+                before[2 * s] = -1;
+                before[2 * s + 1] = 2 * s;
+            }
+            double[][] miles = plane(points);
+
+            int[] improved = RoutePlanner.plan(miles, before, BUDGET);
+            int[] constructed = RoutePlanner.plan(miles, before, 0);
+
+            assertThat(improved).hasSize(before.length).doesNotHaveDuplicates();
+            assertThat(constructed).hasSize(before.length).doesNotHaveDuplicates();
+            assertThat(feasible(improved, before)).isTrue();
+            assertThat(feasible(constructed, before)).isTrue();
+            assertThat(RoutePlanner.length(miles, improved))
+                    .isLessThanOrEqualTo(RoutePlanner.length(miles, constructed) + 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Plan - Should return an empty route for no stops")
+    void plan_withNoStops_shouldReturnEmpty() {
+        assertThat(RoutePlanner.plan(new double[0][0], new int[0], BUDGET)).isEmpty();
+    }
+
+    private static double[][] line(double[] x) {
+        double[][] miles = new double[x.length][x.length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x.length; j++) {
+                miles[i][j] = Math.abs(x[i] - x[j]);
+            }
+        }
+        return miles;
+    }
+
+    private static double[][] plane(double[][] points) {
+        double[][] miles = new double[points.length][points.length];
+        for (int i = 0; i < points.length; i++) {
+            for (int j = 0; j < points.length; j++) {
+                miles[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+            }
+        }
+        return miles;
+    }
+
+    private static boolean feasible(int[] route, int[] before) {
+        int[] position = new int[route.length];
+        for (int i = 0; i < route.length; i++) {
+            position[route[i]] = i;
+        }
+        for (int stop = 0; stop < before.length; stop++) {
+            if (before[stop] >= 0 && position[before[stop]] > position[stop]) return false;
+        }
+        return true;
+    }
+}
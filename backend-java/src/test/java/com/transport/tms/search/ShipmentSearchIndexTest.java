@@ -0,0 +1,145 @@
+package com.transport.tms.search;
+
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.repository.ShipmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShipmentSearchIndex
+ *
+ * Testing Strategy:
+ * - Mock ShipmentRepository as the source of the startup rebuild
+ * - Feed live changes through the same event listener ShipmentService publishes to
+ * - Assert on matched ids and their ranking
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShipmentSearchIndex Unit Tests")
+class ShipmentSearchIndexTest {
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    private ShipmentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ShipmentSearchIndex(shipmentRepository);
+        index.index(document("s1", "TRK100", "Acme Corp", "Dallas", "75201", "Globex", "Austin", "73301", "Steel beams"));
+        index.index(document("s2", "TRK200", "Globex", "Houston", "77001", "Acme Labs", "Denver", "80201", "Lab equipment"));
+        index.index(document("s3", "ACME77", "Initech", "Denver", "80202", "Umbrella", "Dallas", "75202", "Paper"));
+    }
+
+    @Test
+    @DisplayName("Search - Should match inside words across every searchable field")
+    void search_shouldMatchSubstrings() {
+        assertThat(index.search("allas", 10)).containsExactlyInAnyOrder("s1", "s3");
+        assertThat(index.search("7520", 10)).containsExactlyInAnyOrder("s1", "s3");
+        assertThat(index.search("equip", 10)).containsExactly("s2");
+    }
+
+    @Test
+    @DisplayName("Search - Should require every word and ignore case and punctuation")
+    void search_withSeveralWords_shouldMatchAll() {
+        assertThat(index.search("acme, DALLAS", 10)).containsExactlyInAnyOrder("s1", "s3");
+        assertThat(index.search("acme houston", 10)).containsExactly("s2");
+        assertThat(index.search("acme paris", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Search - Should treat short terms as word prefixes")
+    void search_withShortTerm_shouldMatchPrefixes() {
+        assertThat(index.search("de", 10)).containsExactlyInAnyOrder("s2", "s3");
+        assertThat(index.search("n", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Search - Should rank tracking number matches above name matches")
+    void search_shouldRankByField() {
+        assertThat(index.search("acme", 10)).containsExactly("s3", "s1", "s2");
+        assertThat(index.search("acme", 1)).containsExactly("s3");
+    }
+
+    @Test
+    @DisplayName("OnShipmentChanged - Should replace and drop documents")
+    void onShipmentChanged_shouldKeepIndexCurrent() {
+        // Given
+        Shipment shipment = new Shipment();
+        shipment.setId("s1");
+        shipment.setTrackingNumber("TRK100");
+        shipment.setShipperName("Wayne Enterprises");
+        shipment.setShipperCity("Gotham");
+
+        // When
+        index.onShipmentChanged(ShipmentChangedEvent.updated(shipment));
+
+        // Then
+        assertThat(index.search("acme", 10)).doesNotContain("s1");
+        assertThat(index.search("gotham", 10)).containsExactly("s1");
+
+        index.onShipmentChanged(ShipmentChangedEvent.deleted(shipment));
+        assertThat(index.search("gotham", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Rebuild - Should page through the repository and then serve filters")
+    void rebuild_shouldLoadEveryBatch() {
+        // Given
+        index = new ShipmentSearchIndex(shipmentRepository);
+        when(shipmentRepository.findSearchDocumentsAfter(eq(""), any(Pageable.class)))
+                .thenReturn(List.of(document("s1", "TRK100", "Acme Corp", "Dallas", "75201", "Globex", "Austin", "73301", "Steel")));
+        assertThat(index.matchingIds("acme")).isNull();
+
+        // When
+        index.rebuild();
+
+        // Then
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.matchingIds("acme")).containsExactly("s1");
+        verify(shipmentRepository, times(1)).findSearchDocumentsAfter(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("MatchingIds - Should leave terms with more matches than an IN list takes to SQL")
+    void matchingIds_overCap_shouldFallBack() {
+        // Given
+        when(shipmentRepository.findSearchDocumentsAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+        index.rebuild();
+        for (int i = 0; i < ShipmentSearchIndex.MAX_FILTER_MATCHES - 1; i++) {
+            index.index(wayne("w" + i));
+        }
+
+        // When / Then: up to the cap the ids are exact
+        assertThat(index.matchingIds("wayne")).hasSize(ShipmentSearchIndex.MAX_FILTER_MATCHES - 1);
+        index.index(wayne("w-last"));
+        assertThat(index.matchingIds("wayne")).hasSize(ShipmentSearchIndex.MAX_FILTER_MATCHES);
+        index.index(wayne("w-over"));
+        assertThat(index.matchingIds("wayne")).isNull();
+        assertThat(index.search("wayne", 5)).hasSize(5);
+    }
+
+    private static SearchDocument document(String id, String trackingNumber, String shipperName, String shipperCity,
+                                           String shipperZip, String consigneeName, String consigneeCity,
+                                           String consigneeZip, String cargoDescription) {
+        return new SearchDocument(id, trackingNumber, shipperName, shipperCity, shipperZip,
+                consigneeName, consigneeCity, consigneeZip, cargoDescription);
+    }
+
+    private static SearchDocument wayne(String id) {
+        return document(id, "TRK-" + id, "Wayne", "Gotham", "07001", "Kent", "Metropolis", "10001", "Crates");
+    }
+}
@@ -0,0 +1,88 @@
+package com.transport.tms.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BoundedPasswordEncoder
+ *
+ * Testing Strategy:
+ * - Real BCrypt at a low cost to keep the tests fast
+ * - Saturate the pool with blocking tasks to exercise fast rejection
+ * - Read latency and rejection counts back from a SimpleMeterRegistry
+ */
+@DisplayName("BoundedPasswordEncoder Unit Tests")
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(4, 1, 1, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Encode/Matches - Should hash on the pool and record latency")
+    void encodeAndMatches_shouldWorkAndBeTimed() {
+        // When
+        String hash = encoder.encode("password123");
+
+        // Then
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("UpgradeEncoding - Should be true only when the stored cost differs from the configured one")
+    void upgradeEncoding_shouldCompareCost() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("x"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("x"))).isTrue();
+        assertThat(encoder.upgradeEncoding("plain-text")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Encode - Should reject immediately when the pool and queue are full")
+    void encode_whenSaturated_shouldRejectFast() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        encoder.executor().execute(blocker);
+        encoder.executor().execute(blocker);
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> encoder.encode("password123"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("retry");
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.transport.tms.security;
+
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter
+ *
+ * Testing Strategy:
+ * - Real JwtUtil issuing tokens, mocked UserDetailsService
+ * - Mock servlet request/response to drive the filter
+ * - Verify the principal comes from token claims without loading the user
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Unit Tests")
+class JwtAuthenticationFilterTest {
+
+    private static final String TEST_SECRET = "test-secret-key-must-be-at-least-32-characters-long-for-security";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil());
+        ReflectionTestUtils.setField(jwtUtil, "secret", TEST_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, 100);
+
+        user = new User();
+        user.setId("user-1");
+        user.setEmail("driver@example.com");
+        user.setRole(UserRole.DRIVER);
+        user.setIsActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("DoFilter - Should authenticate from claims without loading the user")
+    void doFilter_withValidToken_shouldAuthenticateFromClaims() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+
+        // When
+        Authentication authentication = filter(token);
+
+        // Then
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal())
+            .isEqualTo(new AuthenticatedUser("user-1", "driver@example.com", UserRole.DRIVER));
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_DRIVER");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("DoFilter - Should verify a repeated token only once")
+    void doFilter_withRepeatedToken_shouldUseVerifiedCache() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+
+        // When
+        filter(token);
+        SecurityContextHolder.clearContext();
+        filter(token);
+
+        // Then
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+    }
+
+    @Test
+    @DisplayName("DoFilter - Should leave the request anonymous for a tampered token")
+    void doFilter_withTamperedToken_shouldNotAuthenticate() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+
+        // When
+        Authentication authentication = filter(token.substring(0, token.length() - 4) + "AAAA");
+
+        // Then
+        assertThat(authentication).isNull();
+    }
+
+    @Test
+    @DisplayName("DoFilter - Should resolve legacy tokens without claims through the user details service")
+    void doFilter_withLegacyToken_shouldLoadUserOnce() throws Exception {
+        // Given
+        String token = jwtUtil.generateToken(org.springframework.security.core.userdetails.User
+            .withUsername("driver@example.com").password("x").roles("DRIVER").build());
+        when(userDetailsService.loadUserByUsername("driver@example.com")).thenReturn(new CustomUserDetails(user));
+
+        // When
+        filter(token);
+        SecurityContextHolder.clearContext();
+        Authentication authentication = filter(token);
+
+        // Then
+        assertThat(authentication.getPrincipal())
+            .isEqualTo(new AuthenticatedUser("user-1", "driver@example.com", UserRole.DRIVER));
+        verify(userDetailsService, times(1)).loadUserByUsername("driver@example.com");
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
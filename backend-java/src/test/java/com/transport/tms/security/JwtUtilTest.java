@@ -1,5 +1,7 @@
 package com.transport.tms.security;
 
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -226,6 +228,25 @@ class JwtUtilTest {
         assertThat(username).isEqualTo("user+tag@sub-domain.example.com");
     }
 
+    @Test
+    @DisplayName("GenerateToken - Should embed user id and role for application users")
+    void generateToken_withCustomUserDetails_shouldEmbedIdAndRole() {
+        // Given
+        User user = new User();
+        user.setId("user-1");
+        user.setEmail("dispatcher@example.com");
+        user.setRole(UserRole.DISPATCHER);
+
+        // When
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+
+        // Then
+        String userId = jwtUtil.extractClaim(token, claims -> claims.get(JwtUtil.USER_ID_CLAIM, String.class));
+        String role = jwtUtil.extractClaim(token, claims -> claims.get(JwtUtil.ROLE_CLAIM, String.class));
+        assertThat(userId).isEqualTo("user-1");
+        assertThat(role).isEqualTo("DISPATCHER");
+    }
+
     // ==================== Expiration Extraction Tests ====================
 
     @Test
@@ -0,0 +1,260 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.BulkOutcome;
+import com.transport.tms.dto.BulkUpdatePayload;
+import com.transport.tms.dto.BulkUpdateResult;
+import com.transport.tms.dto.CreateShipmentResult;
+import com.transport.tms.dto.CreateShipmentsPayload;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentEvent;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.transport.tms.TestFixtures.shipmentInput;
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ShipmentBulkService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database, small chunks to cross chunk boundaries
+ * - Mix valid inputs with inputs rejected by validation and by the database
+ * - Bulk updates mix eligible, ineligible, unchanged and unknown ids
+ * - Assert per-index and per-id outcomes and the rows actually stored
+ */
+@SpringBootTest(properties = "tms.bulk.chunk-size=2")
+@DisplayName("ShipmentBulkService Integration Tests")
+class ShipmentBulkServiceTest {
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = userRepository.save(user("bulk-dispatcher@example.com", UserRole.DISPATCHER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("CreateAll - Should store every valid input with its own tracking number")
+    void createAll_withValidInputs_shouldStoreAll() {
+        // Given
+        List<CreateShipmentInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            inputs.add(shipmentInput("Shipper " + i));
+        }
+
+        // When
+        CreateShipmentsPayload payload = shipmentBulkService.createAll(inputs, dispatcher.getId());
+
+        // Then
+        assertThat(payload.getCreated()).isEqualTo(5);
+        assertThat(payload.getFailed()).isZero();
+        assertThat(payload.getResults()).extracting(CreateShipmentResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(shipmentRepository.findAll())
+            .hasSize(5)
+            .extracting(Shipment::getTrackingNumber)
+            .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("CreateAll - Should report validation and database failures per input")
+    void createAll_withBadInputs_shouldReportEachFailure() {
+        // Given
+        CreateShipmentInput invalid = shipmentInput("");
+        CreateShipmentInput tooLong = shipmentInput("Too long notes");
+        tooLong.setNotes("x".repeat(2001));
+        List<CreateShipmentInput> inputs = List.of(shipmentInput("First"), invalid, tooLong, shipmentInput("Last"));
+
+        // When
+        CreateShipmentsPayload payload = shipmentBulkService.createAll(inputs, dispatcher.getId());
+
+        // Then
+        assertThat(payload.getCreated()).isEqualTo(2);
+        assertThat(payload.getFailed()).isEqualTo(2);
+        List<CreateShipmentResult> results = payload.getResults();
+        assertThat(results.get(0).getShipment()).isNotNull();
+        assertThat(results.get(1).getError()).contains("Shipper name is required");
+        assertThat(results.get(2).getError()).isNotBlank();
+        assertThat(results.get(2).getShipment()).isNull();
+        assertThat(results.get(3).getShipment()).isNotNull();
+        assertThat(shipmentRepository.findAll()).extracting(Shipment::getShipperName)
+            .containsExactlyInAnyOrder("First", "Last");
+    }
+
+    @Test
+    @DisplayName("CreateAll - Should refuse oversized requests")
+    void createAll_withTooManyInputs_shouldThrow() {
+        List<CreateShipmentInput> inputs = new ArrayList<>();
+        for (int i = 0; i < 5001; i++) {
+            inputs.add(shipmentInput("Shipper"));
+        }
+
+        assertThatThrownBy(() -> shipmentBulkService.createAll(inputs, dispatcher.getId()))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("5000");
+    }
+
+    @Test
+    @DisplayName("AssignDriver - Should assign eligible shipments and report the rest per id")
+    void assignDriver_shouldReportPerIdOutcomes() {
+        // Given
+        List<String> ids = createdIds(3);
+        shipmentBulkService.updateStatus(List.of(ids.get(2)), ShipmentStatus.CANCELLED);
+        User driver = new User();
+        driver.setEmail("bulk-driver@example.com");
+        driver.setPassword("$2a$10$encodedpassword");
+        driver.setFirstName("Bulk");
+        driver.setLastName("Driver");
+        driver.setRole(UserRole.DRIVER);
+        driver.setIsActive(true);
+        driver = userRepository.save(driver);
+
+        // When
+        BulkUpdatePayload payload = shipmentBulkService.assignDriver(
+            List.of(ids.get(0), ids.get(1), ids.get(2), "missing-id"), driver.getId());
+
+        // Then
+        assertThat(payload.getUpdated()).isEqualTo(2);
+        assertThat(payload.getResults()).extracting(BulkUpdateResult::getOutcome).containsExactly(
+            BulkOutcome.UPDATED, BulkOutcome.UPDATED, BulkOutcome.INVALID_STATUS, BulkOutcome.NOT_FOUND);
+        assertThat(payload.getResults().get(2).getPreviousStatus()).isEqualTo(ShipmentStatus.CANCELLED);
+        Shipment assigned = shipmentRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(assigned.getStatus()).isEqualTo(ShipmentStatus.ASSIGNED);
+        assertThat(assigned.getDriverId()).isEqualTo(driver.getId());
+        assertThat(shipmentRepository.findById(ids.get(2)).orElseThrow().getDriverId()).isNull();
+    }
+
+    @Test
+    @DisplayName("UpdateStatus - Should only move shipments whose current status allows it")
+    void updateStatus_shouldRespectAllowedSources() {
+        // Given
+        List<String> ids = createdIds(2);
+
+        // When
+        BulkUpdatePayload payload = shipmentBulkService.updateStatus(ids, ShipmentStatus.DELIVERED);
+
+        // Then
+        assertThat(payload.getUpdated()).isZero();
+        assertThat(payload.getResults()).extracting(BulkUpdateResult::getOutcome)
+            .containsOnly(BulkOutcome.INVALID_STATUS);
+        assertThat(shipmentRepository.findAll()).extracting(Shipment::getStatus).containsOnly(ShipmentStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("UpdateStatus - Should refuse ASSIGNED, which needs a driver")
+    void updateStatus_toAssigned_shouldThrow() {
+        // Given
+        List<String> ids = createdIds(2);
+
+        // When & Then
+        assertThatThrownBy(() -> shipmentBulkService.updateStatus(ids, ShipmentStatus.ASSIGNED))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("bulkAssignDriver");
+        assertThat(shipmentRepository.findAll()).extracting(Shipment::getStatus).containsOnly(ShipmentStatus.PENDING);
+        assertThat(shipmentEventRepository.findTimelines(ids)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("UpdateStatus - Should leave shipments already in the status unchanged and unjournaled")
+    void updateStatus_withRowsAlreadyInStatus_shouldReportUnchanged() {
+        // Given
+        List<String> ids = createdIds(2);
+        shipmentBulkService.updateStatus(List.of(ids.get(0)), ShipmentStatus.CANCELLED);
+
+        // When
+        BulkUpdatePayload payload = shipmentBulkService.updateStatus(ids, ShipmentStatus.CANCELLED);
+
+        // Then
+        assertThat(payload.getUpdated()).isEqualTo(1);
+        assertThat(payload.getResults()).extracting(BulkUpdateResult::getOutcome)
+            .containsExactly(BulkOutcome.UNCHANGED, BulkOutcome.UPDATED);
+        assertThat(shipmentEventRepository.findTimelines(List.of(ids.get(0))))
+            .extracting(ShipmentEvent::getToStatus)
+            .containsExactly(ShipmentStatus.PENDING, ShipmentStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("AssignDriver - Should skip shipments that already have the driver and reassign the others")
+    void assignDriver_withSameDriver_shouldReportUnchanged() {
+        // Given
+        List<String> ids = createdIds(2);
+        User first = userRepository.save(user("bulk-first-driver@example.com", UserRole.DRIVER));
+        User second = userRepository.save(user("bulk-second-driver@example.com", UserRole.DRIVER));
+        shipmentBulkService.assignDriver(ids, first.getId());
+
+        // When
+        BulkUpdatePayload same = shipmentBulkService.assignDriver(List.of(ids.get(0)), first.getId());
+        BulkUpdatePayload other = shipmentBulkService.assignDriver(List.of(ids.get(1)), second.getId());
+
+        // Then
+        assertThat(same.getUpdated()).isZero();
+        assertThat(same.getResults()).extracting(BulkUpdateResult::getOutcome).containsExactly(BulkOutcome.UNCHANGED);
+        assertThat(other.getResults()).extracting(BulkUpdateResult::getOutcome).containsExactly(BulkOutcome.UPDATED);
+        assertThat(shipmentRepository.findById(ids.get(1)).orElseThrow().getDriverId()).isEqualTo(second.getId());
+        assertThat(shipmentEventRepository.findTimelines(List.of(ids.get(0)))).hasSize(2);
+        assertThat(shipmentEventRepository.findTimelines(List.of(ids.get(1)))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("AssignDriver - Should refuse an id that is not an active driver before updating anything")
+    void assignDriver_withInvalidDriver_shouldThrow() {
+        // Given
+        List<String> ids = createdIds(1);
+        User inactive = user("bulk-inactive-driver@example.com", UserRole.DRIVER);
+        inactive.setIsActive(false);
+        String inactiveId = userRepository.save(inactive).getId();
+
+        // When & Then
+        for (String driverId : List.of("missing-driver", dispatcher.getId(), inactiveId)) {
+            assertThatThrownBy(() -> shipmentBulkService.assignDriver(ids, driverId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Active driver not found");
+        }
+        Shipment shipment = shipmentRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(shipment.getStatus()).isEqualTo(ShipmentStatus.PENDING);
+        assertThat(shipment.getDriverId()).isNull();
+    }
+
+    private List<String> createdIds(int count) {
+        List<CreateShipmentInput> inputs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            inputs.add(shipmentInput("Shipper " + i));
+        }
+        return shipmentBulkService.createAll(inputs, dispatcher.getId()).getResults().stream()
+            .map(result -> result.getShipment().getId())
+            .toList();
+    }
+}
@@ -0,0 +1,151 @@
+package com.transport.tms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transport.tms.dto.ExportFormat;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.search.ShipmentSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.transport.tms.TestFixtures.shipmentInput;
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ShipmentExportService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database
+ * - Export into memory and parse the CSV and NDJSON output
+ * - Check filtering, ordering and CSV quoting
+ * - A search broader than the search index cap exports every match
+ */
+@SpringBootTest
+@DisplayName("ShipmentExportService Integration Tests")
+class ShipmentExportServiceTest {
+
+    @Autowired
+    private ShipmentExportService shipmentExportService;
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentSearchIndex shipmentSearchIndex;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = userRepository.save(user("export-dispatcher@example.com", UserRole.DISPATCHER));
+
+        CreateShipmentInput quoted = shipmentInput("Acme, \"West\"");
+        CreateShipmentInput other = shipmentInput("Globex");
+        other.setShipperCity("Denver");
+        shipmentBulkService.createAll(List.of(quoted, other), dispatcher.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Export - Should write a CSV header and one quoted row per shipment")
+    void export_asCsv_shouldWriteEveryRow() throws Exception {
+        // When
+        String csv = export(null, ExportFormat.CSV);
+
+        // Then
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,trackingNumber,status,shipperName");
+        assertThat(lines[1]).contains(",PENDING,\"Acme, \"\"West\"\"\",Dallas,");
+        assertThat(lines[2]).contains(",Globex,Denver,");
+    }
+
+    @Test
+    @DisplayName("Export - Should write filtered shipments as one JSON object per line")
+    void export_asNdjson_shouldApplyFilter() throws Exception {
+        // Given
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setShipperCity("Denver");
+
+        // When
+        String ndjson = export(filter, ExportFormat.NDJSON);
+
+        // Then
+        List<String> lines = ndjson.lines().filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(1);
+        JsonNode row = new ObjectMapper().readTree(lines.get(0));
+        assertThat(row.get("shipperName").asText()).isEqualTo("Globex");
+        assertThat(row.get("weight").asDouble()).isEqualTo(1000.0);
+        assertThat(row.get("driverId").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Export - Should select the shipments the search index matches for the same term")
+    void export_withSearch_shouldMatchLikeSearchIndex() throws Exception {
+        // Given
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setSearch("west");
+
+        // When
+        ShipmentSearchFilterTest.awaitSearchIndex(shipmentSearchIndex);
+        String csv = export(filter, ExportFormat.CSV);
+
+        // Then: lower case, and not at the start of the name
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains(",\"Acme, \"\"West\"\"\",");
+    }
+
+    @Test
+    @DisplayName("Export - Should export every match of a search broader than the index cap")
+    void export_withBroadSearch_shouldNotStopAtCap() throws Exception {
+        // Given
+        ShipmentSearchFilterTest.awaitSearchIndex(shipmentSearchIndex);
+        int extra = ShipmentSearchIndex.MAX_FILTER_MATCHES + 5;
+        List<CreateShipmentInput> inputs = new ArrayList<>(extra);
+        for (int i = 0; i < extra; i++) {
+            inputs.add(shipmentInput("Acme"));
+        }
+        shipmentBulkService.createAll(inputs, dispatcher.getId());
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setSearch("Acme");
+
+        // When
+        String csv = export(filter, ExportFormat.CSV);
+
+        // Then: the header, the quoted Acme from setUp and every extra row
+        assertThat(csv.split("\r\n")).hasSize(extra + 2);
+    }
+
+    private String export(ShipmentFilterInput filter, ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        shipmentExportService.export(filter, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.ShipmentImportResult;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.model.VehicleType;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ShipmentImportService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database, chunks of two rows and a one-chunk queue
+ *   so the parser has to wait for the writer
+ * - Mix valid rows with rows rejected by parsing, by validation and by the database
+ * - Assert the stored rows, the counts and the error report lines
+ */
+@SpringBootTest(properties = {"tms.bulk.chunk-size=2", "tms.import.queue-capacity=1"})
+@DisplayName("ShipmentImportService Integration Tests")
+class ShipmentImportServiceTest {
+
+    private static final String HEADER = "shipperName,shipperPhone,shipperAddress,shipperCity,shipperState,shipperZip,"
+            + "consigneeName,consigneePhone,consigneeAddress,consigneeCity,consigneeState,consigneeZip,"
+            + "cargoDescription,weight,vehicleType,estimatedRate,pickupDate,estimatedDelivery,notes\r\n";
+
+    @Autowired
+    private ShipmentImportService shipmentImportService;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = userRepository.save(user("import-dispatcher@example.com", UserRole.DISPATCHER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("ImportCsv - Should store every row across several chunks")
+    void importCsv_withValidRows_shouldStoreAll() throws IOException {
+        // Given
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 7; i++) {
+            csv.append(row("Shipper " + i, "1000", "truck", "")).append("\r\n");
+        }
+        StringWriter errors = new StringWriter();
+
+        // When
+        ShipmentImportResult result = importCsv(csv.toString(), errors);
+
+        // Then
+        assertThat(result.getRows()).isEqualTo(7);
+        assertThat(result.getCreated()).isEqualTo(7);
+        assertThat(result.getFailed()).isZero();
+        assertThat(errors.toString()).isEqualTo("line,error\r\n");
+
+        assertThat(shipmentRepository.findAll())
+                .hasSize(7)
+                .allSatisfy(shipment -> {
+                    assertThat(shipment.getCreatedById()).isEqualTo(dispatcher.getId());
+                    assertThat(shipment.getVehicleType()).isEqualTo(VehicleType.TRUCK);
+                    assertThat(shipment.getTrackingNumber()).isNotBlank();
+                });
+    }
+
+    @Test
+    @DisplayName("ImportCsv - Should report rejected rows by line and keep the rest")
+    void importCsv_withBadRows_shouldReportEachLine() throws IOException {
+        // Given
+        String csv = HEADER
+                + row("Acme", "1000", "TRUCK", "\"Dock 4, \"\"rear\"\"\nentrance\"") + "\n"
+                + row("Bad Weight", "heavy", "TRUCK", "") + "\n"
+                + "\n"
+                + row("", "1000", "TRUCK", "") + "\n"
+                + row("Too Long", "1000", "TRUCK", "x".repeat(2001)) + "\n"
+                + "Short Row,555-0100\n"
+                + row("Globex", "2500", "VAN", "");
+        StringWriter errors = new StringWriter();
+
+        // When
+        ShipmentImportResult result = importCsv(csv, errors);
+
+        // Then
+        assertThat(result.getRows()).isEqualTo(6);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(4);
+        // Line 2 holds a quoted note spanning two lines; line 7 is rejected by the column length
+        assertThat(errors.toString().split("\r\n"))
+                .contains("line,error", "4,Invalid weight 'heavy'", "6,Shipper name is required",
+                        "8,Expected 19 fields but found 2")
+                .anyMatch(line -> line.startsWith("7,"));
+
+        assertThat(shipmentRepository.findAll())
+                .extracting(Shipment::getShipperName)
+                .containsExactlyInAnyOrder("Acme", "Globex");
+        assertThat(shipmentRepository.findAll())
+                .filteredOn(shipment -> shipment.getShipperName().equals("Acme"))
+                .extracting(Shipment::getNotes)
+                .containsExactly("Dock 4, \"rear\"\nentrance");
+    }
+
+    @Test
+    @DisplayName("ImportCsv - Should reject unknown header columns before importing anything")
+    void importCsv_withUnknownColumn_shouldFail() {
+        // Given
+        String csv = "shipperName,colour\r\nAcme,red\r\n";
+
+        // When / Then
+        assertThatThrownBy(() -> importCsv(csv, new StringWriter()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Unknown import column 'colour'");
+        assertThat(shipmentRepository.count()).isZero();
+    }
+
+    private ShipmentImportResult importCsv(String csv, StringWriter errors) throws IOException {
+        return shipmentImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), dispatcher.getId(), errors);
+    }
+
+    private static String row(String shipperName, String weight, String vehicleType, String notes) {
+        LocalDate pickup = LocalDate.now();
+        return String.join(",", shipperName, "555-0100", "1 Main St", "Dallas", "TX", "75201",
+                "Globex", "555-0200", "2 Side St", "Austin", "TX", "78701",
+                "Pallets", weight, vehicleType, "500", pickup.toString(), pickup.plusDays(2).toString(), notes);
+    }
+}
@@ -0,0 +1,107 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.transport.tms.TestFixtures.shipmentInput;
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for ShipmentService.findNear, the query behind {@code shipmentsNear}
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database and the bundled centroid file
+ * - Store shipper ZIPs as a ZIP+4, as a ZIP only placed by its prefix, and as plain ZIPs near and far
+ * - Search from a ZIP and from a ZIP+4 and assert which shipments come back, nearest first
+ */
+@SpringBootTest
+@DisplayName("ShipmentService FindNear Integration Tests")
+class ShipmentNearTest {
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() {
+        User dispatcher = userRepository.save(user("near-dispatcher@example.com", UserRole.DISPATCHER));
+        // Denver downtown as a ZIP+4, a Denver ZIP missing from the file, Colorado Springs and Austin
+        List<CreateShipmentInput> inputs = new ArrayList<>();
+        for (String zip : List.of("80202-1234", "80205", "80903", "78701")) {
+            CreateShipmentInput input = shipmentInput("Shipper " + zip);
+            input.setShipperZip(zip);
+            inputs.add(input);
+        }
+        ids = shipmentBulkService.createAll(inputs, dispatcher.getId()).getResults().stream()
+            .map(result -> result.getShipment().getId())
+            .toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("FindNear - Should match ZIP+4 and prefix-placed shipper ZIPs, nearest first")
+    void findNear_shouldMatchZipPlusFourAndFallbackZips() {
+        // When
+        List<Shipment> nearby = shipmentService.findNear("80202", 100, null);
+
+        // Then
+        assertThat(nearby).extracting(Shipment::getId).hasSize(3);
+        assertThat(nearby.subList(0, 2)).extracting(Shipment::getId)
+            .containsExactlyInAnyOrder(ids.get(0), ids.get(1));
+        assertThat(nearby.get(2).getId()).isEqualTo(ids.get(2));
+    }
+
+    @Test
+    @DisplayName("FindNear - Should search around a ZIP+4 as around its ZIP")
+    void findNear_fromZipPlusFour_shouldMatchZip() {
+        // When
+        List<Shipment> nearby = shipmentService.findNear("80202-9999", 10, null);
+
+        // Then
+        assertThat(nearby).extracting(Shipment::getShipperZip).containsExactlyInAnyOrder("80202-1234", "80205");
+    }
+
+    @Test
+    @DisplayName("FindNear - Should stop at the limit, keeping the nearest shipments")
+    void findNear_withLimit_shouldKeepNearest() {
+        // When
+        List<Shipment> nearby = shipmentService.findNear("80202", 500, 2);
+
+        // Then
+        assertThat(nearby).extracting(Shipment::getId).containsExactlyInAnyOrder(ids.get(0), ids.get(1));
+    }
+}
@@ -0,0 +1,135 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.ShipmentConnection;
+import com.transport.tms.dto.ShipmentEdge;
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.transport.tms.TestFixtures.shipmentInput;
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the flagged shipment review queue
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database, so the queue runs through the V7 index
+ * - Flag and clear shipments through ShipmentService
+ * - Assert queue order, cursor paging and the recorded flag details
+ */
+@SpringBootTest
+@DisplayName("ShipmentService Review Queue Integration Tests")
+class ShipmentReviewQueueTest {
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = userRepository.save(user("review-dispatcher@example.com", UserRole.DISPATCHER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("FlagShipment - Should record reason, time and user without touching notes")
+    void flagShipment_shouldRecordFlag() {
+        // Given
+        Shipment shipment = create("Acme");
+
+        // When
+        shipmentService.flagShipment(shipment.getId(), "Weight does not match the bill of lading", dispatcher.getId());
+
+        // Then
+        Shipment flagged = shipmentService.findById(shipment.getId());
+        assertThat(flagged.getFlagged()).isTrue();
+        assertThat(flagged.getFlagReason()).isEqualTo("Weight does not match the bill of lading");
+        assertThat(flagged.getFlaggedAt()).isNotNull();
+        assertThat(flagged.getFlaggedById()).isEqualTo(dispatcher.getId());
+        assertThat(flagged.getNotes()).isNull();
+    }
+
+    @Test
+    @DisplayName("FindFlagged - Should page through flagged shipments, longest waiting first")
+    void findFlagged_shouldPageInFlagOrder() {
+        // Given
+        Shipment first = create("First");
+        Shipment second = create("Second");
+        Shipment third = create("Third");
+        create("Unflagged");
+        shipmentService.flagShipment(first.getId(), null, dispatcher.getId());
+        shipmentService.flagShipment(second.getId(), null, dispatcher.getId());
+        shipmentService.flagShipment(third.getId(), null, dispatcher.getId());
+
+        // When
+        ShipmentConnection page1 = shipmentService.findFlagged(2, null);
+        ShipmentConnection page2 = shipmentService.findFlagged(2, page1.getPageInfo().getEndCursor());
+
+        // Then
+        assertThat(page1.getEdges()).extracting(ShipmentEdge::getNode).extracting(Shipment::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(page1.getPageInfo().getHasNextPage()).isTrue();
+        assertThat(page2.getEdges()).extracting(ShipmentEdge::getNode).extracting(Shipment::getId)
+                .containsExactly(third.getId());
+        assertThat(page2.getPageInfo().getHasNextPage()).isFalse();
+    }
+
+    @Test
+    @DisplayName("ClearFlag - Should take the shipment out of the queue")
+    void clearFlag_shouldLeaveQueue() {
+        // Given
+        Shipment shipment = create("Acme");
+        shipmentService.flagShipment(shipment.getId(), "Check address", dispatcher.getId());
+
+        // When
+        shipmentService.clearFlag(shipment.getId());
+
+        // Then
+        assertThat(shipmentService.findFlagged(10, null).getEdges()).isEmpty();
+        assertThat(shipmentService.findById(shipment.getId()).getFlagReason()).isNull();
+    }
+
+    @Test
+    @DisplayName("FlagShipment - Should reject a reason longer than the column")
+    void flagShipment_withLongReason_shouldThrow() {
+        Shipment shipment = create("Acme");
+
+        assertThatThrownBy(() -> shipmentService.flagShipment(shipment.getId(), "x".repeat(501), dispatcher.getId()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("at most 500");
+    }
+
+    private Shipment create(String shipperName) {
+        return shipmentService.create(shipmentMapper.toEntity(shipmentInput(shipperName)), dispatcher.getId());
+    }
+}
@@ -0,0 +1,165 @@
+package com.transport.tms.service;
+
+import com.transport.tms.dto.CountMode;
+import com.transport.tms.dto.PaginatedShipments;
+import com.transport.tms.dto.input.CreateShipmentInput;
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import com.transport.tms.search.ShipmentSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.transport.tms.TestFixtures.shipmentInput;
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the search filter of ShipmentService when a term matches more shipments
+ * than the search index hands to SQL
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database, waiting for the search index to be built
+ * - Store more matching shipments than ShipmentSearchIndex.MAX_FILTER_MATCHES
+ * - Combine the term with a driver filter that only selects the lowest-ranked matches
+ * - Assert rows and exact totals, not a list cut at the cap
+ */
+@SpringBootTest
+@DisplayName("ShipmentService Search Filter Integration Tests")
+class ShipmentSearchFilterTest {
+
+    static final int MATCHES = ShipmentSearchIndex.MAX_FILTER_MATCHES + 5;
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentSearchIndex shipmentSearchIndex;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User driver;
+
+    private List<String> ids;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        User dispatcher = userRepository.save(user("search-dispatcher@example.com", UserRole.DISPATCHER));
+        driver = userRepository.save(user("search-driver@example.com", UserRole.DRIVER));
+        awaitSearchIndex(shipmentSearchIndex);
+
+        List<CreateShipmentInput> inputs = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            inputs.add(shipmentInput("Acme"));
+        }
+        shipmentBulkService.createAll(inputs, dispatcher.getId());
+        ids = shipmentRepository.findAll().stream().map(Shipment::getId).sorted().toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("FindAll - Should find matches past the index cap when combined with other filters")
+    void findAll_withBroadSearchAndDriver_shouldNotStopAtCap() {
+        // Given: equal scores rank by id, so the highest ids fall outside the first MAX_FILTER_MATCHES
+        List<String> lowestRanked = ids.subList(MATCHES - 5, MATCHES);
+        shipmentBulkService.assignDriver(lowestRanked, driver.getId());
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setSearch("Acme");
+        filter.setDriverId(driver.getId());
+
+        // When
+        PaginatedShipments page = shipmentService.findAll(filter, 1, 10, "createdAt", "desc", CountMode.EXACT);
+
+        // Then
+        assertThat(page.getData()).extracting(Shipment::getId).containsExactlyInAnyOrderElementsOf(lowestRanked);
+        assertThat(page.getMeta().getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("FindAll - Should count every match of a broad term")
+    void findAll_withBroadSearch_shouldCountEveryMatch() {
+        // Given
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setSearch("Acme");
+
+        // When
+        PaginatedShipments page = shipmentService.findAll(filter, 1, 10, "createdAt", "desc", CountMode.EXACT);
+
+        // Then
+        assertThat(page.getMeta().getTotal()).isEqualTo(MATCHES);
+        assertThat(page.getMeta().getTotalPages()).isEqualTo((MATCHES + 9) / 10);
+    }
+
+    @Test
+    @DisplayName("FindAll - Should match a term the same way below and above the index cap")
+    void findAll_withSameTermAcrossCap_shouldMatchAlike() {
+        // Given: inside a word, in upper case, and only in the cargo description
+        User dispatcher = userRepository.findByEmail("search-dispatcher@example.com").orElseThrow();
+        CreateShipmentInput inWord = shipmentInput("Acme Northwest");
+        CreateShipmentInput upperCase = shipmentInput("WESTERN HAULERS");
+        CreateShipmentInput cargo = shipmentInput("Globex");
+        cargo.setCargoDescription("Westbound pallets");
+        shipmentBulkService.createAll(List.of(inWord, upperCase, cargo), dispatcher.getId());
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setSearch("west");
+
+        // When
+        Collection<String> indexed = shipmentSearchIndex.matchingIds("west");
+        int belowCap = shipmentService.findAll(filter, 1, 10, "createdAt", "desc", CountMode.EXACT).getMeta().getTotal();
+
+        List<CreateShipmentInput> broad = new ArrayList<>(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            CreateShipmentInput input = shipmentInput("Initech");
+            input.setCargoDescription("West coast freight");
+            broad.add(input);
+        }
+        shipmentBulkService.createAll(broad, dispatcher.getId());
+        Collection<String> overCap = shipmentSearchIndex.matchingIds("west");
+        int aboveCap = shipmentService.findAll(filter, 1, 10, "createdAt", "desc", CountMode.EXACT).getMeta().getTotal();
+
+        // Then
+        // Other suites delete rows behind the index's back, so only the SQL totals are exact
+        assertThat(indexed).isNotNull();
+        assertThat(belowCap).isEqualTo(3);
+        assertThat(overCap).isNull();
+        assertThat(aboveCap).isEqualTo(3 + MATCHES);
+    }
+
+    /**
+     * The index is rebuilt on a background thread at startup; until then every search goes to SQL
+     */
+    static void awaitSearchIndex(ShipmentSearchIndex index) throws InterruptedException {
+        for (int i = 0; i < 100 && !index.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(index.isReady()).isTrue();
+    }
+}
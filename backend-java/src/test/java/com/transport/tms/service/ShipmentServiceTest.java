@@ -0,0 +1,131 @@
+package com.transport.tms.service;
+
+import com.transport.tms.mapper.ShipmentMapper;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentEvent;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.model.User;
+import com.transport.tms.model.UserRole;
+import com.transport.tms.repository.ShipmentEventRepository;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static com.transport.tms.TestFixtures.shipmentInput;
+import static com.transport.tms.TestFixtures.user;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for the status journal written by ShipmentService and ShipmentBulkService
+ *
+ * Testing Strategy:
+ * - @SpringBootTest against the embedded database
+ * - Drive a shipment through its lifecycle with the single and bulk write paths
+ * - Assert the journal rows and that rejected transitions leave no trace
+ */
+@SpringBootTest
+@DisplayName("ShipmentService Journal Integration Tests")
+class ShipmentServiceTest {
+
+    @Autowired
+    private ShipmentService shipmentService;
+
+    @Autowired
+    private ShipmentBulkService shipmentBulkService;
+
+    @Autowired
+    private ShipmentMapper shipmentMapper;
+
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User dispatcher;
+
+    private User driver;
+
+    @BeforeEach
+    void setUp() {
+        // Other suites leave journal rows behind; the journal has no foreign key to clean them up
+        shipmentEventRepository.deleteAll();
+        dispatcher = userRepository.save(user("journal-dispatcher@example.com", UserRole.DISPATCHER));
+        driver = userRepository.save(user("journal-driver@example.com", UserRole.DRIVER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shipmentEventRepository.deleteAll();
+        shipmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Journal - Should record creation and every status change in order")
+    void journal_shouldRecordLifecycle() {
+        // Given
+        Shipment shipment = shipmentService.create(shipmentMapper.toEntity(shipmentInput("Acme")), dispatcher.getId());
+
+        // When
+        shipmentService.assignDriver(shipment.getId(), driver.getId());
+        Shipment loaded = shipmentService.findById(shipment.getId());
+        loaded.setStatus(ShipmentStatus.PICKED_UP);
+        shipmentService.updateShipment(loaded);
+        shipmentBulkService.updateStatus(List.of(shipment.getId()), ShipmentStatus.IN_TRANSIT);
+
+        // Then
+        List<ShipmentEvent> timeline = shipmentService.findTimelines(List.of(shipment.getId())).get(shipment.getId());
+        assertThat(timeline).extracting(ShipmentEvent::getFromStatus)
+                .containsExactly(null, ShipmentStatus.PENDING, ShipmentStatus.ASSIGNED, ShipmentStatus.PICKED_UP);
+        assertThat(timeline).extracting(ShipmentEvent::getToStatus)
+                .containsExactly(ShipmentStatus.PENDING, ShipmentStatus.ASSIGNED, ShipmentStatus.PICKED_UP,
+                        ShipmentStatus.IN_TRANSIT);
+        assertThat(timeline.get(1).getDriverId()).isEqualTo(driver.getId());
+    }
+
+    @Test
+    @DisplayName("UpdateShipment - Should reject a transition the table does not allow")
+    void updateShipment_withInvalidTransition_shouldThrow() {
+        // Given
+        Shipment shipment = shipmentService.create(shipmentMapper.toEntity(shipmentInput("Acme")), dispatcher.getId());
+        Shipment loaded = shipmentService.findById(shipment.getId());
+        loaded.setStatus(ShipmentStatus.DELIVERED);
+
+        // When / Then
+        assertThatThrownBy(() -> shipmentService.updateShipment(loaded))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("from PENDING to DELIVERED");
+        assertThat(shipmentRepository.findById(shipment.getId()).orElseThrow().getStatus())
+                .isEqualTo(ShipmentStatus.PENDING);
+        assertThat(shipmentService.findTimelines(List.of(shipment.getId())).get(shipment.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Journal - Should page through events by id as a feed")
+    void findAfter_shouldFeedEventsInOrder() {
+        // Given
+        Shipment first = shipmentService.create(shipmentMapper.toEntity(shipmentInput("Acme")), dispatcher.getId());
+        Shipment second = shipmentService.create(shipmentMapper.toEntity(shipmentInput("Globex")), dispatcher.getId());
+
+        // When
+        List<ShipmentEvent> page = shipmentEventRepository.findAfter("", PageRequest.ofSize(1));
+        List<ShipmentEvent> next = shipmentEventRepository.findAfter(page.get(0).getId(),
+                PageRequest.ofSize(10));
+
+        // Then
+        assertThat(page).extracting(ShipmentEvent::getShipmentId).containsExactly(first.getId());
+        assertThat(next).extracting(ShipmentEvent::getShipmentId).containsExactly(second.getId());
+    }
+}
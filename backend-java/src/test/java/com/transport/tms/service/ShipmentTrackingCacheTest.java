@@ -0,0 +1,96 @@
+package com.transport.tms.service;
+
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.model.Shipment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for ShipmentTrackingCache
+ *
+ * Testing Strategy:
+ * - Real Caffeine cache with a counting loader standing in for the repository
+ * - SimpleMeterRegistry to read back the published cache meters
+ */
+@DisplayName("ShipmentTrackingCache Unit Tests")
+class ShipmentTrackingCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ShipmentTrackingCache cache;
+    private AtomicInteger loads;
+    private Shipment shipment;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ShipmentTrackingCache(100, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+        shipment = new Shipment();
+        shipment.setId("shipment-1");
+        shipment.setTrackingNumber("TRK-1");
+    }
+
+    @Test
+    @DisplayName("Get - Should load once and then serve hits")
+    void get_shouldCacheLoadedShipment() {
+        // When
+        Shipment first = cache.get("TRK-1", loader(shipment));
+        Shipment second = cache.get("TRK-1", loader(shipment));
+
+        // Then
+        assertThat(first).isSameAs(shipment);
+        assertThat(second).isSameAs(shipment);
+        assertThat(loads).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get - Should not cache unknown tracking numbers")
+    void get_withMissingShipment_shouldNotCacheMiss() {
+        assertThat(cache.get("TRK-404", loader(null))).isNull();
+        assertThat(cache.get("TRK-404", loader(null))).isNull();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("OnShipmentChanged - Should evict only the changed tracking number")
+    void onShipmentChanged_shouldInvalidateTrackingNumber() {
+        // Given
+        Shipment other = new Shipment();
+        other.setTrackingNumber("TRK-2");
+        cache.get("TRK-1", loader(shipment));
+        cache.get("TRK-2", loader(other));
+
+        // When
+        cache.onShipmentChanged(ShipmentChangedEvent.updated(shipment));
+        cache.get("TRK-1", loader(shipment));
+        cache.get("TRK-2", loader(other));
+
+        // Then
+        assertThat(loads).hasValue(3);
+    }
+
+    private Function<String, Shipment> loader(Shipment result) {
+        return trackingNumber -> {
+            loads.incrementAndGet();
+            return result;
+        };
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", ShipmentTrackingCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
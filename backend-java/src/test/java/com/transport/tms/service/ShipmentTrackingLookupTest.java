@@ -0,0 +1,125 @@
+package com.transport.tms.service;
+
+import com.transport.tms.model.Shipment;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.tracking.TimePrefixedTrackingNumberGenerator;
+import com.transport.tms.tracking.TrackingNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShipmentService.findByTrackingNumber, the lookup behind {@code trackShipment}
+ *
+ * Testing Strategy:
+ * - Mock ShipmentRepository; spy on a real generator and a real tracking cache
+ * - Malformed input and bad check digits must fail before the cache or repository is touched
+ * - Legacy 32-hex numbers and current numbers resolve in any case, the second lookup from the cache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShipmentService Tracking Lookup Unit Tests")
+class ShipmentTrackingLookupTest {
+
+    private static final String LEGACY = "3f2a9c0d1e4b5a6978c0d1e2f3a4b5c6";
+
+    @Mock
+    private ShipmentRepository shipmentRepository;
+
+    @Spy
+    private TrackingNumberGenerator trackingNumberGenerator = new TimePrefixedTrackingNumberGenerator(0);
+
+    @Spy
+    private ShipmentTrackingCache shipmentTrackingCache =
+            new ShipmentTrackingCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ShipmentService shipmentService;
+
+    @Test
+    @DisplayName("FindByTrackingNumber - Should reject malformed numbers without a lookup")
+    void findByTrackingNumber_withMalformedNumber_shouldThrowBeforeLookup() {
+        assertThatThrownBy(() -> shipmentService.findByTrackingNumber("TRK-1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid tracking number");
+        assertThatThrownBy(() -> shipmentService.findByTrackingNumber(null))
+                .isInstanceOf(RuntimeException.class);
+
+        verifyNoInteractions(shipmentRepository, shipmentTrackingCache);
+    }
+
+    @Test
+    @DisplayName("FindByTrackingNumber - Should reject a wrong check digit without a lookup")
+    void findByTrackingNumber_withBadCheckDigit_shouldThrowBeforeLookup() {
+        // Given: a real number with its check digit changed
+        String valid = trackingNumberGenerator.next();
+        char last = valid.charAt(valid.length() - 1);
+        String typo = valid.substring(0, valid.length() - 1) + (last == '0' ? '1' : '0');
+
+        // When / Then
+        assertThatThrownBy(() -> shipmentService.findByTrackingNumber(typo))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid tracking number");
+        verifyNoInteractions(shipmentRepository, shipmentTrackingCache);
+    }
+
+    @Test
+    @DisplayName("FindByTrackingNumber - Should resolve a legacy hex number typed in upper case, then from the cache")
+    void findByTrackingNumber_withLegacyNumber_shouldResolve() {
+        // Given
+        Shipment shipment = shipment(LEGACY);
+        when(shipmentRepository.findByTrackingNumber(LEGACY)).thenReturn(Optional.of(shipment));
+
+        // When
+        Shipment first = shipmentService.findByTrackingNumber(" " + LEGACY.toUpperCase() + " ");
+        Shipment second = shipmentService.findByTrackingNumber(LEGACY);
+
+        // Then
+        assertThat(first).isSameAs(shipment);
+        assertThat(second).isSameAs(shipment);
+        verify(shipmentRepository, times(1)).findByTrackingNumber(any());
+    }
+
+    @Test
+    @DisplayName("FindByTrackingNumber - Should resolve a current number typed in lower case")
+    void findByTrackingNumber_withCurrentNumber_shouldResolve() {
+        // Given
+        String trackingNumber = trackingNumberGenerator.next();
+        Shipment shipment = shipment(trackingNumber);
+        when(shipmentRepository.findByTrackingNumber(trackingNumber)).thenReturn(Optional.of(shipment));
+
+        // When
+        Shipment found = shipmentService.findByTrackingNumber(trackingNumber.toLowerCase());
+
+        // Then
+        assertThat(found).isSameAs(shipment);
+    }
+
+    @Test
+    @DisplayName("FindByTrackingNumber - Should report a valid number nobody shipped as not found")
+    void findByTrackingNumber_withUnknownNumber_shouldThrowNotFound() {
+        when(shipmentRepository.findByTrackingNumber(LEGACY)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> shipmentService.findByTrackingNumber(LEGACY))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Shipment not found");
+    }
+
+    private static Shipment shipment(String trackingNumber) {
+        Shipment shipment = new Shipment();
+        shipment.setId("shipment-" + trackingNumber);
+        shipment.setTrackingNumber(trackingNumber);
+        return shipment;
+    }
+}
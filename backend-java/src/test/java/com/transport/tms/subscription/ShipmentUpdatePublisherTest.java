@@ -0,0 +1,228 @@
+package com.transport.tms.subscription;
+
+import com.transport.tms.dto.input.ShipmentFilterInput;
+import com.transport.tms.event.ShipmentChangedEvent;
+import com.transport.tms.model.Shipment;
+import com.transport.tms.model.ShipmentStatus;
+import com.transport.tms.repository.ShipmentRepository;
+import com.transport.tms.tracking.TrackingNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShipmentUpdatePublisher
+ *
+ * Testing Strategy:
+ * - Real publisher fed through the same event listeners ShipmentService publishes to
+ * - Recording subscribers that control their own demand to exercise backpressure
+ * - Assert which versions arrive, and that rapid or unread updates are conflated
+ */
+@DisplayName("ShipmentUpdatePublisher Unit Tests")
+class ShipmentUpdatePublisherTest {
+
+    private ShipmentUpdatePublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        publisher.destroy();
+    }
+
+    @Test
+    @DisplayName("ForTrackingNumber - Should deliver only changes of the watched shipment")
+    void forTrackingNumber_shouldIgnoreOtherShipments() throws InterruptedException {
+        // Given
+        publisher = publisher(Duration.ZERO);
+        Recorder recorder = subscribe(publisher.forTrackingNumber("TRK1"), Long.MAX_VALUE);
+
+        // When
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s2", "TRK2", ShipmentStatus.ASSIGNED)));
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.ASSIGNED)));
+
+        // Then
+        assertThat(recorder.next().getId()).isEqualTo("s1");
+        assertThat(recorder.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("ForTrackingNumber - Should conflate updates within the window to the latest")
+    void forTrackingNumber_shouldConflateRapidUpdates() throws InterruptedException {
+        // Given
+        publisher = publisher(Duration.ofMillis(200));
+        Recorder recorder = subscribe(publisher.forTrackingNumber("TRK1"), Long.MAX_VALUE);
+
+        // When
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.ASSIGNED)));
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.PICKED_UP)));
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.IN_TRANSIT)));
+
+        // Then
+        assertThat(recorder.next().getStatus()).isEqualTo(ShipmentStatus.IN_TRANSIT);
+        assertThat(recorder.received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("ForTrackingNumber - Should complete and unsubscribe when the shipment is deleted")
+    void forTrackingNumber_shouldCompleteOnDelete() throws InterruptedException {
+        // Given
+        publisher = publisher(Duration.ZERO);
+        Recorder recorder = subscribe(publisher.forTrackingNumber("TRK1"), Long.MAX_VALUE);
+
+        // When
+        publisher.onShipmentChanged(ShipmentChangedEvent.deleted(shipment("s1", "TRK1", ShipmentStatus.CANCELLED)));
+
+        // Then
+        assertThat(recorder.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        awaitNoSubscribers();
+    }
+
+    @Test
+    @DisplayName("ForFilter - Should deliver matching shipments only")
+    void forFilter_shouldApplyFilter() throws InterruptedException {
+        // Given
+        publisher = publisher(Duration.ZERO);
+        ShipmentFilterInput filter = new ShipmentFilterInput();
+        filter.setStatus(ShipmentStatus.IN_TRANSIT);
+        filter.setSearch("dallas");
+        Recorder recorder = subscribe(publisher.forFilter(filter), Long.MAX_VALUE);
+
+        // When
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.ASSIGNED)));
+        Shipment elsewhere = shipment("s2", "TRK2", ShipmentStatus.IN_TRANSIT);
+        elsewhere.setShipperCity("Denver");
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(elsewhere));
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s3", "TRK3", ShipmentStatus.IN_TRANSIT)));
+
+        // Then
+        assertThat(recorder.next().getId()).isEqualTo("s3");
+        assertThat(recorder.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("ForFilter - Should keep only the latest version per shipment while the client is not reading")
+    void forFilter_withNoDemand_shouldConflatePerShipment() throws InterruptedException {
+        // Given
+        publisher = publisher(Duration.ZERO);
+        Recorder recorder = subscribe(publisher.forFilter(null), 0);
+
+        // When
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.ASSIGNED)));
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s2", "TRK2", ShipmentStatus.ASSIGNED)));
+        publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s1", "TRK1", ShipmentStatus.PICKED_UP)));
+        assertThat(recorder.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        recorder.request(10);
+
+        // Then
+        Shipment first = recorder.next();
+        Shipment second = recorder.next();
+        assertThat(first.getId()).isEqualTo("s1");
+        assertThat(first.getStatus()).isEqualTo(ShipmentStatus.PICKED_UP);
+        assertThat(second.getId()).isEqualTo("s2");
+        assertThat(recorder.received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("ForFilter - Should drop a subscriber that falls too far behind")
+    void forFilter_withTooManyPending_shouldError() throws InterruptedException {
+        // Given
+        publisher = publisher(Duration.ZERO);
+        Recorder recorder = subscribe(publisher.forFilter(null), 0);
+
+        // When
+        for (int i = 0; i <= 3; i++) {
+            publisher.onShipmentChanged(ShipmentChangedEvent.updated(shipment("s" + i, "TRK" + i, ShipmentStatus.ASSIGNED)));
+        }
+
+        // Then
+        assertThat(recorder.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(recorder.error).hasMessageContaining("too far behind");
+        awaitNoSubscribers();
+    }
+
+    // The subscription is removed right after the terminal signal reaches the subscriber
+    private void awaitNoSubscribers() throws InterruptedException {
+        for (int i = 0; i < 100 && publisher.subscriberCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(publisher.subscriberCount()).isZero();
+    }
+
+    private static ShipmentUpdatePublisher publisher(Duration conflationWindow) {
+        TrackingNumberGenerator trackingNumberGenerator = mock(TrackingNumberGenerator.class);
+        when(trackingNumberGenerator.normalize(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        return new ShipmentUpdatePublisher(mock(ShipmentRepository.class), trackingNumberGenerator,
+                conflationWindow, 3, new SimpleMeterRegistry());
+    }
+
+    private static Shipment shipment(String id, String trackingNumber, ShipmentStatus status) {
+        Shipment shipment = new Shipment();
+        shipment.setId(id);
+        shipment.setTrackingNumber(trackingNumber);
+        shipment.setStatus(status);
+        shipment.setShipperName("Acme Corp");
+        shipment.setShipperCity("Dallas");
+        return shipment;
+    }
+
+    private static Recorder subscribe(Flux<Shipment> updates, long initialDemand) {
+        Recorder recorder = new Recorder(initialDemand);
+        updates.subscribe(recorder);
+        return recorder;
+    }
+
+    private static final class Recorder extends BaseSubscriber<Shipment> {
+
+        private final long initialDemand;
+
+        private final BlockingQueue<Shipment> received = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private volatile Throwable error;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        Shipment next() throws InterruptedException {
+            Shipment shipment = received.poll(1, TimeUnit.SECONDS);
+            assertThat(shipment).as("next update").isNotNull();
+            return shipment;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialDemand > 0) request(initialDemand);
+        }
+
+        @Override
+        protected void hookOnNext(Shipment shipment) {
+            received.add(shipment);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.transport.tms.tracking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TimePrefixedTrackingNumberGenerator
+ *
+ * Testing Strategy:
+ * - Exercise the generator directly, without Spring
+ * - Cover format, check digit, legacy numbers and uniqueness at millions of ids
+ */
+@DisplayName("TimePrefixedTrackingNumberGenerator Unit Tests")
+class TimePrefixedTrackingNumberGeneratorTest {
+
+    private static final String ALPHABET = TimePrefixedTrackingNumberGenerator.ALPHABET;
+
+    private final TimePrefixedTrackingNumberGenerator generator = new TimePrefixedTrackingNumberGenerator(7);
+
+    @Test
+    @DisplayName("Next - Should issue 13 base32 characters that validate and carry the node id")
+    void next_shouldIssueValidNumbers() {
+        // When
+        String trackingNumber = generator.next();
+
+        // Then
+        assertThat(trackingNumber).hasSize(13).matches("[0-9A-HJKMNP-TV-Z]{13}");
+        assertThat(generator.normalize(trackingNumber)).isEqualTo(trackingNumber);
+        assertThat(generator.normalize(" " + trackingNumber.toLowerCase() + " ")).isEqualTo(trackingNumber);
+        long payload = TimePrefixedTrackingNumberGenerator.decode(trackingNumber);
+        assertThat((payload >>> TimePrefixedTrackingNumberGenerator.SEQUENCE_BITS) & 0xFF).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Next - Should sort in issue order")
+    void next_shouldBeIncreasing() {
+        String previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.next();
+            assertThat(next.substring(0, 12)).isGreaterThan(previous.substring(0, 12));
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Normalize - Should reject every single-character typo")
+    void normalize_withSingleCharacterTypo_shouldReject() {
+        String trackingNumber = generator.next();
+        for (int i = 0; i < trackingNumber.length(); i++) {
+            for (char c : ALPHABET.toCharArray()) {
+                if (c == trackingNumber.charAt(i)) continue;
+                String typo = trackingNumber.substring(0, i) + c + trackingNumber.substring(i + 1);
+                assertThat(generator.normalize(typo)).as(typo).isNull();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Normalize - Should reject malformed input and accept legacy hex numbers")
+    void normalize_shouldValidateFormat() {
+        assertThat(generator.normalize(null)).isNull();
+        assertThat(generator.normalize("")).isNull();
+        assertThat(generator.normalize("TRK-1")).isNull();
+        assertThat(generator.normalize("0123456789ABU")).isNull();
+        assertThat(generator.normalize("0123456789ABCDEF")).isNull();
+        assertThat(generator.normalize("3F2A9C0D1E4B5A6978C0D1E2F3A4B5C6")).isEqualTo("3f2a9c0d1e4b5a6978c0d1e2f3a4b5c6");
+    }
+
+    @Test
+    @DisplayName("Next - Should not collide across millions of concurrent ids or across nodes")
+    void next_concurrently_shouldNeverCollide() {
+        // Given
+        int count = 4_000_000;
+        long[] payloads = new long[count];
+        AtomicInteger slot = new AtomicInteger();
+
+        // When
+        IntStream.range(0, count).parallel()
+                .forEach(i -> payloads[slot.getAndIncrement()] = TimePrefixedTrackingNumberGenerator.decode(generator.next()));
+
+        // Then
+        Arrays.sort(payloads);
+        for (int i = 1; i < count; i++) {
+            assertThat(payloads[i]).isNotEqualTo(payloads[i - 1]);
+        }
+        assertThat(new TimePrefixedTrackingNumberGenerator(8).next()).isNotEqualTo(new TimePrefixedTrackingNumberGenerator(9).next());
+    }
+
+    @Test
+    @DisplayName("Constructor - Should reject node ids outside 8 bits")
+    void constructor_withNodeIdOutOfRange_shouldThrow() {
+        assertThatThrownBy(() -> new TimePrefixedTrackingNumberGenerator(256))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimePrefixedTrackingNumberGenerator(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}